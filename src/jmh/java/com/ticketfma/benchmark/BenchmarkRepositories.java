@@ -0,0 +1,46 @@
+package com.ticketfma.benchmark;
+
+import java.nio.file.Path;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.config.InventoryProperties.Storage;
+import com.ticketfma.config.JournalProperties;
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.config.ReservationProperties.Mode;
+import com.ticketfma.repository.impl.CsvDataLoader;
+import com.ticketfma.repository.impl.EventRepository;
+import com.ticketfma.repository.impl.InventorySnapshot;
+import com.ticketfma.repository.impl.SeatJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Builds repositories the way the application does, without Spring: no journal and no snapshot, so only the in-memory paths are measured.
+ */
+final class BenchmarkRepositories {
+
+    private BenchmarkRepositories() {
+    }
+
+    static EventRepository create(Path file, Storage storage, Mode mode) {
+        InventoryProperties inventoryProperties = inventoryProperties(file, storage);
+        ReservationProperties reservationProperties = new ReservationProperties();
+        reservationProperties.setMode(mode);
+
+        EventRepository repository = new EventRepository(new CsvDataLoader(inventoryProperties), reservationProperties,
+                new SeatJournal(new JournalProperties()), new InventorySnapshot(inventoryProperties), new SimpleMeterRegistry());
+        repository.loadCsvData();
+        if (!repository.eventExists("1")) {
+            throw new IllegalStateException("No inventory loaded from " + file);
+        }
+        return repository;
+    }
+
+    static InventoryProperties inventoryProperties(Path file, Storage storage) {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(file.toString());
+        inventoryProperties.setParallel(true);
+        inventoryProperties.setStorage(storage);
+        return inventoryProperties;
+    }
+}
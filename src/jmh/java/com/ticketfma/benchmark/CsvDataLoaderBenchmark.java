@@ -0,0 +1,75 @@
+package com.ticketfma.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.config.InventoryProperties.Storage;
+import com.ticketfma.repository.impl.CsvDataLoader;
+
+/**
+ * Full loads of a generated inventory file of 10k, 1M and 10M rows over 100 events, sequential and parallel. 10M rows in OBJECTS storage
+ * take about 2 GB of heap, hence the bigger heap of the fork.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CsvDataLoaderBenchmark {
+
+    private static final int EVENTS = 100;
+
+    @Param({ "10000", "1000000", "10000000" })
+    private int rows;
+
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    @Param({ "OBJECTS" })
+    private Storage storage;
+
+    private Path file;
+    private InventoryProperties inventoryProperties;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("inventory", ".csv");
+        SeatDataGenerator.write(file, rows, EVENTS, 0.8);
+        inventoryProperties = BenchmarkRepositories.inventoryProperties(file, storage);
+        inventoryProperties.setParallel(parallel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CsvDataLoader loadCsvData() {
+        CsvDataLoader csvDataLoader = new CsvDataLoader(inventoryProperties);
+        csvDataLoader.loadCsvData();
+        // Read errors are only logged, so an empty load must not pass for a fast one.
+        if (csvDataLoader.getEvents().size() != EVENTS) {
+            throw new IllegalStateException("Incomplete load of " + file);
+        }
+        return csvDataLoader;
+    }
+}
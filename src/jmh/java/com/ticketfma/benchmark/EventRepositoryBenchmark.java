@@ -0,0 +1,147 @@
+package com.ticketfma.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ticketfma.config.InventoryProperties.Storage;
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.model.Event;
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.repository.impl.EventRepository;
+
+/**
+ * Reads of {@link EventRepository}, on a random event and seat each time. Reads never lock, so they are measured under 1, 8 and 64 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventRepositoryBenchmark {
+
+    @Param({ "100" })
+    private int events;
+
+    // The lookup cost of getSeat should stay flat from one seat count to the other.
+    @Param({ "1000", "10000" })
+    private int seatsPerEvent;
+
+    @Param({ "OBJECTS" })
+    private Storage storage;
+
+    @Param({ "10" })
+    private int quantity;
+
+    private Path file;
+    private EventRepository repository;
+    private String[] eventIds;
+    private SeatRequest[] seatRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("inventory", ".csv");
+        SeatDataGenerator.write(file, events * seatsPerEvent, events, 0.8);
+        repository = BenchmarkRepositories.create(file, storage, ReservationProperties.Mode.EVENT_LOCK);
+
+        eventIds = new String[events];
+        for (int event = 0; event < events; event++) {
+            eventIds[event] = Integer.toString(event + 1);
+        }
+        seatRequests = new SeatRequest[seatsPerEvent];
+        for (int index = 0; index < seatsPerEvent; index++) {
+            seatRequests[index] = SeatDataGenerator.seatRequest(index);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Seat> getBestSeats1Thread() {
+        return getBestSeats();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Seat> getBestSeats8Threads() {
+        return getBestSeats();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public List<Seat> getBestSeats64Threads() {
+        return getBestSeats();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Seat> getSeat1Thread() {
+        return getSeat();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Seat> getSeat8Threads() {
+        return getSeat();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Optional<Seat> getSeat64Threads() {
+        return getSeat();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Event> getAllEvents1Thread() {
+        return repository.getAllEvents("date");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Event> getAllEvents8Threads() {
+        return repository.getAllEvents("date");
+    }
+
+    @Benchmark
+    @Threads(64)
+    public List<Event> getAllEvents64Threads() {
+        return repository.getAllEvents("date");
+    }
+
+    private List<Seat> getBestSeats() {
+        return repository.getBestSeats(eventIds[ThreadLocalRandom.current().nextInt(events)], quantity);
+    }
+
+    private Optional<Seat> getSeat() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SeatRequest seatRequest = seatRequests[random.nextInt(seatsPerEvent)];
+        return repository.getSeat(eventIds[random.nextInt(events)], seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(),
+                seatRequest.getSection());
+    }
+}
@@ -0,0 +1,143 @@
+package com.ticketfma.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.ticketfma.config.InventoryProperties.Storage;
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.model.ReservationResult;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.repository.impl.EventRepository;
+
+/**
+ * Reservations of one seat each, under 1, 8 and 64 threads, all on the same event or each thread on its own event.
+ * <p>
+ * A seat can only be reserved once, so every iteration starts from a freshly loaded inventory where all seats are OPEN, and each thread
+ * reserves {@link #RESERVATIONS} seats nobody else reserves. The score is the time of one iteration: divide threads * RESERVATIONS by it
+ * for the throughput.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, batchSize = ReserveSeatsBenchmark.RESERVATIONS)
+@Measurement(iterations = 10, batchSize = ReserveSeatsBenchmark.RESERVATIONS)
+public class ReserveSeatsBenchmark {
+
+    static final int RESERVATIONS = 10_000;
+
+    public enum Events {
+        SAME,
+        DIFFERENT
+    }
+
+    @Param({ "SAME", "DIFFERENT" })
+    private Events events;
+
+    @Param({ "EVENT_LOCK", "SECTION_LOCK", "COMPARE_AND_SET" })
+    private ReservationProperties.Mode mode;
+
+    private Path file;
+    private EventRepository repository;
+
+    @Setup(Level.Trial)
+    public void generate(BenchmarkParams params) throws IOException {
+        int threads = params.getThreads();
+        file = Files.createTempFile("inventory", ".csv");
+        SeatDataGenerator.write(file, threads * RESERVATIONS, events == Events.SAME ? 1 : threads, 1.0);
+    }
+
+    @Setup(Level.Iteration)
+    public void load() {
+        repository = BenchmarkRepositories.create(file, Storage.OBJECTS, mode);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAllReserved(BenchmarkParams params) {
+        // A failed reservation is much cheaper than a successful one, so it must not pass for a fast one.
+        int eventCount = events == Events.SAME ? 1 : params.getThreads();
+        for (int event = 1; event <= eventCount; event++) {
+            if (!repository.getBestSeats(Integer.toString(event), 1).isEmpty()) {
+                throw new IllegalStateException("Event " + event + " still has OPEN seats");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * The seats one thread reserves, in order. On the same event, thread t gets the seats t, t + threads, t + 2 * threads... so the
+     * threads keep touching neighbouring seats.
+     */
+    @State(Scope.Thread)
+    public static class Seats {
+
+        private String eventId;
+        private List<SeatRequest>[] seatRequests;
+        private int next;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp(ReserveSeatsBenchmark benchmark, ThreadParams params) {
+            int thread = params.getThreadIndex();
+            int threads = params.getThreadCount();
+            boolean sameEvent = benchmark.events == Events.SAME;
+            eventId = sameEvent ? "1" : Integer.toString(thread + 1);
+            seatRequests = new List[RESERVATIONS];
+            for (int reservation = 0; reservation < RESERVATIONS; reservation++) {
+                int index = sameEvent ? reservation * threads + thread : reservation;
+                seatRequests[reservation] = List.of(SeatDataGenerator.seatRequest(index));
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void rewind() {
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ReservationResult reserveSeats1Thread(Seats seats) {
+        return reserveSeats(seats);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ReservationResult reserveSeats8Threads(Seats seats) {
+        return reserveSeats(seats);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ReservationResult reserveSeats64Threads(Seats seats) {
+        return reserveSeats(seats);
+    }
+
+    private ReservationResult reserveSeats(Seats seats) {
+        return repository.reserveSeats(seats.eventId, seats.seatRequests[seats.next++]);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticketfma.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+import com.ticketfma.model.dto.SeatRequest;
+
+/**
+ * Writes synthetic inventories in the data.csv format. Events are numbered from 1 and their rows are interleaved, like in data.csv. The seat
+ * at index i of an event always has the coordinates of {@link #seatRequest(int)}, so a benchmark can ask for any seat it generated without
+ * reading the file back. Statuses, sell ranks and upsells come from a seeded random, so the same arguments always give the same file.
+ * <p>
+ * Usage: {@code SeatDataGenerator <file> <rows> <events> [openRatio]}
+ */
+public final class SeatDataGenerator {
+
+    private static final String HEADER = "eventId,seatNumber,row,level,section,status,eventDate,sellRank,hasUpsells";
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final LocalDate FIRST_EVENT_DATE = LocalDate.of(2025, 1, 1);
+    private static final int SEAT_NUMBERS = 100;
+    private static final int ROWS = 100;
+    private static final long SEED = 42;
+
+    private SeatDataGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: SeatDataGenerator <file> <rows> <events> [openRatio]");
+            System.exit(1);
+        }
+        double openRatio = args.length > 3 ? Double.parseDouble(args[3]) : 0.8;
+        write(Path.of(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]), openRatio);
+    }
+
+    /**
+     * Writes the given number of seats, spread evenly over the events: row r is the seat r / events of the event r % events + 1.
+     *
+     * @param openRatio share of OPEN seats. The other seats are split between HOLD and SOLD.
+     */
+    public static void write(Path file, int rows, int events, double openRatio) throws IOException {
+        Random random = new Random(SEED);
+        StringBuilder line = new StringBuilder(64);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int row = 0; row < rows; row++) {
+                int event = row % events + 1;
+                int index = row / events;
+                double draw = random.nextDouble();
+                String status = draw < openRatio ? "OPEN" : draw < (1 + openRatio) / 2 ? "HOLD" : "SOLD";
+
+                line.setLength(0);
+                line.append(event).append(',')
+                        .append(seatNumber(index)).append(',')
+                        .append(row(index)).append(',')
+                        .append(level(index)).append(',')
+                        .append(section(index)).append(',')
+                        .append(status).append(',')
+                        .append(FIRST_EVENT_DATE.plusDays(event)).append(" 00:00:00,")
+                        .append(random.nextInt(1_000)).append(',')
+                        .append(random.nextBoolean());
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return the coordinates of the seat at the given index of any generated event.
+     */
+    public static SeatRequest seatRequest(int index) {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setSeatNumber(seatNumber(index));
+        seatRequest.setRow(row(index));
+        seatRequest.setLevel(level(index));
+        seatRequest.setSection(section(index));
+        return seatRequest;
+    }
+
+    private static String seatNumber(int index) {
+        return Integer.toString(index % SEAT_NUMBERS);
+    }
+
+    private static String row(int index) {
+        return Integer.toString(index / SEAT_NUMBERS % ROWS);
+    }
+
+    private static String level(int index) {
+        return letters(index / (SEAT_NUMBERS * ROWS) % LETTERS.length());
+    }
+
+    private static String section(int index) {
+        return letters(index / (SEAT_NUMBERS * ROWS * LETTERS.length()));
+    }
+
+    private static String letters(int value) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append(LETTERS.charAt(value % LETTERS.length()));
+            value /= LETTERS.length();
+        } while (value > 0);
+        return letters.toString();
+    }
+}
@@ -0,0 +1,309 @@
+package loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import com.ticketfma.Application;
+import com.ticketfma.model.dto.SeatRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays on-sale traffic against the app on a random port, through real HTTP connections served by the virtual-thread Tomcat executor.
+ * Each client is a virtual thread that sends one request after the other: best-seats reads, seat searches and reservations of 2 to 4
+ * random seats, most of them on a few hot events, so reservations contend for the same seats and locks. Holds expire quickly, so the hot
+ * events keep having seats to fight for.
+ * <p>
+ * Latencies are recorded after the warmup only and reported per operation as p50/p99/p999/max with the throughput. Everything can be
+ * changed with system properties, see the README.
+ */
+@Slf4j
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "ticketfma.inventory.file=${loadtest.inventory-file:src/main/resources/data.csv}",
+        "ticketfma.reservation.mode=${loadtest.mode:event-lock}",
+        "ticketfma.reservation.hold-ttl=${loadtest.hold-ttl:2s}",
+        "ticketfma.reservation.hold-expiry-tick=100ms",
+        // Every unavailable seat is logged; at this rate the logging would be what is measured.
+        "logging.level.com.ticketfma=${loadtest.log-level:ERROR}"
+})
+public class OnSaleLoadTest {
+
+    private static final String URI_EVENTS = "/api/v1/events/";
+    private static final String URI_BEST_SEATS_SUFFIX = "/best-seats?quantity=4";
+    private static final String URI_SEARCH_SEAT_SUFFIX = "/search-seat";
+    private static final String URI_RESERVE_SEATS_SUFFIX = "/reserve-seats";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ticketfma.inventory.file}")
+    private String inventoryFile;
+
+    @Value("${loadtest.clients:256}")
+    private int clients;
+
+    @Value("${loadtest.warmup:5s}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:30s}")
+    private Duration duration;
+
+    @Value("${loadtest.hot-events:3}")
+    private int hotEventCount;
+
+    @Value("${loadtest.hot-share:0.8}")
+    private double hotShare;
+
+    @Test
+    public void givenOnSaleTraffic_whenRunForTheDuration_thenReportLatencyAndThroughput() throws Exception {
+        Inventory inventory = Inventory.read(inventoryFile, hotEventCount);
+        log.info("Load test: {} clients for {} after a {} warmup, {}% of the traffic on hot events {}", clients, duration, warmup,
+                Math.round(hotShare * 100), inventory.hotEvents());
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        Results results = new Results();
+        try (HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Results>> clientResults = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                clientResults.add(executor.submit(() -> drive(httpClient, inventory, measureFrom, measureTo)));
+            }
+            for (Future<Results> clientResult : clientResults) {
+                results.add(clientResult.get());
+            }
+        }
+
+        report(results);
+        assertThat(results.count(status -> status >= 500 || status == Results.TRANSPORT_ERROR)).as("server and transport errors").isZero();
+        assertThat(results.count(status -> status == 201 || status == 202)).as("reservations").isPositive();
+    }
+
+    private Results drive(HttpClient httpClient, Inventory inventory, long measureFrom, long measureTo) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Results results = new Results();
+        for (long now = System.nanoTime(); now < measureTo; now = System.nanoTime()) {
+            String eventId = inventory.pickEvent(random, hotShare);
+            Operation operation = Operation.pick(random);
+            HttpRequest request = switch (operation) {
+                case BEST_SEATS -> HttpRequest.newBuilder(uri(eventId, URI_BEST_SEATS_SUFFIX)).GET().build();
+                case SEARCH_SEAT -> post(uri(eventId, URI_SEARCH_SEAT_SUFFIX), inventory.pickSeats(eventId, 1, random).getFirst());
+                case RESERVE_SEATS -> post(uri(eventId, URI_RESERVE_SEATS_SUFFIX), inventory.pickSeats(eventId, random.nextInt(2, 5), random));
+            };
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = Results.TRANSPORT_ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureFrom) {
+                results.record(operation, System.nanoTime() - start, status);
+            }
+        }
+        return results;
+    }
+
+    private URI uri(String eventId, String suffix) {
+        return URI.create("http://localhost:" + port + URI_EVENTS + eventId + suffix);
+    }
+
+    private HttpRequest post(URI uri, Object body) throws IOException {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private void report(Results results) {
+        double seconds = duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder(String.format("%n%-14s %9s %9s %9s %9s %9s %9s  %s%n", "operation", "requests", "req/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        for (Operation operation : Operation.values()) {
+            appendLine(report, operation.name().toLowerCase(), results.latencies(operation), results.statuses(operation), seconds);
+        }
+        appendLine(report, "all", results.allLatencies(), results.allStatuses(), seconds);
+        log.info("Load test results over {}:{}", duration, report);
+    }
+
+    private static void appendLine(StringBuilder report, String name, long[] latencies, Map<Integer, Long> statuses, double seconds) {
+        Arrays.sort(latencies);
+        report.append(String.format("%-14s %9d %9.0f %9.2f %9.2f %9.2f %9.2f  %s%n", name, latencies.length, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999), percentile(latencies, 1.0), statuses));
+    }
+
+    /**
+     * @return the latency in milliseconds that the given share of the sorted latencies does not exceed.
+     */
+    private static double percentile(long[] sortedLatencies, double share) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(share * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * The mix of requests of the on-sale traffic, by weight.
+     */
+    private enum Operation {
+        BEST_SEATS(50),
+        SEARCH_SEAT(30),
+        RESERVE_SEATS(20);
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(operation -> operation.weight).sum();
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(ThreadLocalRandom random) {
+            int draw = random.nextInt(TOTAL_WEIGHT);
+            for (Operation operation : values()) {
+                draw -= operation.weight;
+                if (draw < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * The seats of each event in the inventory file. The events with the most seats are the hot ones.
+     */
+    private record Inventory(Map<String, List<SeatRequest>> seatsByEvent, List<String> hotEvents, List<String> otherEvents) {
+
+        static Inventory read(String file, int hotEventCount) throws Exception {
+            Map<String, List<SeatRequest>> seatsByEvent = new LinkedHashMap<>();
+            try (CSVReader csvReader = new CSVReader(new FileReader(file))) {
+                csvReader.skip(1); // Header.
+                String[] row;
+                while ((row = csvReader.readNext()) != null) {
+                    SeatRequest seatRequest = new SeatRequest();
+                    seatRequest.setSeatNumber(row[1]);
+                    seatRequest.setRow(row[2]);
+                    seatRequest.setLevel(row[3]);
+                    seatRequest.setSection(row[4]);
+                    seatsByEvent.computeIfAbsent(row[0], eventId -> new ArrayList<>()).add(seatRequest);
+                }
+            }
+
+            List<String> events = seatsByEvent.keySet().stream()
+                    .sorted(Comparator.comparingInt((String eventId) -> seatsByEvent.get(eventId).size()).reversed())
+                    .toList();
+            int hot = Math.min(hotEventCount, events.size());
+            return new Inventory(seatsByEvent, events.subList(0, hot), events.subList(hot, events.size()));
+        }
+
+        String pickEvent(ThreadLocalRandom random, double hotShare) {
+            List<String> events = otherEvents.isEmpty() || random.nextDouble() < hotShare ? hotEvents : otherEvents;
+            return events.get(random.nextInt(events.size()));
+        }
+
+        List<SeatRequest> pickSeats(String eventId, int quantity, ThreadLocalRandom random) {
+            List<SeatRequest> seats = seatsByEvent.get(eventId);
+            List<SeatRequest> picked = new ArrayList<>(quantity);
+            for (int i = 0; i < quantity; i++) {
+                picked.add(seats.get(random.nextInt(seats.size())));
+            }
+            return picked;
+        }
+    }
+
+    /**
+     * Latencies in nanoseconds and response statuses per operation. Each client fills its own, and they are merged at the end.
+     */
+    private static final class Results {
+
+        static final int TRANSPORT_ERROR = -1;
+
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] sizes = new int[Operation.values().length];
+        private final List<Map<Integer, Long>> statuses = new ArrayList<>();
+
+        Results() {
+            for (int i = 0; i < Operation.values().length; i++) {
+                statuses.add(new TreeMap<>());
+            }
+        }
+
+        void record(Operation operation, long latencyNanos, int status) {
+            int index = operation.ordinal();
+            if (sizes[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], sizes[index] * 2);
+            }
+            latencies[index][sizes[index]++] = latencyNanos;
+            statuses.get(index).merge(status, 1L, Long::sum);
+        }
+
+        void add(Results other) {
+            for (Operation operation : Operation.values()) {
+                int index = operation.ordinal();
+                latencies[index] = Arrays.copyOf(latencies[index], sizes[index] + other.sizes[index]);
+                System.arraycopy(other.latencies[index], 0, latencies[index], sizes[index], other.sizes[index]);
+                sizes[index] += other.sizes[index];
+                other.statuses.get(index).forEach((status, count) -> statuses.get(index).merge(status, count, Long::sum));
+            }
+        }
+
+        long[] latencies(Operation operation) {
+            return Arrays.copyOf(latencies[operation.ordinal()], sizes[operation.ordinal()]);
+        }
+
+        Map<Integer, Long> statuses(Operation operation) {
+            return statuses.get(operation.ordinal());
+        }
+
+        long[] allLatencies() {
+            return Arrays.stream(Operation.values()).flatMapToLong(operation -> Arrays.stream(latencies(operation))).toArray();
+        }
+
+        Map<Integer, Long> allStatuses() {
+            Map<Integer, Long> all = new TreeMap<>();
+            statuses.forEach(byStatus -> byStatus.forEach((status, count) -> all.merge(status, count, Long::sum)));
+            return all;
+        }
+
+        long count(IntPredicate statusFilter) {
+            return allStatuses().entrySet().stream().filter(entry -> statusFilter.test(entry.getKey())).mapToLong(Map.Entry::getValue).sum();
+        }
+    }
+}
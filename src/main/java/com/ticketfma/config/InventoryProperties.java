@@ -0,0 +1,60 @@
+package com.ticketfma.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticketfma.inventory")
+public class InventoryProperties {
+
+    /**
+     * Inventory file on disk, in the data.csv format. When it is not set, data.csv is read from the classpath.
+     */
+    private String file;
+
+    /**
+     * Splits the CSV in chunks aligned on line breaks and parses them in parallel.
+     */
+    private boolean parallel;
+
+    /**
+     * Number of chunks for the parallel load. Zero means one chunk per available processor.
+     */
+    private int chunks;
+
+    /**
+     * How the seats of each event are kept in memory.
+     */
+    private Storage storage = Storage.OBJECTS;
+
+    /**
+     * Binary snapshot of the whole inventory, with the current seat statuses. When it exists, it is loaded instead of the CSV. When it is
+     * not set, no snapshot is written.
+     */
+    private String snapshotFile;
+
+    /**
+     * How often the snapshot is written. It is also written on shutdown.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    public enum Storage {
+        /**
+         * One Seat object per seat.
+         */
+        OBJECTS,
+        /**
+         * Parallel primitive arrays per event, with dictionary-encoded seat coordinates.
+         */
+        COLUMNAR,
+        /**
+         * The same columns as COLUMNAR, in native memory outside the Java heap.
+         */
+        OFF_HEAP
+    }
+}
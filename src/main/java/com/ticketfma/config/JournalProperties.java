@@ -0,0 +1,25 @@
+package com.ticketfma.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticketfma.journal")
+public class JournalProperties {
+
+    /**
+     * Journal file of the seat status changes. When it is not set, the changes are not journaled and are lost on restart.
+     */
+    private String file;
+
+    /**
+     * Minimum time between two fsyncs of the journal. Every change appended in the meantime is written and synced together, so at most
+     * this much (plus one fsync) of changes can be lost on a crash.
+     */
+    private Duration syncInterval = Duration.ofMillis(10);
+}
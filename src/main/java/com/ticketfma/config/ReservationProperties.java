@@ -0,0 +1,84 @@
+package com.ticketfma.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticketfma.reservation")
+public class ReservationProperties {
+
+    /**
+     * How concurrent reservations for the same event are kept from holding the same seat.
+     */
+    private Mode mode = Mode.EVENT_LOCK;
+
+    /**
+     * Maximum number of pending reservations per event in {@link Mode#QUEUE} mode. Reservations beyond it are rejected.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of pending reservations a worker applies at once in {@link Mode#QUEUE} mode.
+     */
+    private int queueBatchSize = 256;
+
+    /**
+     * How long the result of a queued reservation can be read once it is applied, in {@link Mode#QUEUE} mode.
+     */
+    private Duration queueResultTtl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of applied reservations whose result is kept, in {@link Mode#QUEUE} mode. The oldest results are evicted first.
+     */
+    private int queueMaxResults = 100_000;
+
+    /**
+     * How long reserved seats stay on HOLD before they go back to OPEN. Zero keeps them on HOLD for good.
+     */
+    private Duration holdTtl = Duration.ofMinutes(10);
+
+    /**
+     * How often expired holds are released. Holds are released at most one tick after their TTL.
+     */
+    private Duration holdExpiryTick = Duration.ofSeconds(1);
+
+    /**
+     * How long the result of a confirmation is kept for its idempotency key.
+     */
+    private Duration idempotencyTtl = Duration.ofHours(1);
+
+    /**
+     * Maximum number of idempotency keys kept. The oldest keys are evicted first.
+     */
+    private int idempotencyMaxKeys = 100_000;
+
+    public enum Mode {
+        /**
+         * One lock per event. Reservations for the same event run one at a time.
+         */
+        EVENT_LOCK,
+        /**
+         * One lock per section of an event. A reservation takes the locks of the sections it touches, always in the same order.
+         */
+        SECTION_LOCK,
+        /**
+         * One lock per level of an event. A reservation takes the locks of the levels it touches, always in the same order.
+         */
+        LEVEL_LOCK,
+        /**
+         * Each seat moves from OPEN to HOLD with a compare-and-set. A request that fails on one seat releases the seats it already held.
+         */
+        COMPARE_AND_SET,
+        /**
+         * Reservations are queued per event and the client gets a reservation id right away. One worker per event drains its queue in
+         * batches, so reservations never wait for each other on a lock. The worker applies each batch under the event lock, which only the
+         * batch endpoint may also take.
+         */
+        QUEUE
+    }
+}
@@ -1,8 +1,13 @@
 package com.ticketfma.controller;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -10,11 +15,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.ticketfma.model.dto.EventAvailabilityDTO;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
 import com.ticketfma.model.dto.SeatDTO;
 import com.ticketfma.model.dto.SeatRequest;
 import com.ticketfma.service.IEventService;
@@ -36,10 +47,44 @@ public class EventController {
 
     private final IEventService eventService;
 
+    @Validated
     @GetMapping("/v1/events")
-    @Operation(summary = "Get all available events with optional sorting by event name or event date.")
-    public ResponseEntity<List<EventDTO>> getEvents(@RequestParam Optional<String> sort) {
-        List<EventDTO> events = eventService.getAllEvents(sort.orElse(null));
+    @Operation(summary = "Get all available events with optional sorting by event name or event date, ascending or descending. With a limit, "
+            + "the events come in pages and the Link header has the URL of the next page.")
+    @Parameter(name = "order", description = "asc (default) or desc")
+    @Parameter(name = "limit", description = "Maximum events per page. Without it, all the events are returned at once")
+    @Parameter(name = "cursor", description = "Opaque cursor of the next page, from the Link header. It keeps the sort and order of the first page")
+    public ResponseEntity<List<EventDTO>> getEvents(@RequestParam Optional<String> sort, @RequestParam Optional<String> order,
+            @RequestParam(required = false) @Min(1) Integer limit, @RequestParam Optional<String> cursor) {
+        // The whole list in ascending order is mapped once per inventory, so it keeps its own path.
+        if (order.isEmpty() && limit == null && cursor.isEmpty()) {
+            List<EventDTO> events = eventService.getAllEvents(sort.orElse(null));
+            return ResponseEntity.ok(events);
+        }
+
+        int pageSize = limit == null ? Integer.MAX_VALUE : limit;
+        EventPageDTO page = eventService.getEventPage(sort.orElse(null), order.orElse(null), cursor.orElse(null), pageSize);
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getEvents());
+        }
+
+        String next = UriComponentsBuilder.fromPath("/api/v1/events")
+                .queryParam("limit", pageSize)
+                .queryParam("cursor", page.getNextCursor())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page.getEvents());
+    }
+
+    @GetMapping("/v1/events/search")
+    @Operation(summary = "Search events by date range and name prefix, sorted by event date.")
+    @Parameter(name = "from", description = "First event date, inclusive (yyyy-MM-dd)")
+    @Parameter(name = "to", description = "Last event date, inclusive (yyyy-MM-dd)")
+    @Parameter(name = "name", description = "Case-insensitive prefix of the event name")
+    public ResponseEntity<List<EventDTO>> searchEvents(@RequestParam @DateTimeFormat(iso = ISO.DATE) Optional<LocalDate> from,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE) Optional<LocalDate> to, @RequestParam Optional<String> name) {
+        List<EventDTO> events = eventService.searchEvents(from.orElse(null), to.orElse(null), name.orElse(null));
         return ResponseEntity.ok(events);
     }
 
@@ -60,17 +105,75 @@ public class EventController {
         return ResponseEntity.ok(bestSeats);
     }
 
+    @GetMapping("/v1/events/{eventId}/availability")
+    @Operation(summary = "Get the number of OPEN, HOLD and SOLD seats of a specific event, in total, per level and per section.")
+    @Parameter(name = "eventId", description = "The ID of the event")
+    public ResponseEntity<EventAvailabilityDTO> getAvailability(@PathVariable String eventId) {
+        EventAvailabilityDTO availability = eventService.getAvailability(eventId);
+        return ResponseEntity.ok(availability);
+    }
+
     @PostMapping("/v1/events/{eventId}/reserve-seats")
     @Operation(summary = "Reserve seats for a specific event.")
     @Parameter(name = "eventId", description = "The ID of the event")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Seats reserved"),
+            @ApiResponse(responseCode = "201", description = "Seats reserved, see the holdId to confirm them"),
+            @ApiResponse(responseCode = "202", description = "Reservation queued, see /v1/reservations/{reservationId} (queue mode)"),
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "400", description = "Seat does not exist"),
+            @ApiResponse(responseCode = "409", description = "Seat is unavailable"),
+            @ApiResponse(responseCode = "503", description = "Too many pending reservations for the event (queue mode)")
+    })
+    public ResponseEntity<ReservationResultDTO> reserveSeats(@PathVariable String eventId, @RequestBody @Valid List<SeatRequest> seatRequests) {
+        if (eventService.isReservationQueued()) {
+            ReservationResultDTO reservation = eventService.enqueueReservation(eventId, seatRequests);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/reservations/" + reservation.getReservationId()))
+                    .body(reservation);
+        }
+
+        ReservationResultDTO reservation = eventService.reserveSeats(eventId, seatRequests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @PostMapping("/v1/events/{eventId}/confirm-seats")
+    @Operation(summary = "Confirm held seats for a specific event, moving them from HOLD to SOLD.")
+    @Parameter(name = "eventId", description = "The ID of the event")
+    @Parameter(name = "holdId", description = "The holdId returned when the seats were reserved")
+    @Parameter(name = "Idempotency-Key", description = "Optional key; a retry with the same key, hold and seats gets the result of the first successful confirmation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seats sold"),
             @ApiResponse(responseCode = "404", description = "Event not found"),
             @ApiResponse(responseCode = "400", description = "Seat does not exist"),
-            @ApiResponse(responseCode = "409", description = "Seat is unavailable")
+            @ApiResponse(responseCode = "409", description = "Seat is not in the hold, or the hold expired"),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for another hold or other seats")
+    })
+    public ResponseEntity<Void> confirmSeats(@PathVariable String eventId, @RequestParam String holdId,
+            @RequestBody @Valid List<SeatRequest> seatRequests, @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        eventService.confirmSeats(eventId, holdId, seatRequests, idempotencyKey);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/v1/reservations/{reservationId}")
+    @Operation(summary = "Get the status of a queued reservation.")
+    @Parameter(name = "reservationId", description = "The ID returned when the reservation was queued")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation found, see its status"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ReservationResultDTO> getReservation(@PathVariable String reservationId) {
+        ReservationResultDTO reservation = eventService.getReservation(reservationId);
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/v1/reservations:batch")
+    @Operation(summary = "Reserve seats for many events in one call. Each reservation is all or nothing and gets its own outcome.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservations processed, see the status of each one"),
+            @ApiResponse(responseCode = "400", description = "Invalid reservation request")
     })
-    public ResponseEntity<Void> reserveSeats(@PathVariable String eventId, @RequestBody @Valid List<SeatRequest> seatRequests) {
-        eventService.reserveSeats(eventId, seatRequests);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    public ResponseEntity<List<ReservationResultDTO>> reserveSeats(@RequestBody @Valid List<ReservationRequest> reservationRequests) {
+        List<ReservationResultDTO> results = eventService.reserveSeats(reservationRequests);
+        return ResponseEntity.ok(results);
     }
 }
@@ -0,0 +1,30 @@
+package com.ticketfma.controller;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.ticketfma.model.dto.InventoryReloadDTO;
+import com.ticketfma.service.IEventService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Administration of the inventory, served as the actuator endpoint {@code /actuator/inventory}, on the management port only, so it is not
+ * reachable from the public API port.
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "inventory")
+public class InventoryEndpoint {
+
+    private final IEventService eventService;
+
+    /**
+     * Reloads the inventory file, applying only the events and seats that changed. Seats on HOLD or SOLD keep their status.
+     */
+    @WriteOperation
+    public InventoryReloadDTO reloadInventory() {
+        return eventService.reloadInventory();
+    }
+}
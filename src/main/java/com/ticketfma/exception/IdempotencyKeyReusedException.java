@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("Idempotency key '%s' was already used for another request.", idempotencyKey));
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super(String.format("Cursor '%s' is not valid.", cursor), cause);
+    }
+}
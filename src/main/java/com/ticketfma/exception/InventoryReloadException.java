@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class InventoryReloadException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public InventoryReloadException(Throwable cause) {
+        super("The inventory could not be read. The current inventory is kept.", cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class JournalUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public JournalUnavailableException() {
+        super("The seat journal cannot be written. No seat can be reserved or confirmed until it is fixed and the application restarted.");
+    }
+}
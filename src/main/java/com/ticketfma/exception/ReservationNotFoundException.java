@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ReservationNotFoundException(String id) {
+        super(String.format("Reservation '%s' not found.", id));
+    }
+}
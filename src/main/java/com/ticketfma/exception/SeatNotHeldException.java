@@ -0,0 +1,17 @@
+package com.ticketfma.exception;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SeatNotHeldException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public SeatNotHeldException(String seatNumber, String row, String level, String section) {
+        super(String.format("Seat '%s' in row '%s' in level '%s' in section '%s' is not on hold.", seatNumber, row, level, section));
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketfma.model;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Seats of an event in each status, in total, per level and per section.
+ */
+@Data
+@Builder
+public class EventAvailability {
+    private String eventId;
+    private SeatCount seats;
+    private Map<String, SeatCount> levels;
+    // By level, then by section: the same section name may be used on several levels.
+    private Map<String, Map<String, SeatCount>> sections;
+}
@@ -0,0 +1,23 @@
+package com.ticketfma.model;
+
+import java.time.LocalDate;
+
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.SortOrder;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Where the next page of events starts: right after the last event of the previous page, in its sort and order. It keeps the sort key of
+ * that event and its id, which breaks ties, so it stays valid when events are added or removed in the meantime.
+ */
+@Data
+@Builder
+public class EventCursor {
+    private EventSort sort;
+    private SortOrder order;
+    private String eventId;
+    private String name;
+    private LocalDate eventDate;
+}
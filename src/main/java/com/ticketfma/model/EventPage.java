@@ -0,0 +1,16 @@
+package com.ticketfma.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EventPage {
+    private List<Event> events;
+    /**
+     * Null on the last page.
+     */
+    private EventCursor next;
+}
@@ -0,0 +1,20 @@
+package com.ticketfma.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * What a reload of the inventory changed, per event.
+ */
+@Data
+@Builder
+public class InventoryReload {
+    private int addedEvents;
+    private int removedEvents;
+    // Events whose seats changed, swapped for a new inventory.
+    private int replacedEvents;
+    // Events with the same seats, where only seat statuses changed.
+    private int updatedEvents;
+    private int unchangedEvents;
+    private int updatedSeats;
+}
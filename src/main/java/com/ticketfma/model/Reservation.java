@@ -0,0 +1,16 @@
+package com.ticketfma.model;
+
+import com.ticketfma.model.dto.ReservationRequest;
+
+import lombok.Data;
+
+/**
+ * A queued reservation. The result stays null until the worker of the event has applied it, or for good when applying it failed.
+ */
+@Data
+public class Reservation {
+    private final String reservationId;
+    private final ReservationRequest reservationRequest;
+    private volatile ReservationResult result;
+    private volatile boolean failed;
+}
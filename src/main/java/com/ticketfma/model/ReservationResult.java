@@ -0,0 +1,32 @@
+package com.ticketfma.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationOutcome;
+
+import lombok.Data;
+
+/**
+ * Outcome of a reservation for each requested seat, in the order of the request. A reservation is all or nothing: either every seat is
+ * {@link ReservationOutcome#RESERVED} or none is.
+ */
+@Data
+public class ReservationResult {
+    private final List<SeatReservation> seats;
+    // Hold the seats were reserved in, which their confirmation must name. Null when nothing was reserved, and for confirmations.
+    private String holdId;
+
+    public static ReservationResult of(List<SeatRequest> seatRequests, ReservationOutcome[] outcomes) {
+        List<SeatReservation> seats = new ArrayList<>(seatRequests.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            seats.add(new SeatReservation(seatRequests.get(i), outcomes[i]));
+        }
+        return new ReservationResult(seats);
+    }
+
+    public boolean isReserved() {
+        return seats.stream().allMatch(seat -> seat.getOutcome() == ReservationOutcome.RESERVED);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticketfma.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Number of seats in each status, for an event, a level or a section.
+ */
+@Data
+@Builder
+public class SeatCount {
+    private long open;
+    private long hold;
+    private long sold;
+}
@@ -0,0 +1,17 @@
+package com.ticketfma.model;
+
+import com.ticketfma.model.dto.SeatRequest;
+
+/**
+ * Composite key that identifies a seat inside an event.
+ */
+public record SeatKey(String seatNumber, String row, String level, String section) {
+
+    public static SeatKey of(Seat seat) {
+        return new SeatKey(seat.getSeatNumber(), seat.getRow(), seat.getLevel(), seat.getSection());
+    }
+
+    public static SeatKey of(SeatRequest seatRequest) {
+        return new SeatKey(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
+    }
+}
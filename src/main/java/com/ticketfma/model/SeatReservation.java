@@ -0,0 +1,12 @@
+package com.ticketfma.model;
+
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationOutcome;
+
+import lombok.Data;
+
+@Data
+public class SeatReservation {
+    private final SeatRequest seatRequest;
+    private final ReservationOutcome outcome;
+}
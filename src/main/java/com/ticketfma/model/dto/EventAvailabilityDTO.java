@@ -0,0 +1,15 @@
+package com.ticketfma.model.dto;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EventAvailabilityDTO {
+    private String eventId;
+    private SeatCountDTO seats;
+    private Map<String, SeatCountDTO> levels;
+    private Map<String, Map<String, SeatCountDTO>> sections;
+}
@@ -0,0 +1,13 @@
+package com.ticketfma.model.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EventPageDTO {
+    private List<EventDTO> events;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.ticketfma.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class InventoryReloadDTO {
+    private int addedEvents;
+    private int removedEvents;
+    private int replacedEvents;
+    private int updatedEvents;
+    private int unchangedEvents;
+    private int updatedSeats;
+}
@@ -0,0 +1,17 @@
+package com.ticketfma.model.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class ReservationRequest {
+    @NotBlank
+    private String eventId;
+
+    @NotEmpty
+    private List<@Valid SeatRequest> seats;
+}
@@ -0,0 +1,20 @@
+package com.ticketfma.model.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ticketfma.model.enums.ReservationStatus;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationResultDTO {
+    private String reservationId;
+    private String eventId;
+    private String holdId;
+    private ReservationStatus status;
+    private List<SeatReservationDTO> seats;
+}
@@ -0,0 +1,12 @@
+package com.ticketfma.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SeatCountDTO {
+    private long open;
+    private long hold;
+    private long sold;
+}
@@ -0,0 +1,16 @@
+package com.ticketfma.model.dto;
+
+import com.ticketfma.model.enums.ReservationOutcome;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class SeatReservationDTO {
+    private String seatNumber;
+    private String row;
+    private String level;
+    private String section;
+    private ReservationOutcome outcome;
+}
@@ -0,0 +1,21 @@
+package com.ticketfma.model.enums;
+
+public enum EventSort {
+    NONE,
+    NAME,
+    DATE;
+
+    /**
+     * Resolves the sort query parameter. A missing or unknown value keeps the original event order.
+     */
+    public static EventSort from(String sortBy) {
+        if (sortBy != null) {
+            for (EventSort sort : values()) {
+                if (sort != NONE && sort.name().equalsIgnoreCase(sortBy)) {
+                    return sort;
+                }
+            }
+        }
+        return NONE;
+    }
+}
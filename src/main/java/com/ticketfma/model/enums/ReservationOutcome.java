@@ -0,0 +1,23 @@
+package com.ticketfma.model.enums;
+
+/**
+ * Outcome of one seat of a reservation, or of a confirmation of held seats.
+ */
+public enum ReservationOutcome {
+    /**
+     * The seat is now on HOLD (SOLD, for a confirmation).
+     */
+    RESERVED,
+    /**
+     * The seat does not exist in the event.
+     */
+    NOT_FOUND,
+    /**
+     * The seat is not OPEN (not on HOLD, for a confirmation).
+     */
+    UNAVAILABLE,
+    /**
+     * The seat could have been changed, but was not because another seat of the same request failed.
+     */
+    NOT_RESERVED
+}
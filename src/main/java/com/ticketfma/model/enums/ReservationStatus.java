@@ -0,0 +1,19 @@
+package com.ticketfma.model.enums;
+
+/**
+ * Status of a whole reservation. The errors match the ones of the single reservation endpoint.
+ */
+public enum ReservationStatus {
+    /**
+     * Queued and not applied yet.
+     */
+    PENDING,
+    RESERVED,
+    EVENT_NOT_FOUND,
+    SEAT_NOT_FOUND,
+    SEAT_UNAVAILABLE,
+    /**
+     * Queued, but applying it failed. None of its seats were held.
+     */
+    FAILED
+}
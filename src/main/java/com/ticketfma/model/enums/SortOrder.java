@@ -0,0 +1,13 @@
+package com.ticketfma.model.enums;
+
+public enum SortOrder {
+    ASC,
+    DESC;
+
+    /**
+     * Resolves the order query parameter. A missing or unknown value is ascending.
+     */
+    public static SortOrder from(String order) {
+        return "desc".equalsIgnoreCase(order) ? DESC : ASC;
+    }
+}
@@ -1,11 +1,20 @@
 package com.ticketfma.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.EventPage;
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.ReservationResult;
 import com.ticketfma.model.Seat;
+import com.ticketfma.model.dto.ReservationRequest;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.SortOrder;
 
 public interface IEventRepository {
     boolean eventExists(String eventId);
@@ -16,9 +25,25 @@ public interface IEventRepository {
 
     List<Event> getAllEvents(String sortBy);
 
+    EventPage getEventPage(EventSort sort, SortOrder order, EventCursor after, int limit);
+
+    List<Event> searchEvents(LocalDate from, LocalDate to, String namePrefix);
+
     Optional<Seat> getSeat(String eventId, String seatNumber, String row, String level, String section);
 
     List<Seat> getBestSeats(String eventId, int quantity);
 
-    void reserveSeats(String eventId, List<SeatRequest> seatRequests);
+    EventAvailability getAvailability(String eventId);
+
+    ReservationResult reserveSeats(String eventId, List<SeatRequest> seatRequests);
+
+    List<ReservationResult> reserveSeats(List<ReservationRequest> reservationRequests);
+
+    ReservationResult confirmSeats(String eventId, String holdId, List<SeatRequest> seatRequests);
+
+    int releaseExpiredHolds(long nowMillis);
+
+    void writeSnapshot();
+
+    InventoryReload reloadInventory();
 }
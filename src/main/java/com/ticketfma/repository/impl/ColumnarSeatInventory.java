@@ -0,0 +1,355 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+
+/**
+ * Keeps the seats in parallel primitive arrays instead of one {@link Seat} object per seat.
+ * <p>
+ * Seat coordinates are stored as ids into per-event dictionaries, the status as a byte, the sellRank as an int and the upsells as a bit.
+ * The OPEN seats are a bitset in sellRank order. {@link Seat} objects are only created when a seat is returned to the caller.
+ */
+class ColumnarSeatInventory implements SeatInventory {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final Dictionary seatNumbers;
+    private final Dictionary rows;
+    private final Dictionary levels;
+    private final Dictionary sections;
+    private final int[] seatNumberIds;
+    private final int[] rowIds;
+    private final int[] levelIds;
+    private final int[] sectionIds;
+    private final byte[] statuses;
+    private final int[] sellRanks;
+    private final BitSet upsells;
+    // Open addressing table of seat positions, hashed by coordinate ids. Empty slots hold NOT_FOUND.
+    private final int[] index;
+    // Seat positions sorted by sellRank and CSV position, and the opposite mapping.
+    private final int[] rankOrder;
+    private final int[] rankOf;
+    // Bit i is set when the seat at rankOrder[i] is OPEN.
+    private final AtomicLongArray openByRank;
+
+    ColumnarSeatInventory(List<Seat> seats) {
+        int size = seats.size();
+        DictionaryBuilder seatNumberBuilder = new DictionaryBuilder();
+        DictionaryBuilder rowBuilder = new DictionaryBuilder();
+        DictionaryBuilder levelBuilder = new DictionaryBuilder();
+        DictionaryBuilder sectionBuilder = new DictionaryBuilder();
+        seatNumberIds = new int[size];
+        rowIds = new int[size];
+        levelIds = new int[size];
+        sectionIds = new int[size];
+        statuses = new byte[size];
+        sellRanks = new int[size];
+        upsells = new BitSet(size);
+
+        for (int position = 0; position < size; position++) {
+            Seat seat = seats.get(position);
+            seatNumberIds[position] = seatNumberBuilder.id(seat.getSeatNumber());
+            rowIds[position] = rowBuilder.id(seat.getRow());
+            levelIds[position] = levelBuilder.id(seat.getLevel());
+            sectionIds[position] = sectionBuilder.id(seat.getSection());
+            statuses[position] = (byte) seat.getStatus().ordinal();
+            sellRanks[position] = seat.getSellRank();
+            upsells.set(position, seat.isHasUpsells());
+        }
+        seatNumbers = seatNumberBuilder.build();
+        rows = rowBuilder.build();
+        levels = levelBuilder.build();
+        sections = sectionBuilder.build();
+
+        index = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size)) << 2)];
+        Arrays.fill(index, NOT_FOUND);
+        for (int position = 0; position < size; position++) {
+            int slot = findSlot(seatNumberIds[position], rowIds[position], levelIds[position], sectionIds[position]);
+            if (index[slot] == NOT_FOUND) { // When the CSV repeats a seat, the first row wins.
+                index[slot] = position;
+            }
+        }
+
+        rankOrder = sortByRank(sellRanks);
+        rankOf = new int[size];
+        openByRank = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+        rank();
+    }
+
+    private ColumnarSeatInventory(Dictionary seatNumbers, Dictionary rows, Dictionary levels, Dictionary sections, int[] seatNumberIds,
+            int[] rowIds, int[] levelIds, int[] sectionIds, byte[] statuses, int[] sellRanks, BitSet upsells, int[] index, int[] rankOrder) {
+        this.seatNumbers = seatNumbers;
+        this.rows = rows;
+        this.levels = levels;
+        this.sections = sections;
+        this.seatNumberIds = seatNumberIds;
+        this.rowIds = rowIds;
+        this.levelIds = levelIds;
+        this.sectionIds = sectionIds;
+        this.statuses = statuses;
+        this.sellRanks = sellRanks;
+        this.upsells = upsells;
+        this.index = index;
+        this.rankOrder = rankOrder;
+        this.rankOf = new int[statuses.length];
+        this.openByRank = new AtomicLongArray((statuses.length + Long.SIZE - 1) / Long.SIZE);
+        rank();
+    }
+
+    /**
+     * Reads the columns written by {@link #writeTo}. The index and the ranking are read as they were written instead of being rebuilt, so
+     * the cost is little more than copying the arrays.
+     */
+    static ColumnarSeatInventory read(ByteBuffer buffer) {
+        Dictionary seatNumbers = Dictionary.read(buffer);
+        Dictionary rows = Dictionary.read(buffer);
+        Dictionary levels = Dictionary.read(buffer);
+        Dictionary sections = Dictionary.read(buffer);
+        return new ColumnarSeatInventory(seatNumbers, rows, levels, sections,
+                InventorySnapshot.getInts(buffer), InventorySnapshot.getInts(buffer), InventorySnapshot.getInts(buffer),
+                InventorySnapshot.getInts(buffer), InventorySnapshot.getBytes(buffer), InventorySnapshot.getInts(buffer),
+                BitSet.valueOf(InventorySnapshot.getLongs(buffer)), InventorySnapshot.getInts(buffer), InventorySnapshot.getInts(buffer));
+    }
+
+    /**
+     * Writes every column with the given status of each seat, plus the index and the ranking.
+     */
+    @Override
+    public void writeTo(InventorySnapshot.Output output, byte[] statuses) throws IOException {
+        for (Dictionary dictionary : List.of(seatNumbers, rows, levels, sections)) {
+            dictionary.writeTo(output);
+        }
+        output.putInts(seatNumberIds);
+        output.putInts(rowIds);
+        output.putInts(levelIds);
+        output.putInts(sectionIds);
+        output.putBytes(statuses);
+        output.putInts(sellRanks);
+        output.putLongs(upsells.toLongArray());
+        output.putInts(index);
+        output.putInts(rankOrder);
+    }
+
+    @Override
+    public int size() {
+        return statuses.length;
+    }
+
+    @Override
+    public int find(String seatNumber, String row, String level, String section) {
+        int seatNumberId = seatNumbers.id(seatNumber);
+        int rowId = rows.id(row);
+        int levelId = levels.id(level);
+        int sectionId = sections.id(section);
+        if (seatNumberId == NOT_FOUND || rowId == NOT_FOUND || levelId == NOT_FOUND || sectionId == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        return index[findSlot(seatNumberId, rowId, levelId, sectionId)];
+    }
+
+    @Override
+    public SeatStatus getStatus(int position) {
+        return STATUSES[(byte) STATUS.getVolatile(statuses, position)];
+    }
+
+    @Override
+    public void setStatus(int position, SeatStatus status) {
+        STATUS.setVolatile(statuses, position, (byte) status.ordinal());
+        updateRanking(position);
+    }
+
+    @Override
+    public boolean compareAndSetStatus(int position, SeatStatus expected, SeatStatus status) {
+        if (!STATUS.compareAndSet(statuses, position, (byte) expected.ordinal(), (byte) status.ordinal())) {
+            return false;
+        }
+
+        updateRanking(position);
+        return true;
+    }
+
+    @Override
+    public Seat getSeat(int position) {
+        return Seat.builder()
+                .seatNumber(seatNumbers.value(seatNumberIds[position]))
+                .row(rows.value(rowIds[position]))
+                .level(levels.value(levelIds[position]))
+                .section(sections.value(sectionIds[position]))
+                .status(getStatus(position))
+                .sellRank(sellRanks[position])
+                .hasUpsells(upsells.get(position))
+                .build();
+    }
+
+    @Override
+    public String getLevel(int position) {
+        return levels.value(levelIds[position]);
+    }
+
+    @Override
+    public String getSection(int position) {
+        return sections.value(sectionIds[position]);
+    }
+
+    @Override
+    public List<Seat> getBestSeats(int quantity) {
+        List<Seat> bestSeats = new ArrayList<>(Math.min(quantity, size()));
+        for (int rank = nextOpen(0); rank != NOT_FOUND && bestSeats.size() < quantity; rank = nextOpen(rank + 1)) {
+            int position = rankOrder[rank];
+            if (getStatus(position) == SeatStatus.OPEN) { // Skips a seat that is being held right now.
+                bestSeats.add(getSeat(position));
+            }
+        }
+        return bestSeats;
+    }
+
+    /**
+     * @return the slot that holds the seat with these coordinate ids, or the empty slot where it would be.
+     */
+    private int findSlot(int seatNumberId, int rowId, int levelId, int sectionId) {
+        int hash = ((seatNumberId * 31 + rowId) * 31 + levelId) * 31 + sectionId;
+        int mask = index.length - 1;
+        int slot = (hash ^ (hash >>> 16)) * 0x9E3779B9 & mask;
+        while (index[slot] != NOT_FOUND) {
+            int position = index[slot];
+            if (seatNumberIds[position] == seatNumberId && rowIds[position] == rowId && levelIds[position] == levelId && sectionIds[position] == sectionId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the bytes of the seat columns: the arrays and bitsets, without their headers and without the dictionaries.
+     */
+    long columnBytes() {
+        long ints = (long) seatNumberIds.length + rowIds.length + levelIds.length + sectionIds.length + sellRanks.length + index.length
+                + rankOrder.length + rankOf.length;
+        return ints * Integer.BYTES + statuses.length + upsells.size() / Byte.SIZE + (long) openByRank.length() * Long.BYTES;
+    }
+
+    /**
+     * Sets or clears the OPEN bit of the seat. When the status changes again meanwhile, the seat is checked again, so the bit always ends up
+     * matching the last status.
+     */
+    private void updateRanking(int position) {
+        SeatStatus status;
+        do {
+            status = getStatus(position);
+            setOpen(rankOf[position], status == SeatStatus.OPEN);
+        } while (getStatus(position) != status);
+    }
+
+    private void setOpen(int rank, boolean open) {
+        long bit = 1L << rank;
+        if (open) {
+            openByRank.getAndAccumulate(rank >>> 6, bit, (word, mask) -> word | mask);
+        } else {
+            openByRank.getAndAccumulate(rank >>> 6, bit, (word, mask) -> word & ~mask);
+        }
+    }
+
+    private int nextOpen(int fromRank) {
+        int word = fromRank >>> 6;
+        if (word >= openByRank.length()) {
+            return NOT_FOUND;
+        }
+
+        long bits = openByRank.get(word) & (-1L << fromRank);
+        while (bits == 0) {
+            if (++word == openByRank.length()) {
+                return NOT_FOUND;
+            }
+            bits = openByRank.get(word);
+        }
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Fills the opposite mapping of the ranking and the OPEN bits, then publishes the arrays.
+     */
+    private void rank() {
+        for (int rank = 0; rank < rankOrder.length; rank++) {
+            rankOf[rankOrder[rank]] = rank;
+            if (statuses[rankOrder[rank]] == SeatStatus.OPEN.ordinal()) {
+                setOpen(rank, true);
+            }
+        }
+        VarHandle.releaseFence();
+    }
+
+    static int[] sortByRank(int[] sellRanks) {
+        // Sorting (sellRank, position) pairs packed in a long keeps the CSV order for the same sellRank.
+        long[] keys = new long[sellRanks.length];
+        for (int position = 0; position < sellRanks.length; position++) {
+            keys[position] = ((long) sellRanks[position] << Integer.SIZE) | position;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+        for (int rank = 0; rank < keys.length; rank++) {
+            order[rank] = (int) keys[rank];
+        }
+        return order;
+    }
+
+    /**
+     * Distinct values of one coordinate, in the order they first appear.
+     */
+    record Dictionary(String[] values, Map<String, Integer> ids) {
+
+        String value(int id) {
+            return values[id];
+        }
+
+        int id(String value) {
+            return ids.getOrDefault(value, NOT_FOUND);
+        }
+
+        void writeTo(InventorySnapshot.Output output) throws IOException {
+            output.putInt(values.length);
+            for (String value : values) {
+                output.putString(value);
+            }
+        }
+
+        static Dictionary read(ByteBuffer buffer) {
+            String[] values = new String[buffer.getInt()];
+            Map<String, Integer> ids = HashMap.newHashMap(values.length);
+            for (int id = 0; id < values.length; id++) {
+                values[id] = InventorySnapshot.getString(buffer);
+                ids.put(values[id], id);
+            }
+            return new Dictionary(values, Map.copyOf(ids));
+        }
+    }
+
+    static final class DictionaryBuilder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        int id(String value) {
+            return ids.computeIfAbsent(value, v -> ids.size());
+        }
+
+        Dictionary build() {
+            String[] values = new String[ids.size()];
+            ids.forEach((value, id) -> values[id] = value);
+            return new Dictionary(values, Map.copyOf(ids));
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.ticketfma.repository.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
 
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
+import com.ticketfma.config.InventoryProperties;
 import com.ticketfma.model.Event;
 import com.ticketfma.model.Seat;
-import com.ticketfma.model.enums.SeatStatus;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -25,75 +39,230 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class CsvDataLoader {
 
-    private final List<Event> events = new ArrayList<>();
-    private final ConcurrentHashMap<String, List<Seat>> eventSeats = new ConcurrentHashMap<>();
+    private static final String CSV_RESOURCE = "/data.csv";
+    private static final long MAX_MAPPED_RANGE = 1L << 30;
+
+    private final InventoryProperties inventoryProperties;
+    private final Map<String, Event> events = new LinkedHashMap<>();
+    private final ConcurrentHashMap<String, SeatInventory> eventInventories = new ConcurrentHashMap<>();
 
     public void loadCsvData() {
-        try (CSVReader csvReader = new CSVReader(new InputStreamReader(Objects.requireNonNull(getClass().getResourceAsStream("/data.csv"))))) {
-            List<String[]> csvData = csvReader.readAll();
-            processCsvData(csvData);
-        } catch (IOException | CsvException e) {
+        try {
+            readCsvData();
+        } catch (IOException | UncheckedIOException | CsvValidationException e) {
             log.error("Error reading CSV file.", e);
         }
     }
 
-    private void processCsvData(List<String[]> csvData) {
-        for (int i = 1; i < csvData.size(); i++) {
-            String[] row = csvData.get(i);
-            processCsvRow(row);
+    /**
+     * Reads the inventory again, from scratch. Unlike {@link #loadCsvData()}, a read error is thrown, so a broken file is never taken for
+     * an empty inventory.
+     *
+     * @throws UncheckedIOException when the CSV cannot be read.
+     */
+    public void reloadCsvData() {
+        clear();
+        try {
+            readCsvData();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (CsvValidationException e) {
+            throw new UncheckedIOException(new IOException(e));
         }
     }
 
-    private void processCsvRow(String[] row) {
-        String eventId = row[0];
-        String seatNumber = row[1];
-        String seatRow = row[2];
-        String level = row[3];
-        String section = row[4];
-        String status = row[5];
-        LocalDate eventDate = parseEventDate(row[6]);
-        int sellRank = Integer.parseInt(row[7]);
-        boolean hasUpsells = Boolean.parseBoolean(row[8]);
+    /**
+     * Drops the events and seats read last, once they were taken, so the seats are not kept twice: the repository keeps its own seats for
+     * the events a reload leaves unchanged.
+     */
+    public void clear() {
+        events.clear();
+        eventInventories.clear();
+    }
 
-        Event event = createEvent(eventId, eventDate);
-        addEventIfNotExists(event);
+    private void readCsvData() throws IOException, CsvValidationException {
+        long start = System.nanoTime();
 
-        Seat seat = createSeat(seatNumber, seatRow, level, section, status, sellRank, hasUpsells);
-        addSeatToEvent(eventId, seat);
+        List<InventoryChunk> chunks;
+        if (StringUtils.hasText(inventoryProperties.getFile())) {
+            chunks = parseFile(Path.of(inventoryProperties.getFile()));
+        } else if (inventoryProperties.isParallel()) {
+            chunks = parseResourceInParallel();
+        } else {
+            chunks = List.of(parseResource());
+        }
+        merge(chunks);
+
+        int rows = chunks.stream().mapToInt(InventoryChunk::getRows).sum();
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        log.info("Loaded {} rows for {} events from {} chunk(s) in {} ms ({} rows/s).", rows, events.size(), chunks.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
     }
 
-    private LocalDate parseEventDate(String date) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return LocalDate.parse(date, formatter);
+    /**
+     * @return the events in the order they first appear in the CSV.
+     */
+    public List<Event> getEvents() {
+        return new ArrayList<>(events.values());
     }
 
-    private Event createEvent(String eventId, LocalDate eventDate) {
-        return Event.builder()
-                .eventId(eventId)
-                .eventDate(eventDate)
-                .name(String.format("Event %03d", Integer.parseInt(eventId)))
-                .build();
+    private InventoryChunk parseResource() throws IOException, CsvValidationException {
+        InventoryChunk chunk = new InventoryChunk();
+        try (CSVReader csvReader = new CSVReader(new InputStreamReader(openResource()))) {
+            csvReader.skip(1); // Header.
+
+            // Rows are processed one at a time, so the whole file is never held in memory.
+            String[] row;
+            while ((row = csvReader.readNext()) != null) {
+                chunk.addRow(row);
+            }
+        }
+        return chunk;
     }
 
-    private void addEventIfNotExists(Event event) {
-        if (events.stream().noneMatch(e -> e.getEventId().equals(event.getEventId()))) {
-            events.add(event);
+    /**
+     * Splits the CSV in byte ranges that end on a line break and parses each range in its own thread.
+     * Quoted fields are read, but they must not hold line breaks.
+     */
+    private List<InventoryChunk> parseResourceInParallel() throws IOException {
+        ByteBuffer csv;
+        try (InputStream inputStream = openResource()) {
+            csv = ByteBuffer.wrap(inputStream.readAllBytes());
+        }
+
+        List<ByteBuffer> ranges = new ArrayList<>();
+        for (ByteRange range : split(csv.limit(), chunkCount(), position -> nextLine(csv, (int) position))) {
+            ranges.add(csv.slice((int) range.start(), (int) range.length()));
         }
+        return parseRanges(ranges);
     }
 
-    private Seat createSeat(String seatNumber, String seatRow, String level, String section, String status, int sellRank, boolean hasUpsells) {
-        return Seat.builder()
-                .seatNumber(seatNumber)
-                .row(seatRow)
-                .level(level)
-                .section(section)
-                .status(SeatStatus.valueOf(status))
-                .sellRank(sellRank)
-                .hasUpsells(hasUpsells)
-                .build();
+    /**
+     * Maps an inventory file on disk and parses it straight from the mapped bytes. A mapping is limited to 2 GB, so big files are
+     * mapped in several ranges even when the parallel load is disabled.
+     */
+    private List<InventoryChunk> parseFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int chunkCount = inventoryProperties.isParallel() ? chunkCount() : 1;
+            chunkCount = (int) Math.max(chunkCount, (channel.size() + MAX_MAPPED_RANGE - 1) / MAX_MAPPED_RANGE);
+
+            List<ByteBuffer> ranges = new ArrayList<>();
+            for (ByteRange range : split(channel.size(), chunkCount, position -> nextLine(channel, position))) {
+                ranges.add(channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length()));
+            }
+            return parseRanges(ranges);
+        }
     }
 
-    private void addSeatToEvent(String eventId, Seat seat) {
-        eventSeats.computeIfAbsent(eventId, k -> new ArrayList<>()).add(seat);
+    private List<InventoryChunk> parseRanges(List<ByteBuffer> ranges) throws IOException {
+        if (!inventoryProperties.isParallel()) {
+            return ranges.stream().map(CsvRangeParser::parse).toList();
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<InventoryChunk>> futures = new ArrayList<>(ranges.size());
+            for (ByteBuffer range : ranges) {
+                futures.add(executor.submit(() -> CsvRangeParser.parse(range)));
+            }
+
+            List<InventoryChunk> chunks = new ArrayList<>(futures.size());
+            for (Future<InventoryChunk> future : futures) {
+                chunks.add(future.get());
+            }
+            return chunks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading CSV file.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error parsing CSV file.", e.getCause());
+        }
+    }
+
+    private InputStream openResource() {
+        return Objects.requireNonNull(getClass().getResourceAsStream(CSV_RESOURCE));
+    }
+
+    private int chunkCount() {
+        return inventoryProperties.getChunks() > 0 ? inventoryProperties.getChunks() : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Splits the CSV, after its header, in about chunkCount ranges. Every range ends right after a line break.
+     */
+    private static List<ByteRange> split(long size, int chunkCount, LongUnaryOperator nextLine) {
+        long start = nextLine.applyAsLong(0); // Header.
+        long chunkSize = Math.max(1, (size - start) / chunkCount);
+
+        List<ByteRange> ranges = new ArrayList<>(chunkCount);
+        while (start < size) {
+            long end = nextLine.applyAsLong(Math.min(size, start + chunkSize) - 1);
+            ranges.add(new ByteRange(start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * @return the position right after the first line break found from the given position, or the limit of the buffer.
+     */
+    private static long nextLine(ByteBuffer csv, int position) {
+        while (position < csv.limit()) {
+            if (csv.get(position++) == '\n') {
+                return position;
+            }
+        }
+        return csv.limit();
+    }
+
+    /**
+     * @return the position right after the first line break found from the given position, or the size of the file.
+     */
+    private static long nextLine(FileChannel channel, long position) {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        try {
+            int read;
+            while ((read = channel.read(buffer.clear(), position)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Merges the chunks in CSV order. Each event is merged by a single task, so no two tasks write the same entry.
+     */
+    private void merge(List<InventoryChunk> chunks) {
+        chunks.forEach(chunk -> chunk.getEvents().forEach(events::putIfAbsent));
+
+        Collection<String> eventIds = events.keySet();
+        (chunks.size() > 1 ? eventIds.parallelStream() : eventIds.stream()).forEach(eventId -> {
+            List<Seat> seats = new ArrayList<>();
+            for (InventoryChunk chunk : chunks) {
+                seats.addAll(chunk.getEventSeats().getOrDefault(eventId, List.of()));
+            }
+            eventInventories.put(eventId, createInventory(seats));
+        });
+    }
+
+    private SeatInventory createInventory(List<Seat> seats) {
+        return switch (inventoryProperties.getStorage()) {
+            case OBJECTS -> new ObjectSeatInventory(seats);
+            case COLUMNAR -> new ColumnarSeatInventory(seats);
+            case OFF_HEAP -> new OffHeapSeatInventory(seats);
+        };
+    }
+
+    private record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start;
+        }
     }
 }
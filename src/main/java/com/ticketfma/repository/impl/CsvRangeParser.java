@@ -0,0 +1,226 @@
+package com.ticketfma.repository.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.ticketfma.model.enums.SeatStatus;
+
+/**
+ * Parses a range of the CSV straight from its bytes, for the fixed format of data.csv:
+ * eventId,seatNumber,row,level,section,status,eventDate,sellRank,hasUpsells.
+ * <p>
+ * Fields are located by their offsets in the buffer. Numbers and booleans are decoded in place and text fields are resolved
+ * through a pool keyed by their bytes, so a line only allocates when it has a value that was not seen before in the range.
+ * <p>
+ * Fields may be quoted as in RFC 4180, with commas and doubled quotes inside the quotes. The ranges are split on line breaks without
+ * reading the quotes, so a quoted field cannot hold a line break: such a line is rejected instead of being parsed wrongly.
+ */
+final class CsvRangeParser {
+
+    private static final int FIELDS = 9;
+
+    private CsvRangeParser() {
+    }
+
+    static InventoryChunk parse(ByteBuffer range) {
+        InventoryChunk chunk = new InventoryChunk();
+        StringPool strings = new StringPool();
+        int[] fieldStarts = new int[FIELDS + 1];
+        int[] fieldEnds = new int[FIELDS];
+
+        int position = 0;
+        int limit = range.limit();
+        while (position < limit) {
+            int lineStart = position;
+            int field = 0;
+            fieldStarts[field++] = lineStart;
+            boolean quoted = false;
+            while (position < limit && range.get(position) != '\n') {
+                byte b = range.get(position);
+                if (b == '"') {
+                    quoted = !quoted; // A doubled quote inside a quoted field toggles twice.
+                } else if (b == ',' && !quoted) {
+                    if (field < FIELDS) {
+                        fieldStarts[field] = position + 1;
+                    }
+                    field++;
+                }
+                position++;
+            }
+
+            int lineEnd = position;
+            if (lineEnd > lineStart && range.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            position++; // Line break.
+
+            if (lineEnd == lineStart) {
+                continue; // Blank line.
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field in line: " + text(range, lineStart, lineEnd));
+            }
+            if (field != FIELDS) {
+                throw new IllegalArgumentException("Expected " + FIELDS + " fields in line: " + text(range, lineStart, lineEnd));
+            }
+            fieldStarts[FIELDS] = lineEnd + 1;
+
+            unquote(range, fieldStarts, fieldEnds);
+
+            String eventId = string(range, strings, fieldStarts, fieldEnds, 0);
+            if (!chunk.hasEvent(eventId)) {
+                chunk.addEvent(eventId, InventoryChunk.parseEventDate(unescape(text(range, fieldStarts[6], fieldEnds[6]))));
+            }
+
+            chunk.addSeat(eventId,
+                    string(range, strings, fieldStarts, fieldEnds, 1),
+                    string(range, strings, fieldStarts, fieldEnds, 2),
+                    string(range, strings, fieldStarts, fieldEnds, 3),
+                    string(range, strings, fieldStarts, fieldEnds, 4),
+                    SeatStatus.valueOf(string(range, strings, fieldStarts, fieldEnds, 5)),
+                    parseInt(range, fieldStarts[7], fieldEnds[7]),
+                    parseBoolean(range, fieldStarts[8], fieldEnds[8]));
+        }
+        return chunk;
+    }
+
+    /**
+     * Sets the bounds of each field of the line, inside its quotes when it is quoted.
+     */
+    private static void unquote(ByteBuffer range, int[] fieldStarts, int[] fieldEnds) {
+        for (int field = 0; field < FIELDS; field++) {
+            int start = fieldStarts[field];
+            int end = fieldStarts[field + 1] - 1; // Skips the comma, or the line break for the last field.
+            if (end - start >= 2 && range.get(start) == '"' && range.get(end - 1) == '"') {
+                start++;
+                end--;
+            }
+            fieldEnds[field] = end;
+            fieldStarts[field] = start;
+        }
+    }
+
+    /**
+     * @return the text of the field from the pool, or with its doubled quotes unescaped when it has any.
+     */
+    private static String string(ByteBuffer range, StringPool strings, int[] fieldStarts, int[] fieldEnds, int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        for (int position = start; position < end; position++) {
+            if (range.get(position) == '"') {
+                return unescape(text(range, start, end));
+            }
+        }
+        return strings.get(range, start, end);
+    }
+
+    private static String unescape(String field) {
+        return field.replace("\"\"", "\"");
+    }
+
+    private static int parseInt(ByteBuffer range, int start, int end) {
+        boolean negative = end > start && range.get(start) == '-';
+        int position = negative ? start + 1 : start;
+        if (position == end) {
+            throw new NumberFormatException("Empty number: " + text(range, start, end));
+        }
+
+        int value = 0;
+        for (; position < end; position++) {
+            int digit = range.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number: " + text(range, start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Same rule as {@link Boolean#parseBoolean(String)}: only "true", ignoring case, is true.
+     */
+    private static boolean parseBoolean(ByteBuffer range, int start, int end) {
+        if (end - start != 4) {
+            return false;
+        }
+        return (range.get(start) | 0x20) == 't' && (range.get(start + 1) | 0x20) == 'r' && (range.get(start + 2) | 0x20) == 'u'
+                && (range.get(start + 3) | 0x20) == 'e';
+    }
+
+    private static String text(ByteBuffer range, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        range.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open addressing table from field bytes to the String already created for them.
+     */
+    private static final class StringPool {
+
+        private byte[][] keys = new byte[1024][];
+        private String[] values = new String[1024];
+        private int size;
+
+        String get(ByteBuffer range, int start, int end) {
+            int mask = keys.length - 1;
+            int slot = hash(range, start, end) & mask;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], range, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            byte[] key = new byte[end - start];
+            range.get(start, key);
+            String value = new String(key, StandardCharsets.UTF_8);
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return value;
+        }
+
+        private void resize() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldValues.length * 2];
+
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    ByteBuffer key = ByteBuffer.wrap(oldKeys[i]);
+                    int slot = hash(key, 0, oldKeys[i].length) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int hash(ByteBuffer buffer, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer range, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != range.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
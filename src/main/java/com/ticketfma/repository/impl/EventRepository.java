@@ -1,25 +1,54 @@
 package com.ticketfma.repository.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Repository;
 
-import com.ticketfma.exception.SeatNotFoundException;
-import com.ticketfma.exception.SeatUnavailableException;
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.EventNotFoundException;
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.EventPage;
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.ReservationResult;
 import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatKey;
+import com.ticketfma.model.dto.ReservationRequest;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.ReservationOutcome;
 import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.model.enums.SortOrder;
 import com.ticketfma.repository.IEventRepository;
+import com.ticketfma.repository.impl.InventorySnapshot.Contents;
+import com.ticketfma.repository.impl.InventorySnapshot.Hold;
+import com.ticketfma.repository.impl.SeatJournal.JournalRecord;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -30,104 +59,1091 @@ import lombok.extern.slf4j.Slf4j;
 @Repository
 public class EventRepository implements IEventRepository {
 
-    private static final String SORT_BY_NAME = "name";
-    private static final String SORT_BY_DATE = "date";
     private final CsvDataLoader csvDataLoader;
-    private final List<Event> events = new ArrayList<>();
-    private final ConcurrentHashMap<String, List<Seat>> eventSeats = new ConcurrentHashMap<>();
-    @Getter private final ConcurrentHashMap<String, Lock> eventLocks = new ConcurrentHashMap<>();
-    @Getter private final ConcurrentHashMap<String, AtomicInteger> lockCounts = new ConcurrentHashMap<>();
+    private final ReservationProperties reservationProperties;
+    private final SeatJournal seatJournal;
+    private final InventorySnapshot inventorySnapshot;
+    private final MeterRegistry meterRegistry;
+    private volatile EventViews eventViews = EventViews.of(List.of());
+    private final ConcurrentHashMap<String, SeatInventory> eventInventories = new ConcurrentHashMap<>();
+    // The counts of an event are replaced together with its inventory, under the write lock of the event.
+    private final ConcurrentHashMap<String, SeatCounts> eventCounts = new ConcurrentHashMap<>();
+    // Each event gets its lock when it is loaded and keeps it, so all reservations for an event always share the same lock.
+    @Getter private final ConcurrentHashMap<String, ReentrantLock> eventLocks = new ConcurrentHashMap<>();
+    // Stripes live as long as the application; there is one per section or level of each event.
+    private final ConcurrentHashMap<Stripe, Lock> stripeLocks = new ConcurrentHashMap<>();
+    // Status changes of an event share its read lock; a reload takes the write lock only to swap the seats of the event, and a snapshot to
+    // copy them. Reads never lock.
+    private final ConcurrentHashMap<String, InventoryLock> inventoryLocks = new ConcurrentHashMap<>();
+    // One set per reservation mode, not per event, so the number of series does not grow with the events, nor with each reload.
+    private final ConcurrentHashMap<ReservationProperties.Mode, ReservationMeters> reservationMeters = new ConcurrentHashMap<>();
+    // Every successful reservation is scheduled here once, to go back to OPEN when its hold TTL is over.
+    private volatile TimingWheel<ExpiringHold> holdExpiry;
+    // Holds that neither expired nor were sold in full, by id. A confirmation can only sell the seats of the hold it names.
+    private final ConcurrentHashMap<String, ExpiringHold> holds = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void loadCsvData() {
-        csvDataLoader.loadCsvData();
-        events.addAll(csvDataLoader.getEvents());
-        eventSeats.putAll(csvDataLoader.getEventSeats());
+        // The CSV is only parsed when there is no snapshot to start from.
+        Optional<Contents> snapshot = inventorySnapshot.load();
+        if (snapshot.isPresent()) {
+            eventViews = EventViews.of(snapshot.get().events());
+            eventInventories.putAll(snapshot.get().eventInventories());
+        } else {
+            csvDataLoader.loadCsvData();
+            eventViews = EventViews.of(csvDataLoader.getEvents());
+            eventInventories.putAll(csvDataLoader.getEventInventories());
+            csvDataLoader.clear();
+        }
+        eventInventories.keySet().forEach(this::createLocks);
+        Gauge.builder("ticketfma.event.lock.queue", eventLocks, locks -> locks.values().stream().mapToInt(ReentrantLock::getQueueLength).sum())
+                .description("Threads waiting for the lock of an event, all events together")
+                .register(meterRegistry);
+        holdExpiry = new TimingWheel<>(reservationProperties.getHoldExpiryTick().toMillis(), System.currentTimeMillis());
+        snapshot.ifPresent(contents -> contents.holds().forEach(hold -> registerHold(new ExpiringHold(hold.holdId(), hold.eventId(),
+                eventInventories.get(hold.eventId()), hold.positions(), hold.deadlineMillis()))));
+
+        if (seatJournal.isEnabled()) {
+            replayJournal(snapshot.map(Contents::journalPosition).orElse(0L));
+            seatJournal.start();
+        }
+        // Counted once the journal brought the seats back to their status, so the replay does not need to count.
+        eventInventories.entrySet().parallelStream().forEach(entry -> eventCounts.put(entry.getKey(), SeatCounts.of(entry.getValue())));
     }
 
     @Override
     public boolean eventExists(String eventId) {
-        return eventSeats.containsKey(eventId);
+        return eventInventories.containsKey(eventId);
     }
 
     @Override
     public boolean seatExists(String eventId, String seatNumber, String row, String level, String section) {
-        return eventSeats.get(eventId).stream()
-                .anyMatch(seat -> seat.getSeatNumber().equals(seatNumber) && seat.getRow().equals(row) && seat.getLevel().equals(level) && seat.getSection()
-                        .equals(section));
+        return inventory(eventId).find(seatNumber, row, level, section) != SeatInventory.NOT_FOUND;
     }
 
     @Override
     public boolean seatAvailable(String eventId, String seatNumber, String row, String level, String section) {
-        return eventSeats.get(eventId).stream()
-                .anyMatch(seat -> seat.getSeatNumber().equals(seatNumber) && seat.getRow().equals(row) && seat.getLevel().equals(level) && seat.getSection()
-                        .equals(section) && seat.getStatus() == SeatStatus.OPEN);
+        SeatInventory inventory = inventory(eventId);
+        int position = inventory.find(seatNumber, row, level, section);
+        return position != SeatInventory.NOT_FOUND && inventory.getStatus(position) == SeatStatus.OPEN;
     }
 
     @Override
     public List<Event> getAllEvents(String sortBy) {
-        return events.stream()
-                .sorted((e1, e2) -> {
-                    if (sortBy != null) {
-                        if (SORT_BY_NAME.equalsIgnoreCase(sortBy)) {
-                            return e1.getName().compareTo(e2.getName());
-                        } else if (SORT_BY_DATE.equalsIgnoreCase(sortBy)) {
-                            return e1.getEventDate().compareTo(e2.getEventDate());
-                        }
-                    }
-                    return 0;
-                })
-                .collect(Collectors.toList());
+        return eventViews.sorted(EventSort.from(sortBy));
+    }
+
+    /**
+     * Keyset pagination over the sorted views: the page starts right after the cursor, found by binary search, so a page costs
+     * O(log n + limit) whatever the number of events. Descending pages walk the same views backwards.
+     */
+    @Override
+    public EventPage getEventPage(EventSort sort, SortOrder order, EventCursor after, int limit) {
+        EventViews views = eventViews;
+        List<Event> events = views.sorted(sort);
+        List<Event> page;
+        boolean hasNext;
+        if (order == SortOrder.ASC) {
+            int from = after == null ? 0 : views.indexAfter(sort, after);
+            int to = from + Math.min(limit, events.size() - from);
+            page = events.subList(from, to);
+            hasNext = to < events.size();
+        } else {
+            int to = after == null ? events.size() : views.indexBefore(sort, after);
+            int from = to - Math.min(limit, to);
+            page = events.subList(from, to).reversed();
+            hasNext = from > 0;
+        }
+
+        EventCursor next = null;
+        if (hasNext) {
+            Event last = page.getLast();
+            next = EventCursor.builder()
+                    .sort(sort)
+                    .order(order)
+                    .eventId(last.getEventId())
+                    .name(last.getName())
+                    .eventDate(last.getEventDate())
+                    .build();
+        }
+        return EventPage.builder().events(page).next(next).build();
+    }
+
+    /**
+     * Served by the indexes built with each set of events, so neither a date range nor a name prefix scans all the events.
+     */
+    @Override
+    public List<Event> searchEvents(LocalDate from, LocalDate to, String namePrefix) {
+        return eventViews.searchIndex().search(from, to, namePrefix);
     }
 
     @Override
     public Optional<Seat> getSeat(String eventId, String seatNumber, String row, String level, String section) {
-        return eventSeats.get(eventId).stream()
-                .filter(seat -> seat.getSeatNumber().equals(seatNumber) && seat.getRow().equals(row) && seat.getLevel().equals(level) && seat.getSection()
-                        .equals(section))
-                .findFirst();
+        SeatInventory inventory = inventory(eventId);
+        int position = inventory.find(seatNumber, row, level, section);
+        return position == SeatInventory.NOT_FOUND ? Optional.empty() : Optional.of(inventory.getSeat(position));
     }
 
     @Override
     public List<Seat> getBestSeats(String eventId, int quantity) {
-        return eventSeats.get(eventId).stream()
-                .filter(seat -> seat.getStatus() == SeatStatus.OPEN)
-                .sorted(Comparator.comparingInt(Seat::getSellRank)) // Best rank first.
-                .limit(quantity)
-                .collect(Collectors.toList());
+        return inventory(eventId).getBestSeats(quantity);
     }
 
+    /**
+     * Read from the counters the status changes keep up to date, without scanning the seats.
+     */
     @Override
-    public void reserveSeats(String eventId, List<SeatRequest> seatRequests) {
-        Lock eventLock = eventLocks.computeIfAbsent(eventId, id -> new ReentrantLock());
-        AtomicInteger lockCount = lockCounts.computeIfAbsent(eventId, id -> new AtomicInteger(0));
-        lockCount.incrementAndGet();
-        eventLock.lock();
+    public EventAvailability getAvailability(String eventId) {
+        SeatCounts counts = eventCounts.get(eventId);
+        if (counts == null) {
+            throw new EventNotFoundException(eventId);
+        }
+        return counts.toAvailability(eventId);
+    }
+
+    /**
+     * Reads the seats of the event once. A caller checks that the event exists first, but a reload may remove it right after the check.
+     *
+     * @throws EventNotFoundException when the event does not exist, or no longer does.
+     */
+    private SeatInventory inventory(String eventId) {
+        SeatInventory inventory = eventInventories.get(eventId);
+        if (inventory == null) {
+            throw new EventNotFoundException(eventId);
+        }
+        return inventory;
+    }
+
+    /**
+     * Finds, checks and holds the seats in one pass, under the concurrency control of the configured reservation mode.
+     */
+    @Override
+    public ReservationResult reserveSeats(String eventId, List<SeatRequest> seatRequests) {
+        seatJournal.checkWritable();
+        return changeGroup(eventId, List.of(seatRequests), Transition.RESERVE, null).getFirst();
+    }
+
+    /**
+     * Groups the reservations by event, so each event is locked (or swept with compare-and-set) once for all its reservations. The
+     * reservations of an event are applied in the order they were given, each one all or nothing. Every event must exist. The journal is
+     * checked once, before any event, so a journal failing meanwhile cannot fail the batch after some events were already changed.
+     *
+     * @return the result of each reservation, in the order of the given reservations.
+     */
+    @Override
+    public List<ReservationResult> reserveSeats(List<ReservationRequest> reservationRequests) {
+        seatJournal.checkWritable();
+
+        Map<String, List<Integer>> indexesByEvent = new LinkedHashMap<>();
+        for (int i = 0; i < reservationRequests.size(); i++) {
+            indexesByEvent.computeIfAbsent(reservationRequests.get(i).getEventId(), eventId -> new ArrayList<>()).add(i);
+        }
+
+        ReservationResult[] results = new ReservationResult[reservationRequests.size()];
+        indexesByEvent.forEach((eventId, indexes) -> {
+            List<List<SeatRequest>> group = indexes.stream().map(i -> reservationRequests.get(i).getSeats()).toList();
+            List<ReservationResult> groupResults = changeGroup(eventId, group, Transition.RESERVE, null);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Sells seats of a hold, all or nothing, under the same concurrency control as the reservations. A seat that is not in the hold, or a
+     * hold that expired or was already sold, makes the confirmation fail. The hold stays locked meanwhile, so its expiry releases the seats
+     * either before the confirmation, which then fails, or after it, and then leaves the sold seats alone. Once every seat of the hold is
+     * sold, the hold is gone.
+     */
+    @Override
+    public ReservationResult confirmSeats(String eventId, String holdId, List<SeatRequest> seatRequests) {
+        seatJournal.checkWritable();
+
+        ExpiringHold hold = holdId == null ? null : holds.get(holdId);
+        if (hold != null && hold.eventId().equals(eventId)) {
+            hold.lock().lock();
+            try {
+                // Checked again under the lock: the hold may have expired or been sold in full meanwhile.
+                if (holds.get(holdId) == hold) {
+                    return changeGroup(eventId, List.of(seatRequests), Transition.CONFIRM, hold).getFirst();
+                }
+            } finally {
+                hold.lock().unlock();
+            }
+        }
+        return changeGroup(eventId, List.of(seatRequests), Transition.CONFIRM, null).getFirst();
+    }
+
+    /**
+     * The callers check the journal first: a change the journal cannot keep would be lost on restart, so none is made. Holds still
+     * expire: a restart expires them again.
+     *
+     * @param hold the hold a confirmation sells seats of, or null for a reservation, and for a confirmation whose hold is unknown, which
+     *             then sells nothing.
+     */
+    private List<ReservationResult> changeGroup(String eventId, List<List<SeatRequest>> group, Transition transition, ExpiringHold hold) {
+        InventoryLock inventoryLock = inventoryLocks.get(eventId);
+        if (inventoryLock == null) {
+            return changeGroup(eventId, null, group, transition, hold);
+        }
+        int cell = inventoryLock.readLock();
+        try {
+            return changeGroup(eventId, liveInventory(eventId, inventoryLock), group, transition, hold);
+        } finally {
+            inventoryLock.unlockRead(cell);
+        }
+    }
+
+    private List<ReservationResult> changeGroup(String eventId, SeatInventory inventory, List<List<SeatRequest>> group,
+            Transition transition, ExpiringHold hold) {
+        List<Change> changes = new ArrayList<>(group.size());
+        List<Change> pending = new ArrayList<>(group.size());
+        int[] heldPositions = transition != Transition.CONFIRM ? null
+                : hold == null || inventory == null ? new int[0] : hold.positionsIn(inventory);
+
+        for (List<SeatRequest> seatRequests : group) {
+            Change change = new Change(seatRequests, findPositions(inventory, seatRequests), new ReservationOutcome[seatRequests.size()]);
+            changes.add(change);
+
+            // A request with a missing seat, or with a seat out of the hold it confirms, can never succeed, so it does not need any lock.
+            if (Arrays.stream(change.positions()).anyMatch(position -> position == SeatInventory.NOT_FOUND)) {
+                checkStatus(inventory, change, transition);
+            } else if (heldPositions == null || checkHeld(inventory, change, heldPositions)) {
+                pending.add(change);
+            }
+        }
+
+        Map<Change, String> holdIds = Map.of();
+
+        if (!pending.isEmpty()) {
+            switch (reservationProperties.getMode()) {
+                case EVENT_LOCK, QUEUE -> changeWithEventLock(eventId, inventory, pending, transition);
+                case SECTION_LOCK -> changeWithStripeLocks(eventId, inventory, pending, transition, inventory::getSection);
+                case LEVEL_LOCK -> changeWithStripeLocks(eventId, inventory, pending, transition, inventory::getLevel);
+                case COMPARE_AND_SET -> pending.forEach(change -> changeWithCompareAndSet(inventory, change, transition));
+            }
+
+            SeatCounts counts = eventCounts.get(eventId);
+            pending.stream()
+                    .filter(Change::isApplied)
+                    .flatMapToInt(Change::distinctPositions)
+                    .forEach(position -> counts.move(inventory, position, transition.from, transition.to));
+            if (transition == Transition.RESERVE) {
+                holdIds = registerHolds(eventId, inventory, pending);
+            } else if (hold != null && pending.stream().anyMatch(Change::isApplied)
+                    && Arrays.stream(heldPositions).noneMatch(position -> inventory.getStatus(position) == SeatStatus.HOLD)) {
+                holds.remove(hold.holdId(), hold);
+            }
+            if (seatJournal.isEnabled()) {
+                Map<Change, String> appliedHoldIds = holdIds;
+                pending.stream()
+                        .filter(Change::isApplied)
+                        .forEach(change -> seatJournal.append(eventId, transition.from, transition.to, change.distinctSeats(),
+                                hold == null ? appliedHoldIds.get(change) : hold.holdId()));
+            }
+        }
+
+        Map<ReservationOutcome, Counter> outcomes = reservationMeters().outcomes().get(transition);
+        changes.forEach(change -> outcomes.get(change.outcome()).increment());
+        Map<Change, String> resultHoldIds = holdIds;
+        return changes.stream().map(change -> change.toResult(resultHoldIds.get(change))).toList();
+    }
+
+    /**
+     * Gives each applied reservation its own hold, which expires at the end of the hold TTL, if there is one.
+     *
+     * @return the id of the hold of each applied reservation.
+     */
+    private Map<Change, String> registerHolds(String eventId, SeatInventory inventory, List<Change> changes) {
+        long holdTtlMillis = reservationProperties.getHoldTtl().toMillis();
+        long deadline = holdTtlMillis > 0 ? System.currentTimeMillis() + holdTtlMillis : 0;
+        Map<Change, String> holdIds = new IdentityHashMap<>();
+        for (Change change : changes) {
+            if (change.isApplied()) {
+                ExpiringHold hold = new ExpiringHold(UUID.randomUUID().toString(), eventId, inventory, change.distinctPositions().toArray(),
+                        deadline);
+                registerHold(hold);
+                holdIds.put(change, hold.holdId());
+            }
+        }
+        return holdIds;
+    }
+
+    private void registerHold(ExpiringHold hold) {
+        if (holds.putIfAbsent(hold.holdId(), hold) == null && hold.deadlineMillis() > 0) {
+            holdExpiry.schedule(hold, hold.deadlineMillis());
+        }
+    }
+
+    /**
+     * Puts the seats of every hold whose TTL is over back to OPEN, which also puts them back in the best seats ordering. A seat that is no
+     * longer on HOLD (it was sold in the meantime) is left as it is.
+     * <p>
+     * Each hold is released under its own lock, which a confirmation of the hold takes too, so a seat is never sold and released at once.
+     * The release takes none of the locks of the reservation modes: a reservation that finds a seat on HOLD just before its release fails,
+     * as if it came a moment earlier. The confirmations still sell with a compare-and-set, so a seat released any other way is not sold.
+     *
+     * @return the number of seats released.
+     */
+    @Override
+    public int releaseExpiredHolds(long nowMillis) {
+        int[] released = new int[1];
+        holdExpiry.advance(nowMillis, expiringHold -> {
+            expiringHold.lock().lock();
+            try {
+                released[0] += releaseSeats(expiringHold);
+            } finally {
+                expiringHold.lock().unlock();
+            }
+        });
 
+        if (released[0] > 0) {
+            log.info("Released {} seats whose hold expired", released[0]);
+        }
+        return released[0];
+    }
+
+    /**
+     * Releases the seats of the hold and journals them under the inventory read lock, like any other status change, so a snapshot never
+     * sees the seats released without their record before its journal position.
+     *
+     * @return the number of seats released.
+     */
+    private int releaseSeats(ExpiringHold expiringHold) {
+        InventoryLock inventoryLock = inventoryLocks.get(expiringHold.eventId());
+        if (inventoryLock == null) {
+            holds.remove(expiringHold.holdId(), expiringHold);
+            return 0;
+        }
+        int cell = inventoryLock.readLock();
         try {
-            for (SeatRequest seatRequest : seatRequests) {
-                if (!seatAvailable(eventId, seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection())) {
-                    log.warn("Seat '{}' in row '{}' in level '{}' in section '{}' is already reserved", seatRequest.getSeatNumber(), seatRequest.getRow(),
-                            seatRequest.getLevel(), seatRequest.getSection());
-                    throw new SeatUnavailableException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
+            SeatInventory inventory = liveInventory(expiringHold.eventId(), inventoryLock);
+            // A hold sold in full, or of an event removed by a reload, is gone already.
+            if (inventory == null || !holds.remove(expiringHold.holdId(), expiringHold)) {
+                return 0;
+            }
+            SeatCounts counts = eventCounts.get(expiringHold.eventId());
+            List<SeatKey> releasedSeats = new ArrayList<>(expiringHold.positions().length);
+            for (int position : expiringHold.positionsIn(inventory)) {
+                if (inventory.compareAndSetStatus(position, SeatStatus.HOLD, SeatStatus.OPEN)) {
+                    counts.move(inventory, position, SeatStatus.HOLD, SeatStatus.OPEN);
+                    releasedSeats.add(SeatKey.of(inventory.getSeat(position)));
                 }
+            }
+            if (!releasedSeats.isEmpty() && seatJournal.isEnabled()) {
+                seatJournal.append(expiringHold.eventId(), SeatStatus.HOLD, SeatStatus.OPEN, releasedSeats, expiringHold.holdId());
+            }
+            return releasedSeats.size();
+        } finally {
+            inventoryLock.unlockRead(cell);
+        }
+    }
+
+    /**
+     * Reads the inventory again and applies only what changed, event by event, while reservations go on:
+     * <ul>
+     * <li>a new event is added, and an event missing from the new inventory is removed;</li>
+     * <li>an event with the same seats (coordinates, order, sellRank, upsells) keeps its inventory, and only the seats whose status changed
+     * are updated;</li>
+     * <li>an event whose seats changed gets a new inventory, built aside and swapped in.</li>
+     * </ul>
+     * A seat on HOLD or SOLD keeps its live status, so reservations in progress survive the reload; an OPEN seat takes the status of the new
+     * inventory. Reads never wait. Status changes of an event only wait while its seats are swapped or updated, not while the new inventory
+     * is read or built.
+     */
+    @Override
+    public synchronized InventoryReload reloadInventory() {
+        long start = System.nanoTime();
+        csvDataLoader.reloadCsvData();
+        List<Event> loadedEvents = csvDataLoader.getEvents();
+        Map<String, SeatInventory> loaded = new HashMap<>(csvDataLoader.getEventInventories());
+        csvDataLoader.clear();
+        InventoryReload reload = InventoryReload.builder().build();
 
-                Optional<Seat> optionalSeat = getSeat(eventId, seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(),
-                        seatRequest.getSection());
-                if (optionalSeat.isPresent()) {
-                    Seat seat = optionalSeat.get();
-                    seat.setStatus(SeatStatus.HOLD);
+        loaded.forEach((eventId, loadedInventory) -> {
+            SeatInventory current = eventInventories.get(eventId);
+            if (current == null) {
+                createLocks(eventId);
+                eventCounts.put(eventId, SeatCounts.of(loadedInventory));
+                eventInventories.put(eventId, loadedInventory);
+                reload.setAddedEvents(reload.getAddedEvents() + 1);
+            } else if (haveSameSeats(current, loadedInventory)) {
+                int updatedSeats = updateStatuses(eventId, current, loadedInventory);
+                if (updatedSeats > 0) {
+                    reload.setUpdatedEvents(reload.getUpdatedEvents() + 1);
+                    reload.setUpdatedSeats(reload.getUpdatedSeats() + updatedSeats);
                 } else {
-                    throw new SeatNotFoundException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
+                    reload.setUnchangedEvents(reload.getUnchangedEvents() + 1);
+                }
+            } else {
+                replaceSeats(eventId, current, loadedInventory);
+                reload.setReplacedEvents(reload.getReplacedEvents() + 1);
+            }
+        });
+
+        // The new events are listed once their seats are in, and the removed events are delisted before their seats go.
+        eventViews = EventViews.of(loadedEvents);
+        for (String eventId : List.copyOf(eventInventories.keySet())) {
+            if (!loaded.containsKey(eventId)) {
+                InventoryLock inventoryLock = inventoryLocks.get(eventId);
+                inventoryLock.writeLock();
+                try {
+                    eventInventories.remove(eventId);
+                    eventCounts.remove(eventId);
+                    holds.values().removeIf(hold -> hold.eventId().equals(eventId));
+                    // A change waiting for the lock finds it gone once it gets it, and sees no seats.
+                    inventoryLocks.remove(eventId);
+                } finally {
+                    inventoryLock.unlockWrite();
+                }
+                // Nothing takes the event or stripe locks without a seat of the event, and it has none left.
+                eventLocks.remove(eventId);
+                stripeLocks.keySet().removeIf(stripe -> stripe.eventId().equals(eventId));
+                reload.setRemovedEvents(reload.getRemovedEvents() + 1);
+            }
+        }
+
+        log.info("Reloaded the inventory in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), reload);
+        // The reload is applied already: a snapshot that cannot be written is only logged, and the next periodic one tries again.
+        try {
+            writeSnapshot();
+        } catch (UncheckedIOException e) {
+            log.error("Failed to write the inventory snapshot after the reload", e);
+        }
+        return reload;
+    }
+
+    /**
+     * @return the seats of the event, or null when a reload removed the event, and its lock, before the lock was taken. The event may
+     *         have been added again since, with another lock.
+     */
+    private SeatInventory liveInventory(String eventId, InventoryLock inventoryLock) {
+        return inventoryLocks.get(eventId) == inventoryLock ? eventInventories.get(eventId) : null;
+    }
+
+    private void createLocks(String eventId) {
+        eventLocks.putIfAbsent(eventId, new ReentrantLock());
+        inventoryLocks.putIfAbsent(eventId, new InventoryLock());
+    }
+
+    private ReservationMeters reservationMeters() {
+        return reservationMeters.computeIfAbsent(reservationProperties.getMode(), this::createReservationMeters);
+    }
+
+    private ReservationMeters createReservationMeters(ReservationProperties.Mode mode) {
+        String modeTag = mode.name().toLowerCase().replace('_', '-');
+        Map<Transition, Map<ReservationOutcome, Counter>> outcomes = new EnumMap<>(Transition.class);
+        for (Transition transition : Transition.values()) {
+            Map<ReservationOutcome, Counter> counters = new EnumMap<>(ReservationOutcome.class);
+            for (ReservationOutcome outcome : List.of(ReservationOutcome.RESERVED, ReservationOutcome.UNAVAILABLE, ReservationOutcome.NOT_FOUND)) {
+                counters.put(outcome, Counter.builder("ticketfma.reservations")
+                        .description("Reservations and confirmations, by outcome")
+                        .tag("mode", modeTag)
+                        .tag("operation", transition.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            outcomes.put(transition, counters);
+        }
+
+        return new ReservationMeters(
+                Timer.builder("ticketfma.event.lock.wait")
+                        .description("Time spent waiting for the locks of an event")
+                        .tag("mode", modeTag)
+                        .register(meterRegistry),
+                Timer.builder("ticketfma.event.lock.hold")
+                        .description("Time the locks of an event are held")
+                        .tag("mode", modeTag)
+                        .register(meterRegistry),
+                outcomes);
+    }
+
+    private static boolean haveSameSeats(SeatInventory current, SeatInventory loaded) {
+        if (current.size() != loaded.size()) {
+            return false;
+        }
+        for (int position = 0; position < current.size(); position++) {
+            Seat currentSeat = current.getSeat(position);
+            Seat loadedSeat = loaded.getSeat(position);
+            if (!SeatKey.of(currentSeat).equals(SeatKey.of(loadedSeat)) || currentSeat.getSellRank() != loadedSeat.getSellRank()
+                    || currentSeat.isHasUpsells() != loadedSeat.isHasUpsells()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the OPEN seats that are no longer OPEN in the new inventory. They are found without the lock, then checked again under it.
+     *
+     * @return the number of seats updated.
+     */
+    private int updateStatuses(String eventId, SeatInventory current, SeatInventory loaded) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int position = 0; position < current.size(); position++) {
+            if (current.getStatus(position) == SeatStatus.OPEN && loaded.getStatus(position) != SeatStatus.OPEN) {
+                candidates.add(position);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        SeatCounts counts = eventCounts.get(eventId);
+        InventoryLock inventoryLock = inventoryLocks.get(eventId);
+        inventoryLock.writeLock();
+        try {
+            for (int position : candidates) {
+                if (current.getStatus(position) == SeatStatus.OPEN) {
+                    current.setStatus(position, loaded.getStatus(position));
+                    counts.move(current, position, SeatStatus.OPEN, loaded.getStatus(position));
+                    updated++;
                 }
             }
         } finally {
+            inventoryLock.unlockWrite();
+        }
+        return updated;
+    }
+
+    /**
+     * Gives the new inventory the live statuses of the seats it keeps, then swaps it in. The statuses are copied once without the lock, and
+     * under the lock only the seats that changed meanwhile are copied again.
+     */
+    private void replaceSeats(String eventId, SeatInventory current, SeatInventory loaded) {
+        int[] currentPositions = new int[loaded.size()];
+        byte[] loadedStatuses = new byte[loaded.size()];
+        byte[] copiedStatuses = new byte[loaded.size()];
+        for (int position = 0; position < loaded.size(); position++) {
+            SeatKey seat = SeatKey.of(loaded.getSeat(position));
+            currentPositions[position] = current.find(seat.seatNumber(), seat.row(), seat.level(), seat.section());
+            loadedStatuses[position] = (byte) loaded.getStatus(position).ordinal();
+            if (currentPositions[position] != SeatInventory.NOT_FOUND) {
+                copiedStatuses[position] = (byte) current.getStatus(currentPositions[position]).ordinal();
+                mergeStatus(loaded, position, loadedStatuses[position], copiedStatuses[position]);
+            }
+        }
+
+        SeatCounts counts = SeatCounts.of(loaded);
+        InventoryLock inventoryLock = inventoryLocks.get(eventId);
+        inventoryLock.writeLock();
+        try {
+            for (int position = 0; position < loaded.size(); position++) {
+                if (currentPositions[position] != SeatInventory.NOT_FOUND) {
+                    byte liveStatus = (byte) current.getStatus(currentPositions[position]).ordinal();
+                    if (liveStatus != copiedStatuses[position]) {
+                        SeatStatus previous = loaded.getStatus(position);
+                        mergeStatus(loaded, position, loadedStatuses[position], liveStatus);
+                        if (loaded.getStatus(position) != previous) {
+                            counts.move(loaded, position, previous, loaded.getStatus(position));
+                        }
+                    }
+                }
+            }
+            eventCounts.put(eventId, counts);
+            eventInventories.put(eventId, loaded);
+        } finally {
+            inventoryLock.unlockWrite();
+        }
+    }
+
+    private static void mergeStatus(SeatInventory loaded, int position, byte loadedStatus, byte liveStatus) {
+        SeatStatus status = SeatStatus.values()[liveStatus == SeatStatus.OPEN.ordinal() ? loadedStatus : liveStatus];
+        if (loaded.getStatus(position) != status) {
+            loaded.setStatus(position, status);
+        }
+    }
+
+    /**
+     * Writes the statuses of every seat and the pending holds to the snapshot, when it is enabled. They are copied at one cut: with the
+     * write lock of every event held, no status changes and every change made so far has its journal record queued, so once the journal
+     * is flushed, its length is exactly where the copied statuses stop. Status changes only wait for the flush and the copy; the snapshot is
+     * written to disk once the locks are released.
+     */
+    @Override
+    public synchronized void writeSnapshot() {
+        if (!inventorySnapshot.isEnabled()) {
+            return;
+        }
+
+        List<Event> events = eventViews.unsorted();
+        Map<String, SeatInventory> inventories = new HashMap<>();
+        Map<String, byte[]> statuses = new HashMap<>();
+        List<Hold> pendingHolds;
+        long journalPosition;
+        List<String> eventIds = events.stream().map(Event::getEventId).sorted().toList();
+        eventIds.forEach(eventId -> inventoryLocks.get(eventId).writeLock());
+        try {
+            journalPosition = seatJournal.flush();
+            for (String eventId : eventIds) {
+                SeatInventory inventory = eventInventories.get(eventId);
+                inventories.put(eventId, inventory);
+                statuses.put(eventId, InventorySnapshot.copyStatuses(inventory));
+            }
+            pendingHolds = pendingHolds();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while flushing the journal, the snapshot is not written");
+            return;
+        } finally {
+            eventIds.forEach(eventId -> inventoryLocks.get(eventId).unlockWrite());
+        }
+
+        try {
+            inventorySnapshot.write(events, inventories, statuses, pendingHolds, journalPosition);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing the inventory snapshot", e);
+        }
+    }
+
+    private List<Hold> pendingHolds() {
+        List<Hold> pendingHolds = new ArrayList<>();
+        holds.values().forEach(hold -> {
+            SeatInventory inventory = eventInventories.get(hold.eventId());
+            if (inventory != null) {
+                pendingHolds.add(new Hold(hold.holdId(), hold.eventId(), hold.deadlineMillis(), hold.positionsIn(inventory)));
+            }
+        });
+        return pendingHolds;
+    }
+
+    /**
+     * Brings the seats back to the status they had before the restart. The records of two changes of the same seat may be out of order
+     * in the journal, because the change and its record are not atomic (a hold released by its TTL and taken again right away, for
+     * example). Their order does not matter, though: the changes of a seat form a path from its status in data.csv to its current status,
+     * and the end of a path is the only status the seat entered once more than it left. Holds get their TTL back from the time they were
+     * taken. After a snapshot, only the records from its journal position are replayed, and a seat whose changes cancel out keeps the
+     * status of the snapshot.
+     */
+    private void replayJournal(long fromPosition) {
+        long start = System.nanoTime();
+        Map<JournaledSeat, SeatHistory> histories = new HashMap<>();
+        int records = seatJournal.replay(fromPosition, record -> {
+            SeatInventory inventory = eventInventories.get(record.eventId());
+            if (inventory == null) {
+                return;
+            }
+            for (SeatKey seat : record.seats()) {
+                int position = inventory.find(seat.seatNumber(), seat.row(), seat.level(), seat.section());
+                if (position != SeatInventory.NOT_FOUND) {
+                    histories.computeIfAbsent(new JournaledSeat(record.eventId(), position), key -> new SeatHistory()).add(record);
+                }
+            }
+        });
+
+        // The seats still held are grouped back into their holds. A seat held before holds had ids gets a hold of its own.
+        Map<RestoredHold, List<Integer>> restoredHolds = new HashMap<>();
+        histories.forEach((seat, history) -> {
+            SeatInventory inventory = eventInventories.get(seat.eventId());
+            SeatStatus status = history.currentStatus(inventory.getStatus(seat.position()));
+            inventory.setStatus(seat.position(), status);
+            if (status == SeatStatus.HOLD && history.lastHeldAt > 0) {
+                String holdId = history.lastHoldId != null ? history.lastHoldId : UUID.randomUUID().toString();
+                restoredHolds.computeIfAbsent(new RestoredHold(holdId, seat.eventId(), history.lastHeldAt), key -> new ArrayList<>())
+                        .add(seat.position());
+            }
+        });
+        long holdTtlMillis = reservationProperties.getHoldTtl().toMillis();
+        restoredHolds.forEach((hold, positions) -> registerHold(new ExpiringHold(hold.holdId(), hold.eventId(),
+                eventInventories.get(hold.eventId()), positions.stream().mapToInt(Integer::intValue).toArray(),
+                holdTtlMillis > 0 ? hold.heldAt() + holdTtlMillis : 0)));
+
+        log.info("Replayed {} journal records for {} seats in {} ms.", records, histories.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return the position of each seat, or {@link SeatInventory#NOT_FOUND} for every seat when the inventory is null because a reload
+     *         removed the event since the caller checked it.
+     */
+    private int[] findPositions(SeatInventory inventory, List<SeatRequest> seatRequests) {
+        int[] positions = new int[seatRequests.size()];
+        if (inventory == null) {
+            Arrays.fill(positions, SeatInventory.NOT_FOUND);
+            return positions;
+        }
+        for (int i = 0; i < positions.length; i++) {
+            SeatRequest seatRequest = seatRequests.get(i);
+            positions[i] = inventory.find(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
+        }
+        return positions;
+    }
+
+    private void changeWithEventLock(String eventId, SeatInventory inventory, List<Change> changes, Transition transition) {
+        Lock eventLock = eventLocks.get(eventId);
+        ReservationMeters meters = reservationMeters();
+        long start = System.nanoTime();
+        eventLock.lock();
+        long lockedAt = System.nanoTime();
+
+        long unlockedAt;
+        try {
+            changes.forEach(change -> changeIfAllInStatus(inventory, change, transition));
+        } finally {
+            unlockedAt = System.nanoTime();
             eventLock.unlock();
+        }
+        meters.recordLock(lockedAt - start, unlockedAt - lockedAt);
+    }
+
+    /**
+     * Takes only the locks of the stripes (sections or levels) the seats belong to. The locks are always taken in the order of the stripe
+     * names, so two requests that share stripes cannot wait for each other.
+     */
+    private void changeWithStripeLocks(String eventId, SeatInventory inventory, List<Change> changes, Transition transition,
+            IntFunction<String> stripeOf) {
+        List<Lock> locks = changes.stream()
+                .flatMapToInt(change -> Arrays.stream(change.positions()))
+                .mapToObj(stripeOf)
+                .distinct()
+                .sorted()
+                .map(stripe -> stripeLocks.computeIfAbsent(new Stripe(eventId, stripe), key -> new ReentrantLock()))
+                .toList();
+
+        ReservationMeters meters = reservationMeters();
+        long start = System.nanoTime();
+        long lockedAt = start;
+        long unlockedAt;
+        int locked = 0;
+        try {
+            for (Lock lock : locks) {
+                lock.lock();
+                locked++;
+            }
+            lockedAt = System.nanoTime();
+
+            changes.forEach(change -> changeIfAllInStatus(inventory, change, transition));
+        } finally {
+            unlockedAt = System.nanoTime();
+            for (int i = locked - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+        meters.recordLock(lockedAt - start, unlockedAt - lockedAt);
+    }
+
+    /**
+     * Changes the seats without locking. When a seat was changed by someone else, the seats this request already changed go back, so the
+     * request stays all or nothing. Another request may see those seats changed for that short time.
+     */
+    private void changeWithCompareAndSet(SeatInventory inventory, Change change, Transition transition) {
+        int[] positions = change.positions();
+        for (int i = 0; i < positions.length; i++) {
+            if (!isRepeated(positions, i) && !inventory.compareAndSetStatus(positions[i], transition.from, transition.to)) {
+                for (int j = 0; j < i; j++) {
+                    if (!isRepeated(positions, j)) {
+                        inventory.compareAndSetStatus(positions[j], transition.to, transition.from);
+                    }
+                }
 
-            if (lockCount.decrementAndGet() == 0) {
-                eventLocks.remove(eventId, eventLock);
-                lockCounts.remove(eventId, lockCount);
+                checkStatus(inventory, change, transition);
+                change.outcomes()[i] = ReservationOutcome.UNAVAILABLE;
+                logUnavailable(inventory, positions[i], transition);
+                return;
             }
         }
+
+        Arrays.fill(change.outcomes(), ReservationOutcome.RESERVED);
+    }
+
+    /**
+     * Every seat is checked before the first one is changed, so the request is all or nothing. The caller must hold the locks of the seats.
+     */
+    private void changeIfAllInStatus(SeatInventory inventory, Change change, Transition transition) {
+        if (!checkStatus(inventory, change, transition)) {
+            return;
+        }
+        // The expiry of holds takes none of these locks, so a held seat may go back to OPEN right after the check.
+        if (transition.from == SeatStatus.HOLD) {
+            changeWithCompareAndSet(inventory, change, transition);
+            return;
+        }
+
+        for (int position : change.positions()) {
+            inventory.setStatus(position, transition.to);
+        }
+        Arrays.fill(change.outcomes(), ReservationOutcome.RESERVED);
+    }
+
+    /**
+     * Fills the outcome of every seat as if the request failed.
+     *
+     * @return true when every seat exists and is in the status the transition starts from.
+     */
+    private boolean checkStatus(SeatInventory inventory, Change change, Transition transition) {
+        int[] positions = change.positions();
+        ReservationOutcome[] outcomes = change.outcomes();
+        boolean allInStatus = true;
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] == SeatInventory.NOT_FOUND) {
+                outcomes[i] = ReservationOutcome.NOT_FOUND;
+                allInStatus = false;
+            } else if (inventory.getStatus(positions[i]) != transition.from) {
+                outcomes[i] = ReservationOutcome.UNAVAILABLE;
+                logUnavailable(inventory, positions[i], transition);
+                allInStatus = false;
+            } else {
+                outcomes[i] = ReservationOutcome.NOT_RESERVED;
+            }
+        }
+        return allInStatus;
+    }
+
+    /**
+     * Fills the outcome of every seat as if the request failed.
+     *
+     * @return true when every seat is in the hold the request confirms.
+     */
+    private boolean checkHeld(SeatInventory inventory, Change change, int[] heldPositions) {
+        int[] positions = change.positions();
+        ReservationOutcome[] outcomes = change.outcomes();
+        boolean allHeld = true;
+        for (int i = 0; i < positions.length; i++) {
+            if (contains(heldPositions, positions[i])) {
+                outcomes[i] = ReservationOutcome.NOT_RESERVED;
+            } else {
+                outcomes[i] = ReservationOutcome.UNAVAILABLE;
+                logUnavailable(inventory, positions[i], Transition.CONFIRM);
+                allHeld = false;
+            }
+        }
+        return allHeld;
+    }
+
+    private static boolean contains(int[] positions, int position) {
+        for (int candidate : positions) {
+            if (candidate == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true when the same seat appears earlier in the request.
+     */
+    private static boolean isRepeated(int[] positions, int index) {
+        for (int i = 0; i < index; i++) {
+            if (positions[i] == positions[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void logUnavailable(SeatInventory inventory, int position, Transition transition) {
+        if (log.isWarnEnabled()) {
+            Seat seat = inventory.getSeat(position);
+            log.warn("Seat '{}' in row '{}' in level '{}' in section '{}' {}", seat.getSeatNumber(), seat.getRow(), seat.getLevel(),
+                    seat.getSection(), transition.unavailable);
+        }
+    }
+
+    /**
+     * The status changes a request can make, all or nothing, on its seats.
+     */
+    private enum Transition {
+        RESERVE(SeatStatus.OPEN, SeatStatus.HOLD, "is already reserved"),
+        CONFIRM(SeatStatus.HOLD, SeatStatus.SOLD, "is not in the hold");
+
+        private final SeatStatus from;
+        private final SeatStatus to;
+        private final String unavailable;
+
+        Transition(SeatStatus from, SeatStatus to, String unavailable) {
+            this.from = from;
+            this.to = to;
+            this.unavailable = unavailable;
+        }
+    }
+
+    /**
+     * Seats held together, with the inventory their positions refer to and the deadline of their TTL, or zero when they have no TTL. The
+     * lock keeps the confirmations and the expiry of the hold apart.
+     */
+    private record ExpiringHold(String holdId, String eventId, SeatInventory inventory, int[] positions, long deadlineMillis,
+            ReentrantLock lock) {
+
+        ExpiringHold(String holdId, String eventId, SeatInventory inventory, int[] positions, long deadlineMillis) {
+            this(holdId, eventId, inventory, positions, deadlineMillis, new ReentrantLock());
+        }
+
+        /**
+         * @return the positions of the seats in the given inventory, which differs from the hold's one when a reload replaced the seats of
+         *         the event. Seats that are gone are left out.
+         */
+        int[] positionsIn(SeatInventory current) {
+            if (current == inventory) {
+                return positions;
+            }
+            return Arrays.stream(positions)
+                    .mapToObj(inventory::getSeat)
+                    .mapToInt(seat -> current.find(seat.getSeatNumber(), seat.getRow(), seat.getLevel(), seat.getSection()))
+                    .filter(position -> position != SeatInventory.NOT_FOUND)
+                    .toArray();
+        }
+    }
+
+    private record JournaledSeat(String eventId, int position) {
+    }
+
+    private record RestoredHold(String holdId, String eventId, long heldAt) {
+    }
+
+    /**
+     * Lock contention and outcomes of the status changes in one reservation mode. Lock times are recorded once the locks are released.
+     */
+    private record ReservationMeters(Timer lockWait, Timer lockHold, Map<Transition, Map<ReservationOutcome, Counter>> outcomes) {
+
+        void recordLock(long waitNanos, long holdNanos) {
+            lockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+            lockHold.record(holdNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * How many times a seat entered each status minus how many times it left it, over the whole journal.
+     */
+    private static final class SeatHistory {
+        private final int[] balance = new int[SeatStatus.values().length];
+        private long lastHeldAt;
+        private String lastHoldId;
+
+        void add(JournalRecord record) {
+            balance[record.from().ordinal()]--;
+            balance[record.to().ordinal()]++;
+            if (record.to() == SeatStatus.HOLD && record.timestampMillis() >= lastHeldAt) {
+                lastHeldAt = record.timestampMillis();
+                lastHoldId = record.holdId();
+            }
+        }
+
+        SeatStatus currentStatus(SeatStatus initialStatus) {
+            for (SeatStatus status : SeatStatus.values()) {
+                if (balance[status.ordinal()] > 0) {
+                    return status;
+                }
+            }
+            return initialStatus;
+        }
+    }
+
+    /**
+     * One request of a group: the requested seats, their positions in the inventory and the outcome of each seat.
+     */
+    private record Change(List<SeatRequest> seatRequests, int[] positions, ReservationOutcome[] outcomes) {
+
+        /**
+         * @return the positions of the seats of the request, each one once.
+         */
+        IntStream distinctPositions() {
+            return IntStream.range(0, positions.length).filter(i -> !isRepeated(positions, i)).map(i -> positions[i]);
+        }
+
+        /**
+         * @return the seats of the request, each one once.
+         */
+        List<SeatKey> distinctSeats() {
+            List<SeatKey> seats = new ArrayList<>(positions.length);
+            for (int i = 0; i < positions.length; i++) {
+                if (!isRepeated(positions, i)) {
+                    seats.add(SeatKey.of(seatRequests.get(i)));
+                }
+            }
+            return seats;
+        }
+
+        boolean isApplied() {
+            return outcomes.length > 0 && outcomes[0] == ReservationOutcome.RESERVED;
+        }
+
+        /**
+         * @return RESERVED when the request was applied, otherwise the outcome of its first failed seat.
+         */
+        ReservationOutcome outcome() {
+            for (ReservationOutcome outcome : outcomes) {
+                if (outcome == ReservationOutcome.NOT_FOUND || outcome == ReservationOutcome.UNAVAILABLE) {
+                    return outcome;
+                }
+            }
+            return ReservationOutcome.RESERVED;
+        }
+
+        /**
+         * @param holdId the hold the seats were reserved in, or null.
+         */
+        ReservationResult toResult(String holdId) {
+            ReservationResult result = ReservationResult.of(seatRequests, outcomes);
+            result.setHoldId(holdId);
+            return result;
+        }
+    }
+
+    /**
+     * The events in their original order and sorted by name and by date, with the search indexes over them. The id breaks ties, so every
+     * event has its own place in each order and a page can start right after any of them.
+     */
+    private record EventViews(List<Event> unsorted, Map<String, Integer> positions, List<Event> byName, List<Event> byDate,
+            EventSearchIndex searchIndex) {
+
+        private static final Comparator<Event> BY_NAME = Comparator.comparing(Event::getName).thenComparing(Event::getEventId);
+        private static final Comparator<Event> BY_DATE = Comparator.comparing(Event::getEventDate).thenComparing(Event::getEventId);
+
+        static EventViews of(List<Event> events) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < events.size(); i++) {
+                positions.put(events.get(i).getEventId(), i);
+            }
+            List<Event> byDate = events.stream().sorted(BY_DATE).toList();
+            return new EventViews(
+                    List.copyOf(events),
+                    positions,
+                    events.stream().sorted(BY_NAME).toList(),
+                    byDate,
+                    new EventSearchIndex(byDate));
+        }
+
+        List<Event> sorted(EventSort sort) {
+            return switch (sort) {
+                case NAME -> byName;
+                case DATE -> byDate;
+                case NONE -> unsorted;
+            };
+        }
+
+        /**
+         * @return the index of the first event after the cursor in the ascending view. The original order has no key, so there the cursor
+         *         event is looked up by id; when a reload removed it, the listing ends.
+         */
+        int indexAfter(EventSort sort, EventCursor cursor) {
+            if (sort == EventSort.NONE) {
+                Integer position = positions.get(cursor.getEventId());
+                return position == null ? unsorted.size() : position + 1;
+            }
+            int index = search(sort, cursor);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        /**
+         * @return the index of the first event that is not before the cursor in the ascending view.
+         */
+        int indexBefore(EventSort sort, EventCursor cursor) {
+            if (sort == EventSort.NONE) {
+                Integer position = positions.get(cursor.getEventId());
+                return position == null ? 0 : position;
+            }
+            int index = search(sort, cursor);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private int search(EventSort sort, EventCursor cursor) {
+            Event key = Event.builder().eventId(cursor.getEventId()).name(cursor.getName()).eventDate(cursor.getEventDate()).build();
+            return Collections.binarySearch(sorted(sort), key, sort == EventSort.NAME ? BY_NAME : BY_DATE);
+        }
+    }
+
+    private record Stripe(String eventId, String name) {
     }
 }
@@ -0,0 +1,147 @@
+package com.ticketfma.repository.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import com.ticketfma.model.Event;
+
+/**
+ * Search indexes over one set of events: a date index and a prefix tree over the names, both read only once built.
+ * <p>
+ * The date index maps each date to the first position of its events in the list sorted by date, so a date range is a sub list found in
+ * O(log n). The names are lower-cased and sorted, so all the names with a prefix are next to each other: each node of the prefix tree
+ * keeps the range of the names under it, and a prefix is found in O(prefix length). A branch stops as soon as it holds a single event.
+ */
+final class EventSearchIndex {
+
+    private final List<Event> byDate;
+    private final NavigableMap<LocalDate, Integer> dateIndex = new TreeMap<>();
+    private final String[] foldedByDate;
+    // Position in byDate of each name, in name order.
+    private final int[] datePositions;
+    private final String[] foldedNames;
+    private final Node root;
+
+    /**
+     * @param byDate the events sorted by date, then by id.
+     */
+    EventSearchIndex(List<Event> byDate) {
+        this.byDate = byDate;
+        foldedByDate = new String[byDate.size()];
+        for (int i = 0; i < byDate.size(); i++) {
+            dateIndex.putIfAbsent(byDate.get(i).getEventDate(), i);
+            foldedByDate[i] = fold(byDate.get(i).getName());
+        }
+
+        datePositions = IntStream.range(0, byDate.size())
+                .boxed()
+                .sorted(Comparator.<Integer, String>comparing(i -> foldedByDate[i]).thenComparing(i -> byDate.get(i).getEventId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        foldedNames = Arrays.stream(datePositions).mapToObj(i -> foldedByDate[i]).toArray(String[]::new);
+        root = node(0, foldedNames.length, 0);
+    }
+
+    /**
+     * @param from       first date, inclusive, or null for no lower bound.
+     * @param to         last date, inclusive, or null for no upper bound.
+     * @param namePrefix case-insensitive prefix of the name, or null or empty for any name.
+     * @return the matching events sorted by date, then by id.
+     */
+    List<Event> search(LocalDate from, LocalDate to, String namePrefix) {
+        int dateFrom = from == null ? 0 : position(dateIndex.ceilingEntry(from));
+        int dateTo = to == null ? byDate.size() : position(dateIndex.higherEntry(to));
+        if (dateFrom >= dateTo) {
+            return List.of();
+        }
+        if (namePrefix == null || namePrefix.isEmpty()) {
+            return byDate.subList(dateFrom, dateTo);
+        }
+
+        // Whichever index gives fewer candidates is scanned, and the other condition is checked on each of them.
+        String prefix = fold(namePrefix);
+        Node names = find(prefix);
+        if (names.to() - names.from() < dateTo - dateFrom) {
+            int[] positions = Arrays.stream(datePositions, names.from(), names.to())
+                    .filter(position -> position >= dateFrom && position < dateTo)
+                    .sorted()
+                    .toArray();
+            return Arrays.stream(positions).mapToObj(byDate::get).toList();
+        }
+
+        List<Event> events = new ArrayList<>();
+        for (int position = dateFrom; position < dateTo; position++) {
+            if (foldedByDate[position].startsWith(prefix)) {
+                events.add(byDate.get(position));
+            }
+        }
+        return events;
+    }
+
+    private int position(Map.Entry<LocalDate, Integer> entry) {
+        return entry == null ? byDate.size() : entry.getValue();
+    }
+
+    /**
+     * @return the node whose range holds exactly the names starting with the prefix; its range is empty when there is none.
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int depth = 0;
+        while (depth < prefix.length() && !node.children().isEmpty()) {
+            node = node.children().get(prefix.charAt(depth));
+            if (node == null) {
+                return Node.EMPTY;
+            }
+            depth++;
+        }
+        // The tree stopped before the end of the prefix: the names left are all the same, or there is only one.
+        if (depth < prefix.length() && (node.from() == node.to() || !foldedNames[node.from()].startsWith(prefix))) {
+            return Node.EMPTY;
+        }
+        return node;
+    }
+
+    /**
+     * Builds the node of the names in [from, to), which share their first {@code depth} characters. The names of exactly that length sort
+     * first and end at this node.
+     */
+    private Node node(int from, int to, int depth) {
+        if (to - from <= 1) {
+            return new Node(from, to, Map.of());
+        }
+        Map<Character, Node> children = new HashMap<>();
+        int start = from;
+        while (start < to && foldedNames[start].length() == depth) {
+            start++;
+        }
+        while (start < to) {
+            char c = foldedNames[start].charAt(depth);
+            int end = start + 1;
+            while (end < to && foldedNames[end].charAt(depth) == c) {
+                end++;
+            }
+            children.put(c, node(start, end, depth + 1));
+            start = end;
+        }
+        return new Node(from, to, children);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Node(int from, int to, Map<Character, Node> children) {
+
+        static final Node EMPTY = new Node(0, 0, Map.of());
+    }
+}
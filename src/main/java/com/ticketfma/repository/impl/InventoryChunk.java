@@ -0,0 +1,77 @@
+package com.ticketfma.repository.impl;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ticketfma.model.Event;
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+
+import lombok.Getter;
+
+/**
+ * Events and seats parsed from a contiguous part of the CSV, in CSV order.
+ * A chunk is only used by the thread that parses it.
+ */
+@Getter
+class InventoryChunk {
+
+    private static final DateTimeFormatter EVENT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Map<String, Event> events = new LinkedHashMap<>();
+    private final Map<String, List<Seat>> eventSeats = new HashMap<>();
+    // Levels, sections, rows and seat numbers repeat on almost every row, so each distinct value is kept only once.
+    private final Map<String, String> coordinates = new HashMap<>();
+    private int rows;
+
+    void addRow(String[] row) {
+        String eventId = row[0];
+        // The date is only parsed for the first row of each event.
+        if (!hasEvent(eventId)) {
+            addEvent(eventId, parseEventDate(row[6]));
+        }
+
+        addSeat(eventId, coordinate(row[1]), coordinate(row[2]), coordinate(row[3]), coordinate(row[4]), SeatStatus.valueOf(row[5]),
+                Integer.parseInt(row[7]), Boolean.parseBoolean(row[8]));
+    }
+
+    boolean hasEvent(String eventId) {
+        return events.containsKey(eventId);
+    }
+
+    void addEvent(String eventId, LocalDate eventDate) {
+        events.put(eventId, Event.builder()
+                .eventId(eventId)
+                .eventDate(eventDate)
+                .name(String.format("Event %03d", Integer.parseInt(eventId)))
+                .build());
+    }
+
+    void addSeat(String eventId, String seatNumber, String seatRow, String level, String section, SeatStatus status, int sellRank, boolean hasUpsells) {
+        Seat seat = Seat.builder()
+                .seatNumber(seatNumber)
+                .row(seatRow)
+                .level(level)
+                .section(section)
+                .status(status)
+                .sellRank(sellRank)
+                .hasUpsells(hasUpsells)
+                .build();
+        eventSeats.computeIfAbsent(eventId, k -> new ArrayList<>()).add(seat);
+        rows++;
+    }
+
+    static LocalDate parseEventDate(String date) {
+        return LocalDate.parse(date, EVENT_DATE_FORMATTER);
+    }
+
+    private String coordinate(String value) {
+        String known = coordinates.putIfAbsent(value, value);
+        return known != null ? known : value;
+    }
+}
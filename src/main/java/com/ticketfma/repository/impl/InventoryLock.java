@@ -0,0 +1,75 @@
+package com.ticketfma.repository.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-write lock of the seats of one event, for many short readers and rare writers. Status changes are the readers; a reload swapping
+ * the seats and a snapshot copying them are the writers.
+ * <p>
+ * A reader only counts itself in one of several counters, picked by its thread and each on its own cache line, so readers of the same
+ * event do not contend on one lock word. It then checks that no writer is in: a writer first says it is writing, then waits for every
+ * counter to drop to zero. Both sides write then read volatile state, so either the reader sees the writer and backs off, or the writer
+ * sees the reader and waits for it. A reader that backs off waits for the writer to be done, so a steady flow of readers never keeps a
+ * writer out.
+ */
+final class InventoryLock {
+
+    // One counter every 64 bytes.
+    private static final int STRIDE = 8;
+    private static final int CELLS = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+    private static final int SPINS = 100;
+
+    private final AtomicLongArray readers = new AtomicLongArray(CELLS * STRIDE);
+    private final ReentrantLock writer = new ReentrantLock();
+    private volatile boolean writing;
+
+    /**
+     * @return the counter to give back to {@link #unlockRead(int)}.
+     */
+    int readLock() {
+        int cell = cell();
+        while (true) {
+            readers.getAndIncrement(cell);
+            if (!writing) {
+                return cell;
+            }
+            readers.getAndDecrement(cell);
+            writer.lock();
+            writer.unlock();
+        }
+    }
+
+    void unlockRead(int cell) {
+        readers.getAndDecrement(cell);
+    }
+
+    /**
+     * Keeps new readers out, then waits for the readers in progress to be done. Writers are not reentrant.
+     */
+    void writeLock() {
+        writer.lock();
+        writing = true;
+        for (int cell = 0; cell < readers.length(); cell += STRIDE) {
+            for (int spins = 0; readers.get(cell) != 0; spins++) {
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                }
+            }
+        }
+    }
+
+    void unlockWrite() {
+        writing = false;
+        writer.unlock();
+    }
+
+    private static int cell() {
+        long threadId = Thread.currentThread().threadId();
+        return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32 & (CELLS - 1)) * STRIDE;
+    }
+}
@@ -0,0 +1,407 @@
+package com.ticketfma.repository.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.model.Event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary image of the whole inventory: the events, the seat columns of every event with the current statuses, the holds still waiting for
+ * their TTL, and the journal position the image is up to date with.
+ * <p>
+ * Each event is one block, in the layout of {@link ColumnarSeatInventory}, with its ranking and index already built. Every storage writes
+ * and reads that layout from its own columns, so a snapshot can be loaded into any storage. A footer at the end lists the events with the
+ * offset and CRC32 of their block. At startup the file is memory mapped and the blocks are decoded in parallel with bulk array copies, so
+ * nothing is parsed or sorted. The file is written next to the old one and renamed over it, so a crash while writing leaves the previous
+ * snapshot in place.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class InventorySnapshot {
+
+    private static final int MAGIC = 0x54464D53; // TFMS
+    // Version 2 added the hold ids. An older snapshot is not read, and the CSV and the whole journal are loaded instead.
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES * 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final InventoryProperties inventoryProperties;
+
+    public boolean isEnabled() {
+        return StringUtils.hasText(inventoryProperties.getSnapshotFile());
+    }
+
+    /**
+     * @return the contents of the snapshot, or empty when there is no snapshot or it cannot be read, in which case the CSV is loaded.
+     */
+    Optional<Contents> load() {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        Path path = Path.of(inventoryProperties.getSnapshotFile());
+        if (!Files.exists(path)) {
+            log.info("No inventory snapshot at {} yet.", path);
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Contents contents = read(channel);
+            log.info("Loaded {} seats for {} events from snapshot {} in {} ms.",
+                    contents.eventInventories().values().stream().mapToLong(SeatInventory::size).sum(), contents.events().size(), path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return Optional.of(contents);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read inventory snapshot {}, loading the CSV instead.", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the events and their seats with the given statuses, then the holds. The statuses, the holds and the journal position must be
+     * taken at the same moment, while no status changes: the journal is then replayed from exactly where the statuses stop.
+     *
+     * @param statuses the status of each seat of each event, by position, as copied by {@link #copyStatuses}.
+     */
+    void write(List<Event> events, Map<String, SeatInventory> eventInventories, Map<String, byte[]> statuses, List<Hold> holds,
+            long journalPosition) throws IOException {
+        long start = System.nanoTime();
+        Path path = Path.of(inventoryProperties.getSnapshotFile());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING); Output output = new Output(channel)) {
+            output.putInt(MAGIC);
+            output.putInt(VERSION);
+
+            List<Block> blocks = new ArrayList<>(events.size());
+            for (Event event : events) {
+                long offset = output.startBlock();
+                eventInventories.get(event.getEventId()).writeTo(output, statuses.get(event.getEventId()));
+                blocks.add(new Block(offset, output.position() - offset, output.blockCrc()));
+            }
+
+            long footerOffset = output.startBlock();
+            output.putLong(journalPosition);
+            output.putInt(blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                Event event = events.get(i);
+                output.putString(event.getEventId());
+                output.putString(event.getName());
+                output.putLong(event.getEventDate() == null ? NO_DATE : event.getEventDate().toEpochDay());
+                output.putLong(blocks.get(i).offset());
+                output.putLong(blocks.get(i).length());
+                output.putInt(blocks.get(i).crc());
+            }
+            output.putInt(holds.size());
+            for (Hold hold : holds) {
+                output.putString(hold.holdId());
+                output.putString(hold.eventId());
+                output.putLong(hold.deadlineMillis());
+                output.putInts(hold.positions());
+            }
+            int footerCrc = output.blockCrc();
+
+            output.putLong(footerOffset);
+            output.putInt(footerCrc);
+            output.putInt(MAGIC);
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Wrote snapshot {} of {} events in {} ms.", path, events.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Contents read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES, TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        int footerCrc = trailer.getInt();
+        if (header.getInt() != MAGIC || trailer.getInt() != MAGIC) {
+            throw new IOException("Not an inventory snapshot");
+        }
+        if (header.getInt() != VERSION) {
+            throw new IOException("Unsupported snapshot version");
+        }
+        if (footerOffset < HEADER_BYTES || footerOffset > size - TRAILER_BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+
+        ByteBuffer footer = map(channel, footerOffset, size - TRAILER_BYTES - footerOffset, footerCrc);
+        long journalPosition = footer.getLong();
+        int eventCount = footer.getInt();
+        List<Event> events = new ArrayList<>(eventCount);
+        List<Block> blocks = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            String eventId = getString(footer);
+            String name = getString(footer);
+            long epochDay = footer.getLong();
+            events.add(Event.builder()
+                    .eventId(eventId)
+                    .name(name)
+                    .eventDate(epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay))
+                    .build());
+            blocks.add(new Block(footer.getLong(), footer.getLong(), footer.getInt()));
+        }
+        int holdCount = footer.getInt();
+        List<Hold> holds = new ArrayList<>(holdCount);
+        for (int i = 0; i < holdCount; i++) {
+            holds.add(new Hold(getString(footer), getString(footer), footer.getLong(), getInts(footer)));
+        }
+
+        // Every block has its own mapping, so the events are checked and decoded in parallel.
+        Map<String, SeatInventory> eventInventories = new ConcurrentHashMap<>();
+        try {
+            IntStream.range(0, eventCount).parallel().forEach(i -> {
+                Block block = blocks.get(i);
+                try {
+                    eventInventories.put(events.get(i).getEventId(), readInventory(map(channel, block.offset(), block.length(), block.crc())));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Contents(events, eventInventories, holds, journalPosition);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length, int expectedCrc) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot block of " + length + " bytes is too big to map");
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Snapshot block at " + offset + " is corrupted");
+        }
+        return buffer;
+    }
+
+    /**
+     * @return the status of every seat of the inventory, by position.
+     */
+    static byte[] copyStatuses(SeatInventory inventory) {
+        byte[] statuses = new byte[inventory.size()];
+        for (int position = 0; position < statuses.length; position++) {
+            statuses[position] = (byte) inventory.getStatus(position).ordinal();
+        }
+        return statuses;
+    }
+
+    /**
+     * Every storage reads the columns of the block straight into its own layout, whichever storage wrote them.
+     */
+    private SeatInventory readInventory(ByteBuffer block) {
+        return switch (inventoryProperties.getStorage()) {
+            case OBJECTS -> ObjectSeatInventory.read(block);
+            case COLUMNAR -> ColumnarSeatInventory.read(block);
+            case OFF_HEAP -> OffHeapSeatInventory.read(block);
+        };
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static byte[] getBytes(ByteBuffer buffer) {
+        byte[] values = new byte[buffer.getInt()];
+        buffer.get(values);
+        return values;
+    }
+
+    static int[] getInts(ByteBuffer buffer) {
+        int[] values = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    static long[] getLongs(ByteBuffer buffer) {
+        long[] values = new long[buffer.getInt()];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+        return values;
+    }
+
+    /**
+     * Everything a snapshot holds. The journal position is the length of the journal whose changes are all in the snapshot.
+     */
+    record Contents(List<Event> events, Map<String, SeatInventory> eventInventories, List<Hold> holds, long journalPosition) {
+    }
+
+    /**
+     * Seats reserved together that go back to OPEN at the deadline, unless they are sold before. A deadline of zero never comes.
+     */
+    record Hold(String holdId, String eventId, long deadlineMillis, int[] positions) {
+    }
+
+    private record Block(long offset, long length, int crc) {
+    }
+
+    /**
+     * Buffered writer of big-endian values, arrays prefixed by their length, that keeps the CRC32 of the current block.
+     */
+    static final class Output implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private final CRC32 crc = new CRC32();
+        private long flushed;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        /**
+         * @return the position where the new block starts.
+         */
+        long startBlock() throws IOException {
+            flush();
+            crc.reset();
+            return flushed;
+        }
+
+        int blockCrc() throws IOException {
+            flush();
+            return (int) crc.getValue();
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            putBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void putBytes(byte[] values) throws IOException {
+            putInt(values.length);
+            for (int offset = 0; offset < values.length;) {
+                ensureRemaining(1);
+                int count = Math.min(buffer.remaining(), values.length - offset);
+                buffer.put(values, offset, count);
+                offset += count;
+            }
+        }
+
+        void putInts(int[] values) throws IOException {
+            putInt(values.length);
+            for (int offset = 0; offset < values.length;) {
+                ensureRemaining(Integer.BYTES);
+                int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - offset);
+                buffer.asIntBuffer().put(values, offset, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+        }
+
+        /**
+         * Writes the ints left in the buffer, whatever its byte order, like {@link #putInts(int[])}.
+         */
+        void putInts(IntBuffer values) throws IOException {
+            putInt(values.remaining());
+            while (values.hasRemaining()) {
+                ensureRemaining(Integer.BYTES);
+                int count = Math.min(buffer.remaining() / Integer.BYTES, values.remaining());
+                buffer.asIntBuffer().put(values.slice(values.position(), count));
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                values.position(values.position() + count);
+            }
+        }
+
+        void putLongs(long[] values) throws IOException {
+            putInt(values.length);
+            for (int offset = 0; offset < values.length;) {
+                ensureRemaining(Long.BYTES);
+                int count = Math.min(buffer.remaining() / Long.BYTES, values.length - offset);
+                buffer.asLongBuffer().put(values, offset, count);
+                buffer.position(buffer.position() + count * Long.BYTES);
+                offset += count;
+            }
+        }
+
+        /**
+         * Writes the longs left in the buffer, whatever its byte order, like {@link #putLongs(long[])}.
+         */
+        void putLongs(LongBuffer values) throws IOException {
+            putInt(values.remaining());
+            while (values.hasRemaining()) {
+                ensureRemaining(Long.BYTES);
+                int count = Math.min(buffer.remaining() / Long.BYTES, values.remaining());
+                buffer.asLongBuffer().put(values.slice(values.position(), count));
+                buffer.position(buffer.position() + count * Long.BYTES);
+                values.position(values.position() + count);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatKey;
+import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.repository.impl.ColumnarSeatInventory.Dictionary;
+
+/**
+ * Keeps the seats as {@link Seat} objects, indexed by their coordinates.
+ */
+class ObjectSeatInventory implements SeatInventory {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            STATUS = MethodHandles.privateLookupIn(Seat.class, MethodHandles.lookup()).findVarHandle(Seat.class, "status", SeatStatus.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<Seat> seats;
+    private final Map<SeatKey, Integer> index;
+    private final ConcurrentSkipListMap<Long, Seat> openSeatsByRank = new ConcurrentSkipListMap<>();
+
+    ObjectSeatInventory(List<Seat> seats) {
+        this.seats = seats;
+        this.index = HashMap.newHashMap(seats.size());
+        for (int position = 0; position < seats.size(); position++) {
+            Seat seat = seats.get(position);
+            index.putIfAbsent(SeatKey.of(seat), position);
+            if (seat.getStatus() == SeatStatus.OPEN) {
+                openSeatsByRank.put(rankKey(seat, position), seat);
+            }
+        }
+    }
+
+    /**
+     * Reads the columns written by {@link SeatInventory#writeTo} straight into one {@link Seat} per seat. The index and the ranking of the
+     * columns are left unread: the seats are indexed and ranked as objects.
+     */
+    static ObjectSeatInventory read(ByteBuffer buffer) {
+        Dictionary seatNumbers = Dictionary.read(buffer);
+        Dictionary rows = Dictionary.read(buffer);
+        Dictionary levels = Dictionary.read(buffer);
+        Dictionary sections = Dictionary.read(buffer);
+        int[] seatNumberIds = InventorySnapshot.getInts(buffer);
+        int[] rowIds = InventorySnapshot.getInts(buffer);
+        int[] levelIds = InventorySnapshot.getInts(buffer);
+        int[] sectionIds = InventorySnapshot.getInts(buffer);
+        byte[] statuses = InventorySnapshot.getBytes(buffer);
+        int[] sellRanks = InventorySnapshot.getInts(buffer);
+        BitSet upsells = BitSet.valueOf(InventorySnapshot.getLongs(buffer));
+
+        List<Seat> seats = new ArrayList<>(statuses.length);
+        for (int position = 0; position < statuses.length; position++) {
+            seats.add(Seat.builder()
+                    .seatNumber(seatNumbers.value(seatNumberIds[position]))
+                    .row(rows.value(rowIds[position]))
+                    .level(levels.value(levelIds[position]))
+                    .section(sections.value(sectionIds[position]))
+                    .status(STATUSES[statuses[position]])
+                    .sellRank(sellRanks[position])
+                    .hasUpsells(upsells.get(position))
+                    .build());
+        }
+        return new ObjectSeatInventory(seats);
+    }
+
+    @Override
+    public int size() {
+        return seats.size();
+    }
+
+    @Override
+    public int find(String seatNumber, String row, String level, String section) {
+        return index.getOrDefault(new SeatKey(seatNumber, row, level, section), NOT_FOUND);
+    }
+
+    @Override
+    public SeatStatus getStatus(int position) {
+        return (SeatStatus) STATUS.getVolatile(seats.get(position));
+    }
+
+    @Override
+    public void setStatus(int position, SeatStatus status) {
+        STATUS.setVolatile(seats.get(position), status);
+        updateRanking(position);
+    }
+
+    @Override
+    public boolean compareAndSetStatus(int position, SeatStatus expected, SeatStatus status) {
+        if (!STATUS.compareAndSet(seats.get(position), expected, status)) {
+            return false;
+        }
+
+        updateRanking(position);
+        return true;
+    }
+
+    @Override
+    public Seat getSeat(int position) {
+        return seats.get(position);
+    }
+
+    @Override
+    public String getLevel(int position) {
+        return seats.get(position).getLevel();
+    }
+
+    @Override
+    public String getSection(int position) {
+        return seats.get(position).getSection();
+    }
+
+    @Override
+    public List<Seat> getBestSeats(int quantity) {
+        return openSeatsByRank.values().stream()
+                .filter(seat -> seat.getStatus() == SeatStatus.OPEN) // Skips a seat that is being held right now.
+                .limit(quantity)
+                .toList();
+    }
+
+    /**
+     * The seats have no columns to write as they are: the columns are built from the seats, which are not copied.
+     */
+    @Override
+    public void writeTo(InventorySnapshot.Output output, byte[] statuses) throws IOException {
+        new ColumnarSeatInventory(seats).writeTo(output, statuses);
+    }
+
+    /**
+     * Adds or removes the seat from the OPEN seats. When the status changes again meanwhile, the seat is checked again, so the ordering always
+     * ends up matching the last status.
+     */
+    private void updateRanking(int position) {
+        Seat seat = seats.get(position);
+        SeatStatus status;
+        do {
+            status = getStatus(position);
+            if (status == SeatStatus.OPEN) {
+                openSeatsByRank.put(rankKey(seat, position), seat);
+            } else {
+                openSeatsByRank.remove(rankKey(seat, position));
+            }
+        } while (getStatus(position) != status);
+    }
+
+    /**
+     * Orders by sellRank and then by the seat position in the CSV, the same order as a stable sort by sellRank.
+     */
+    private static long rankKey(Seat seat, int position) {
+        return ((long) seat.getSellRank() << Integer.SIZE) | position;
+    }
+}
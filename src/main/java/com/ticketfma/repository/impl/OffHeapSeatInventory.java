@@ -0,0 +1,370 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.repository.impl.ColumnarSeatInventory.Dictionary;
+import com.ticketfma.repository.impl.ColumnarSeatInventory.DictionaryBuilder;
+
+/**
+ * Keeps the seat columns of {@link ColumnarSeatInventory} outside the Java heap, in direct buffers, so the garbage collector never scans or
+ * copies them, however big the inventory. Only the coordinate dictionaries stay on the heap.
+ * <p>
+ * Every column holds one int per seat, or one bit per seat for the upsells and the OPEN seats in sellRank order. Statuses and OPEN bits are
+ * read and changed atomically through buffer view {@link VarHandle}s. {@link Seat} objects are only created when a seat is returned to the
+ * caller.
+ */
+class OffHeapSeatInventory implements SeatInventory {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int size;
+    private final Dictionary seatNumbers;
+    private final Dictionary rows;
+    private final Dictionary levels;
+    private final Dictionary sections;
+    private final ByteBuffer seatNumberIds;
+    private final ByteBuffer rowIds;
+    private final ByteBuffer levelIds;
+    private final ByteBuffer sectionIds;
+    private final ByteBuffer statuses;
+    private final ByteBuffer sellRanks;
+    private final ByteBuffer upsells;
+    // Open addressing table of seat positions, hashed by coordinate ids. Empty slots hold NOT_FOUND.
+    private final ByteBuffer index;
+    private final int indexMask;
+    // Seat positions sorted by sellRank and CSV position, and the opposite mapping.
+    private final ByteBuffer rankOrder;
+    private final ByteBuffer rankOf;
+    // Bit i is set when the seat at rankOrder[i] is OPEN.
+    private final ByteBuffer openByRank;
+
+    OffHeapSeatInventory(List<Seat> seats) {
+        size = seats.size();
+        DictionaryBuilder seatNumberBuilder = new DictionaryBuilder();
+        DictionaryBuilder rowBuilder = new DictionaryBuilder();
+        DictionaryBuilder levelBuilder = new DictionaryBuilder();
+        DictionaryBuilder sectionBuilder = new DictionaryBuilder();
+        seatNumberIds = allocateInts(size);
+        rowIds = allocateInts(size);
+        levelIds = allocateInts(size);
+        sectionIds = allocateInts(size);
+        statuses = allocateInts(size);
+        sellRanks = allocateInts(size);
+        upsells = allocateBits(size);
+
+        int[] ranks = new int[size];
+        for (int position = 0; position < size; position++) {
+            Seat seat = seats.get(position);
+            setInt(seatNumberIds, position, seatNumberBuilder.id(seat.getSeatNumber()));
+            setInt(rowIds, position, rowBuilder.id(seat.getRow()));
+            setInt(levelIds, position, levelBuilder.id(seat.getLevel()));
+            setInt(sectionIds, position, sectionBuilder.id(seat.getSection()));
+            setInt(statuses, position, seat.getStatus().ordinal());
+            setInt(sellRanks, position, seat.getSellRank());
+            if (seat.isHasUpsells()) {
+                upsells.putLong((position >>> 6) * Long.BYTES, upsells.getLong((position >>> 6) * Long.BYTES) | 1L << position);
+            }
+            ranks[position] = seat.getSellRank();
+        }
+        seatNumbers = seatNumberBuilder.build();
+        rows = rowBuilder.build();
+        levels = levelBuilder.build();
+        sections = sectionBuilder.build();
+
+        int indexSize = Math.max(2, Integer.highestOneBit(Math.max(1, size)) << 2);
+        index = allocateInts(indexSize);
+        indexMask = indexSize - 1;
+        for (int slot = 0; slot < indexSize; slot++) {
+            setInt(index, slot, NOT_FOUND);
+        }
+        for (int position = 0; position < size; position++) {
+            int slot = findSlot(getInt(seatNumberIds, position), getInt(rowIds, position), getInt(levelIds, position), getInt(sectionIds, position));
+            if (getInt(index, slot) == NOT_FOUND) { // When the CSV repeats a seat, the first row wins.
+                setInt(index, slot, position);
+            }
+        }
+
+        int[] order = ColumnarSeatInventory.sortByRank(ranks);
+        rankOrder = allocateInts(size);
+        for (int rank = 0; rank < size; rank++) {
+            setInt(rankOrder, rank, order[rank]);
+        }
+        rankOf = allocateInts(size);
+        openByRank = allocateBits(size);
+        rank();
+    }
+
+    private OffHeapSeatInventory(Dictionary seatNumbers, Dictionary rows, Dictionary levels, Dictionary sections, ByteBuffer seatNumberIds,
+            ByteBuffer rowIds, ByteBuffer levelIds, ByteBuffer sectionIds, ByteBuffer statuses, ByteBuffer sellRanks, ByteBuffer upsells,
+            ByteBuffer index, ByteBuffer rankOrder) {
+        this.size = statuses.capacity() / Integer.BYTES;
+        this.seatNumbers = seatNumbers;
+        this.rows = rows;
+        this.levels = levels;
+        this.sections = sections;
+        this.seatNumberIds = seatNumberIds;
+        this.rowIds = rowIds;
+        this.levelIds = levelIds;
+        this.sectionIds = sectionIds;
+        this.statuses = statuses;
+        this.sellRanks = sellRanks;
+        this.upsells = upsells;
+        this.index = index;
+        this.indexMask = index.capacity() / Integer.BYTES - 1;
+        this.rankOrder = rankOrder;
+        this.rankOf = allocateInts(size);
+        this.openByRank = allocateBits(size);
+        rank();
+    }
+
+    /**
+     * Reads the columns written by {@link SeatInventory#writeTo} straight into direct buffers, with no {@link Seat} in between. The index
+     * and the ranking are read as they were written instead of being rebuilt.
+     */
+    static OffHeapSeatInventory read(ByteBuffer buffer) {
+        Dictionary seatNumbers = Dictionary.read(buffer);
+        Dictionary rows = Dictionary.read(buffer);
+        Dictionary levels = Dictionary.read(buffer);
+        Dictionary sections = Dictionary.read(buffer);
+        ByteBuffer seatNumberIds = readInts(buffer);
+        ByteBuffer rowIds = readInts(buffer);
+        ByteBuffer levelIds = readInts(buffer);
+        ByteBuffer sectionIds = readInts(buffer);
+        int size = buffer.getInt();
+        ByteBuffer statuses = allocateInts(size);
+        for (int position = 0; position < size; position++) {
+            setInt(statuses, position, buffer.get());
+        }
+        ByteBuffer sellRanks = readInts(buffer);
+        // The writer may leave out the trailing words without upsells.
+        ByteBuffer upsells = allocateBits(size);
+        int words = buffer.getInt();
+        upsells.asLongBuffer().put(buffer.asLongBuffer().limit(words));
+        buffer.position(buffer.position() + words * Long.BYTES);
+        ByteBuffer index = readInts(buffer);
+        ByteBuffer rankOrder = readInts(buffer);
+        return new OffHeapSeatInventory(seatNumbers, rows, levels, sections, seatNumberIds, rowIds, levelIds, sectionIds, statuses, sellRanks,
+                upsells, index, rankOrder);
+    }
+
+    /**
+     * Writes every column with the given status of each seat, plus the index and the ranking, straight from the direct buffers.
+     */
+    @Override
+    public void writeTo(InventorySnapshot.Output output, byte[] statuses) throws IOException {
+        for (Dictionary dictionary : List.of(seatNumbers, rows, levels, sections)) {
+            dictionary.writeTo(output);
+        }
+        output.putInts(seatNumberIds.asIntBuffer());
+        output.putInts(rowIds.asIntBuffer());
+        output.putInts(levelIds.asIntBuffer());
+        output.putInts(sectionIds.asIntBuffer());
+        output.putBytes(statuses);
+        output.putInts(sellRanks.asIntBuffer());
+        output.putLongs(upsells.asLongBuffer());
+        output.putInts(index.asIntBuffer());
+        output.putInts(rankOrder.asIntBuffer());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int find(String seatNumber, String row, String level, String section) {
+        int seatNumberId = seatNumbers.id(seatNumber);
+        int rowId = rows.id(row);
+        int levelId = levels.id(level);
+        int sectionId = sections.id(section);
+        if (seatNumberId == NOT_FOUND || rowId == NOT_FOUND || levelId == NOT_FOUND || sectionId == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        return getInt(index, findSlot(seatNumberId, rowId, levelId, sectionId));
+    }
+
+    @Override
+    public SeatStatus getStatus(int position) {
+        return STATUSES[(int) INT.getVolatile(statuses, position * Integer.BYTES)];
+    }
+
+    @Override
+    public void setStatus(int position, SeatStatus status) {
+        INT.setVolatile(statuses, position * Integer.BYTES, status.ordinal());
+        updateRanking(position);
+    }
+
+    @Override
+    public boolean compareAndSetStatus(int position, SeatStatus expected, SeatStatus status) {
+        if (!INT.compareAndSet(statuses, position * Integer.BYTES, expected.ordinal(), status.ordinal())) {
+            return false;
+        }
+
+        updateRanking(position);
+        return true;
+    }
+
+    @Override
+    public Seat getSeat(int position) {
+        return Seat.builder()
+                .seatNumber(seatNumbers.value(getInt(seatNumberIds, position)))
+                .row(rows.value(getInt(rowIds, position)))
+                .level(levels.value(getInt(levelIds, position)))
+                .section(sections.value(getInt(sectionIds, position)))
+                .status(getStatus(position))
+                .sellRank(getInt(sellRanks, position))
+                .hasUpsells((upsells.getLong((position >>> 6) * Long.BYTES) & 1L << position) != 0)
+                .build();
+    }
+
+    @Override
+    public String getLevel(int position) {
+        return levels.value(getInt(levelIds, position));
+    }
+
+    @Override
+    public String getSection(int position) {
+        return sections.value(getInt(sectionIds, position));
+    }
+
+    @Override
+    public List<Seat> getBestSeats(int quantity) {
+        List<Seat> bestSeats = new ArrayList<>(Math.min(quantity, size));
+        for (int rank = nextOpen(0); rank != NOT_FOUND && bestSeats.size() < quantity; rank = nextOpen(rank + 1)) {
+            int position = getInt(rankOrder, rank);
+            if (getStatus(position) == SeatStatus.OPEN) { // Skips a seat that is being held right now.
+                bestSeats.add(getSeat(position));
+            }
+        }
+        return bestSeats;
+    }
+
+    /**
+     * @return the slot that holds the seat with these coordinate ids, or the empty slot where it would be.
+     */
+    private int findSlot(int seatNumberId, int rowId, int levelId, int sectionId) {
+        int hash = ((seatNumberId * 31 + rowId) * 31 + levelId) * 31 + sectionId;
+        int slot = (hash ^ (hash >>> 16)) * 0x9E3779B9 & indexMask;
+        int position;
+        while ((position = getInt(index, slot)) != NOT_FOUND) {
+            if (getInt(seatNumberIds, position) == seatNumberId && getInt(rowIds, position) == rowId && getInt(levelIds, position) == levelId
+                    && getInt(sectionIds, position) == sectionId) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the bytes of the seat columns held in direct buffers, outside the Java heap.
+     */
+    long offHeapBytes() {
+        return Stream.of(seatNumberIds, rowIds, levelIds, sectionIds, statuses, sellRanks, upsells, index, rankOrder, rankOf, openByRank)
+                .filter(ByteBuffer::isDirect)
+                .mapToLong(ByteBuffer::capacity)
+                .sum();
+    }
+
+    /**
+     * Sets or clears the OPEN bit of the seat. When the status changes again meanwhile, the seat is checked again, so the bit always ends up
+     * matching the last status.
+     */
+    private void updateRanking(int position) {
+        SeatStatus status;
+        do {
+            status = getStatus(position);
+            setOpen(getInt(rankOf, position), status == SeatStatus.OPEN);
+        } while (getStatus(position) != status);
+    }
+
+    private void setOpen(int rank, boolean open) {
+        int offset = (rank >>> 6) * Long.BYTES;
+        long bit = 1L << rank;
+        if (open) {
+            LONG.getAndBitwiseOr(openByRank, offset, bit);
+        } else {
+            LONG.getAndBitwiseAnd(openByRank, offset, ~bit);
+        }
+    }
+
+    private int nextOpen(int fromRank) {
+        int words = openByRank.capacity() / Long.BYTES;
+        int word = fromRank >>> 6;
+        if (word >= words) {
+            return NOT_FOUND;
+        }
+
+        long bits = (long) LONG.getVolatile(openByRank, word * Long.BYTES) & (-1L << fromRank);
+        while (bits == 0) {
+            if (++word == words) {
+                return NOT_FOUND;
+            }
+            bits = (long) LONG.getVolatile(openByRank, word * Long.BYTES);
+        }
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Fills the opposite mapping of the ranking and the OPEN bits, then publishes the buffers.
+     */
+    private void rank() {
+        for (int rank = 0; rank < size; rank++) {
+            int position = getInt(rankOrder, rank);
+            setInt(rankOf, position, rank);
+            if (getInt(statuses, position) == SeatStatus.OPEN.ordinal()) {
+                setOpen(rank, true);
+            }
+        }
+        VarHandle.releaseFence();
+    }
+
+    private static int getInt(ByteBuffer column, int index) {
+        return column.getInt(index * Integer.BYTES);
+    }
+
+    private static void setInt(ByteBuffer column, int index, int value) {
+        column.putInt(index * Integer.BYTES, value);
+    }
+
+    /**
+     * Copies a column of big-endian ints, as {@link InventorySnapshot} writes them, into a new direct buffer.
+     */
+    private static ByteBuffer readInts(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        ByteBuffer column = allocateInts(count);
+        column.asIntBuffer().put(buffer.asIntBuffer().limit(count));
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return column;
+    }
+
+    private static ByteBuffer allocateInts(int count) {
+        return allocate((long) count * Integer.BYTES);
+    }
+
+    private static ByteBuffer allocateBits(int count) {
+        return allocate((long) (count + Long.SIZE - 1) / Long.SIZE * Long.BYTES);
+    }
+
+    /**
+     * Allocates zeroed native memory aligned on 8 bytes, which atomic access through the view VarHandles requires.
+     */
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalArgumentException("Too many seats for one event: " + bytes + " bytes per column");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) bytes + Long.BYTES).alignedSlice(Long.BYTES).order(ByteOrder.nativeOrder());
+        return buffer.limit((int) bytes).slice().order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ticketfma.repository.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.SeatCount;
+import com.ticketfma.model.enums.SeatStatus;
+
+/**
+ * Seats of one inventory in each status, in total, per level and per section of a level. They are counted once when the inventory is
+ * loaded, then moved from one status to the other on each status change, so reading them never scans the seats.
+ * <p>
+ * The counters are {@link LongAdder}s: reservations of different seats do not contend on them. A read sums each counter on its own, so it
+ * may catch a change half counted, and a status change is counted just after it is made.
+ */
+final class SeatCounts {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private final Counters total = new Counters();
+    // Complete once counted: a status change only looks its level and section up.
+    private final Map<String, Level> levels = new HashMap<>();
+
+    private SeatCounts() {
+    }
+
+    static SeatCounts of(SeatInventory inventory) {
+        SeatCounts counts = new SeatCounts();
+        for (int position = 0; position < inventory.size(); position++) {
+            Level level = counts.levels.computeIfAbsent(inventory.getLevel(position), key -> new Level());
+            Counters section = level.sections().computeIfAbsent(inventory.getSection(position), key -> new Counters());
+            int status = inventory.getStatus(position).ordinal();
+            counts.total.adders[status].increment();
+            level.total().adders[status].increment();
+            section.adders[status].increment();
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the seat of the inventory the counts were made from in its new status instead of the old one.
+     */
+    void move(SeatInventory inventory, int position, SeatStatus from, SeatStatus to) {
+        Level level = levels.get(inventory.getLevel(position));
+        total.move(from, to);
+        level.total().move(from, to);
+        level.sections().get(inventory.getSection(position)).move(from, to);
+    }
+
+    EventAvailability toAvailability(String eventId) {
+        Map<String, SeatCount> levelCounts = new HashMap<>();
+        Map<String, Map<String, SeatCount>> sectionCounts = new HashMap<>();
+        levels.forEach((levelName, level) -> {
+            levelCounts.put(levelName, level.total().toSeatCount());
+            Map<String, SeatCount> sections = new HashMap<>();
+            level.sections().forEach((sectionName, section) -> sections.put(sectionName, section.toSeatCount()));
+            sectionCounts.put(levelName, sections);
+        });
+
+        return EventAvailability.builder()
+                .eventId(eventId)
+                .seats(total.toSeatCount())
+                .levels(levelCounts)
+                .sections(sectionCounts)
+                .build();
+    }
+
+    private record Level(Counters total, Map<String, Counters> sections) {
+
+        Level() {
+            this(new Counters(), new HashMap<>());
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder[] adders = new LongAdder[STATUSES.length];
+
+        Counters() {
+            for (int status = 0; status < adders.length; status++) {
+                adders[status] = new LongAdder();
+            }
+        }
+
+        void move(SeatStatus from, SeatStatus to) {
+            adders[from.ordinal()].decrement();
+            adders[to.ordinal()].increment();
+        }
+
+        SeatCount toSeatCount() {
+            return SeatCount.builder()
+                    .open(adders[SeatStatus.OPEN.ordinal()].sum())
+                    .hold(adders[SeatStatus.HOLD.ordinal()].sum())
+                    .sold(adders[SeatStatus.SOLD.ordinal()].sum())
+                    .build();
+        }
+    }
+}
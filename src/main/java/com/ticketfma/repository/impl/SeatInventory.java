@@ -0,0 +1,52 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+
+/**
+ * Storage for the seats of one event. Seats are addressed by their position in the CSV, from 0 to {@link #size()} - 1.
+ * Implementations keep the OPEN seats ordered by sellRank, so every status change must go through
+ * {@link #setStatus(int, SeatStatus)} or {@link #compareAndSetStatus(int, SeatStatus, SeatStatus)}.
+ */
+interface SeatInventory {
+
+    int NOT_FOUND = -1;
+
+    int size();
+
+    /**
+     * @return the position of the seat, or {@link #NOT_FOUND}. When the CSV repeats a seat, the first row is returned.
+     */
+    int find(String seatNumber, String row, String level, String section);
+
+    SeatStatus getStatus(int position);
+
+    void setStatus(int position, SeatStatus status);
+
+    /**
+     * Atomically changes the status of the seat, only if it is the expected one.
+     *
+     * @return true when the status was changed.
+     */
+    boolean compareAndSetStatus(int position, SeatStatus expected, SeatStatus status);
+
+    Seat getSeat(int position);
+
+    String getLevel(int position);
+
+    String getSection(int position);
+
+    /**
+     * @return up to quantity OPEN seats, best sellRank first. Seats with the same sellRank keep the CSV order.
+     */
+    List<Seat> getBestSeats(int quantity);
+
+    /**
+     * Writes the seats, with the given status of each one, in the snapshot layout of {@link ColumnarSeatInventory}, whatever the storage,
+     * so a snapshot can be loaded into another storage.
+     */
+    void writeTo(InventorySnapshot.Output output, byte[] statuses) throws IOException;
+}
@@ -0,0 +1,357 @@
+package com.ticketfma.repository.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ticketfma.config.JournalProperties;
+import com.ticketfma.exception.JournalUnavailableException;
+import com.ticketfma.model.SeatKey;
+import com.ticketfma.model.enums.SeatStatus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of the seat status changes. Each record is one change of one request: the event, the status the seats went from
+ * and to, when, the seats, and the hold the seats went in or out of. Records written before holds had ids have none. A record is framed by
+ * its length and a CRC32, so a record torn by a crash is detected and dropped on replay.
+ * <p>
+ * Appending only encodes the record and queues it. A single writer thread takes everything queued, writes it with one gathering write and
+ * syncs it with one fsync (group commit), then waits for the sync interval before the next batch. Requests never wait for the disk.
+ * <p>
+ * When a batch cannot be written, the journal is cut back to the end of the last batch written, so no record is ever appended after a torn
+ * one, and the journal fails: the writer stops, whatever is still queued is dropped, and no new change is accepted until a restart.
+ */
+@Slf4j
+@Component
+public class SeatJournal {
+
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+
+    private final JournalProperties journalProperties;
+    private final ChannelOpener channelOpener;
+    private final LinkedBlockingQueue<byte[]> pending = new LinkedBlockingQueue<>();
+    private final AtomicLong appendedRecords = new AtomicLong();
+    // Guarded by this, which is notified after each batch.
+    private long writtenRecords;
+    private long validLength;
+    // Length of the journal written so far. Every record below it belongs to a change that is already applied to the seats.
+    private volatile long writtenLength;
+    private volatile FileChannel channel;
+    private volatile boolean running;
+    private volatile boolean failed;
+    private volatile Thread writer;
+
+    @Autowired
+    public SeatJournal(JournalProperties journalProperties) {
+        this(journalProperties, path -> FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+    }
+
+    SeatJournal(JournalProperties journalProperties, ChannelOpener channelOpener) {
+        this.journalProperties = journalProperties;
+        this.channelOpener = channelOpener;
+    }
+
+    public boolean isEnabled() {
+        return StringUtils.hasText(journalProperties.getFile());
+    }
+
+    public long getWrittenLength() {
+        return writtenLength;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Waits until every record appended before the call is written and synced, unless the journal is closed or failed.
+     *
+     * @return the length of the journal written.
+     */
+    public long flush() throws InterruptedException {
+        long appended = appendedRecords.get();
+        synchronized (this) {
+            while (writtenRecords < appended && writer != null && !failed) {
+                wait(100);
+            }
+        }
+        return writtenLength;
+    }
+
+    /**
+     * To be called before changing any seat, so a change is only applied when it can still be journaled.
+     *
+     * @throws JournalUnavailableException when the journal failed.
+     */
+    public void checkWritable() {
+        if (failed) {
+            throw new JournalUnavailableException();
+        }
+    }
+
+    /**
+     * Reads every complete record, in the order they were written. Must be called before {@link #start()}.
+     *
+     * @return the number of records read.
+     */
+    public int replay(Consumer<JournalRecord> consumer) {
+        return replay(0, consumer);
+    }
+
+    /**
+     * Reads every complete record from the given position, in the order they were written. When the journal is shorter than the position,
+     * it is not the journal the position was taken from, so it is read from the start. Must be called before {@link #start()}.
+     *
+     * @return the number of records read.
+     */
+    public int replay(long fromPosition, Consumer<JournalRecord> consumer) {
+        Path path = Path.of(journalProperties.getFile());
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        int records = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            validLength = fromPosition;
+            if (fromPosition > Files.size(path)) {
+                log.warn("Journal {} is shorter than position {}, replaying it from the start", path, fromPosition);
+                validLength = 0;
+            }
+            input.skipNBytes(validLength);
+
+            while (true) {
+                JournalRecord record = readRecord(input);
+                if (record == null) {
+                    break;
+                }
+                consumer.accept(record);
+                records++;
+            }
+
+            long size = Files.size(path);
+            if (validLength < size) {
+                log.warn("Dropping {} bytes of an incomplete record at the end of journal {}", size - validLength, path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading journal " + path, e);
+        }
+        return records;
+    }
+
+    /**
+     * Opens the journal for appending, after the last complete record, and starts the writer thread.
+     */
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Path path = Path.of(journalProperties.getFile());
+        try {
+            FileChannel fileChannel = channelOpener.open(path);
+            fileChannel.truncate(validLength);
+            fileChannel.position(validLength);
+            writtenLength = validLength;
+            channel = fileChannel;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening journal " + path, e);
+        }
+
+        running = true;
+        writer = Thread.ofPlatform().name("seat-journal").daemon().start(this::writeBatches);
+    }
+
+    public void append(String eventId, SeatStatus from, SeatStatus to, List<SeatKey> seats) {
+        append(eventId, from, to, seats, null);
+    }
+
+    public void append(String eventId, SeatStatus from, SeatStatus to, List<SeatKey> seats, String holdId) {
+        if (channel != null && !failed) {
+            appendedRecords.incrementAndGet();
+            pending.add(encode(new JournalRecord(System.currentTimeMillis(), eventId, from, to, seats, holdId)));
+        }
+    }
+
+    /**
+     * Writes and syncs whatever is still queued, then closes the journal.
+     */
+    @PreDestroy
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Error closing journal", e);
+        }
+        writer = null;
+        channel = null;
+    }
+
+    private void writeBatches() {
+        long syncIntervalNanos = journalProperties.getSyncInterval().toNanos();
+        List<byte[]> batch = new ArrayList<>();
+
+        while ((running || !pending.isEmpty()) && !failed) {
+            try {
+                byte[] first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch);
+
+                long start = System.nanoTime();
+                write(batch);
+                batch.clear();
+                TimeUnit.NANOSECONDS.sleep(syncIntervalNanos - (System.nanoTime() - start));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<byte[]> batch) {
+        ByteBuffer[] buffers = batch.stream().map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+        try {
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+            writtenLength = channel.position();
+            synchronized (this) {
+                writtenRecords += batch.size();
+                notifyAll();
+            }
+        } catch (IOException e) {
+            log.error("Error writing {} records to the journal, refusing any further change", batch.size(), e);
+            fail();
+        }
+    }
+
+    private void fail() {
+        failed = true;
+        pending.clear();
+        try {
+            channel.truncate(writtenLength);
+            channel.position(writtenLength);
+        } catch (IOException e) {
+            // The torn batch stays at the end of the journal, where its checksum drops it on replay.
+            log.error("Error cutting the journal back to {} bytes", writtenLength, e);
+        }
+    }
+
+    private static byte[] encode(JournalRecord record) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + record.seats().size() * 24);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeLong(record.timestampMillis());
+            output.writeByte(record.from().ordinal());
+            output.writeByte(record.to().ordinal());
+            output.writeUTF(record.eventId());
+            output.writeInt(record.seats().size());
+            for (SeatKey seat : record.seats()) {
+                output.writeUTF(seat.seatNumber());
+                output.writeUTF(seat.row());
+                output.writeUTF(seat.level());
+                output.writeUTF(seat.section());
+            }
+            // Last, so a record without a hold id reads the same as the records written before hold ids.
+            if (record.holdId() != null) {
+                output.writeUTF(record.holdId());
+            }
+
+            // Fill in the frame: body length and CRC32 of the body.
+            ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+            int bodyLength = frame.capacity() - Integer.BYTES * 2;
+            CRC32 crc = new CRC32();
+            crc.update(frame.array(), Integer.BYTES * 2, bodyLength);
+            frame.putInt(0, bodyLength);
+            frame.putInt(Integer.BYTES, (int) crc.getValue());
+            return frame.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the next record, or null at the end of the journal or at the first incomplete or corrupted record.
+     */
+    private JournalRecord readRecord(DataInputStream input) throws IOException {
+        byte[] body;
+        int expectedCrc;
+        try {
+            int bodyLength = input.readInt();
+            expectedCrc = input.readInt();
+            if (bodyLength < 0 || bodyLength > MAX_RECORD_BYTES) {
+                return null;
+            }
+            body = new byte[bodyLength];
+            input.readFully(body);
+        } catch (EOFException e) {
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        validLength += Integer.BYTES * 2 + body.length;
+
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+        long timestampMillis = record.readLong();
+        SeatStatus from = SeatStatus.values()[record.readByte()];
+        SeatStatus to = SeatStatus.values()[record.readByte()];
+        String eventId = record.readUTF();
+        int seatCount = record.readInt();
+        List<SeatKey> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new SeatKey(record.readUTF(), record.readUTF(), record.readUTF(), record.readUTF()));
+        }
+        String holdId = record.available() > 0 ? record.readUTF() : null;
+        return new JournalRecord(timestampMillis, eventId, from, to, seats, holdId);
+    }
+
+    interface ChannelOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    /**
+     * One change of one request: the seats went from one status to another at the given time, in or out of the given hold, if any.
+     */
+    public record JournalRecord(long timestampMillis, String eventId, SeatStatus from, SeatStatus to, List<SeatKey> seats, String holdId) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticketfma.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one bucket per tick for the next 64 ticks, level 1 one bucket per 64 ticks for the next 64^2
+ * ticks, and so on. When time reaches a bucket of an upper level, its entries move down to finer buckets, until they reach level 0 and
+ * expire. Scheduling and expiring an entry are O(1), whatever the number of pending entries.
+ * <p>
+ * Any thread may schedule: entries go to a lock-free inbox that {@link #advance} empties into the wheel. Only one thread advances at a
+ * time. An entry expires on the first tick at or after its deadline, so never early and at most one tick late.
+ */
+final class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Enough levels to cover every positive long tick.
+    private static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+
+    private final long tickMillis;
+    private final ConcurrentLinkedQueue<Entry<T>> inbox = new ConcurrentLinkedQueue<>();
+    // Buckets are created when the first entry lands on them.
+    private final List<Entry<T>>[][] buckets;
+    private long currentTick;
+    // Entries in the buckets, not counting the inbox.
+    private long size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new List[LEVELS][WHEEL_SIZE];
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        // Rounded up, so an entry never expires before its deadline.
+        inbox.add(new Entry<>(item, Math.ceilDiv(deadlineMillis, tickMillis)));
+    }
+
+    /**
+     * Moves the wheel to the tick of the given time and hands every entry due by then to the consumer, in bulk per bucket.
+     */
+    synchronized void advance(long nowMillis, Consumer<T> expired) {
+        for (Entry<T> entry = inbox.poll(); entry != null; entry = inbox.poll()) {
+            place(entry, expired);
+        }
+
+        // Once the wheel is empty there is nothing left to cascade or expire, so it jumps straight to the target.
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+
+            // Upper levels first, so entries due on this tick end up expired below.
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    takeBucket(level, slot(currentTick, level)).forEach(entry -> place(entry, expired));
+                }
+            }
+
+            takeBucket(0, slot(currentTick, 0)).forEach(entry -> expired.accept(entry.item()));
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    private List<Entry<T>> takeBucket(int level, int slot) {
+        List<Entry<T>> bucket = buckets[level][slot];
+        if (bucket == null) {
+            return List.of();
+        }
+        buckets[level][slot] = null;
+        size -= bucket.size();
+        return bucket;
+    }
+
+    private void place(Entry<T> entry, Consumer<T> expired) {
+        long delta = entry.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            expired.accept(entry.item());
+            return;
+        }
+
+        // The level whose buckets span the delta. An entry lands at most one full turn ahead of the current bucket of its level, which is
+        // exactly when that bucket comes around again.
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+
+        int slot = slot(entry.deadlineTick(), level);
+        if (buckets[level][slot] == null) {
+            buckets[level][slot] = new ArrayList<>();
+        }
+        buckets[level][slot].add(entry);
+        size++;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
@@ -1,18 +1,42 @@
 package com.ticketfma.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import com.ticketfma.model.dto.EventAvailabilityDTO;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.dto.InventoryReloadDTO;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
 import com.ticketfma.model.dto.SeatDTO;
 import com.ticketfma.model.dto.SeatRequest;
 
 public interface IEventService {
     List<EventDTO> getAllEvents(String sortBy);
 
+    EventPageDTO getEventPage(String sortBy, String order, String cursor, int limit);
+
+    List<EventDTO> searchEvents(LocalDate from, LocalDate to, String namePrefix);
+
     Optional<SeatDTO> getSeat(String eventId, SeatRequest seatRequest);
 
     List<SeatDTO> getBestSeats(String eventId, int quantity);
 
-    void reserveSeats(String eventId, List<SeatRequest> seatRequests);
+    EventAvailabilityDTO getAvailability(String eventId);
+
+    ReservationResultDTO reserveSeats(String eventId, List<SeatRequest> seatRequests);
+
+    List<ReservationResultDTO> reserveSeats(List<ReservationRequest> reservationRequests);
+
+    void confirmSeats(String eventId, String holdId, List<SeatRequest> seatRequests, String idempotencyKey);
+
+    boolean isReservationQueued();
+
+    ReservationResultDTO enqueueReservation(String eventId, List<SeatRequest> seatRequests);
+
+    ReservationResultDTO getReservation(String reservationId);
+
+    InventoryReloadDTO reloadInventory();
 }
@@ -1,24 +1,50 @@
 package com.ticketfma.service.impl;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.exception.InventoryReloadException;
+import com.ticketfma.exception.ReservationNotFoundException;
 import com.ticketfma.exception.SeatNotFoundException;
+import com.ticketfma.exception.SeatNotHeldException;
 import com.ticketfma.exception.SeatUnavailableException;
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.ReservationResult;
 import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatReservation;
+import com.ticketfma.model.dto.EventAvailabilityDTO;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.dto.InventoryReloadDTO;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
 import com.ticketfma.model.dto.SeatDTO;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.ReservationOutcome;
+import com.ticketfma.model.enums.SortOrder;
 import com.ticketfma.repository.IEventRepository;
 import com.ticketfma.service.IEventService;
+import com.ticketfma.service.mapper.AvailabilityMapper;
 import com.ticketfma.service.mapper.EventMapper;
+import com.ticketfma.service.mapper.InventoryMapper;
+import com.ticketfma.service.mapper.ReservationMapper;
 import com.ticketfma.service.mapper.SeatMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,17 +54,58 @@ import lombok.extern.slf4j.Slf4j;
 public class EventService implements IEventService {
 
     private final IEventRepository repository;
+    private final ReservationQueue reservationQueue;
+    private final IdempotencyCache idempotencyCache;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<EventSort, MappedEvents> mappedEvents = new ConcurrentHashMap<>();
 
     @Override
     public List<EventDTO> getAllEvents(String sortBy) {
+        return timer("getAllEvents").record(() -> mapAllEvents(sortBy));
+    }
+
+    private List<EventDTO> mapAllEvents(String sortBy) {
         List<Event> events = repository.getAllEvents(sortBy);
-        return events.stream()
-                .map(EventMapper::toEventDTO)
-                .collect(Collectors.toList());
+
+        // The repository returns the same snapshot until the event set changes, so the mapped list is reused until then.
+        EventSort sort = EventSort.from(sortBy);
+        MappedEvents mapped = mappedEvents.get(sort);
+        if (mapped == null || mapped.events() != events) {
+            mapped = new MappedEvents(events, events.stream().map(EventMapper::toEventDTO).toList());
+            mappedEvents.put(sort, mapped);
+        }
+
+        return mapped.eventDTOs();
+    }
+
+    /**
+     * The cursor keeps the sort and order of the first page, so they are only read from the request when there is no cursor.
+     */
+    @Override
+    public EventPageDTO getEventPage(String sortBy, String order, String cursor, int limit) {
+        return timer("getEventPage").record(() -> findEventPage(sortBy, order, cursor, limit));
+    }
+
+    private EventPageDTO findEventPage(String sortBy, String order, String cursor, int limit) {
+        if (cursor == null) {
+            return EventMapper.toEventPageDTO(repository.getEventPage(EventSort.from(sortBy), SortOrder.from(order), null, limit));
+        }
+
+        EventCursor after = EventMapper.toEventCursor(cursor);
+        return EventMapper.toEventPageDTO(repository.getEventPage(after.getSort(), after.getOrder(), after, limit));
+    }
+
+    @Override
+    public List<EventDTO> searchEvents(LocalDate from, LocalDate to, String namePrefix) {
+        return timer("searchEvents").record(() -> repository.searchEvents(from, to, namePrefix).stream().map(EventMapper::toEventDTO).toList());
     }
 
     @Override
     public Optional<SeatDTO> getSeat(String eventId, SeatRequest seatRequest) {
+        return timer("getSeat").record(() -> findSeat(eventId, seatRequest));
+    }
+
+    private Optional<SeatDTO> findSeat(String eventId, SeatRequest seatRequest) {
         if (!isEventExists(eventId)) {
             throw new EventNotFoundException(eventId);
         }
@@ -49,6 +116,10 @@ public class EventService implements IEventService {
 
     @Override
     public List<SeatDTO> getBestSeats(String eventId, int quantity) {
+        return timer("getBestSeats").record(() -> findBestSeats(eventId, quantity));
+    }
+
+    private List<SeatDTO> findBestSeats(String eventId, int quantity) {
         if (!isEventExists(eventId)) {
             throw new EventNotFoundException(eventId);
         }
@@ -60,50 +131,157 @@ public class EventService implements IEventService {
     }
 
     @Override
-    public void reserveSeats(String eventId, List<SeatRequest> seatRequests) {
+    public EventAvailabilityDTO getAvailability(String eventId) {
+        return timer("getAvailability").record(() -> findAvailability(eventId));
+    }
+
+    private EventAvailabilityDTO findAvailability(String eventId) {
+        if (!isEventExists(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+
+        return AvailabilityMapper.toEventAvailabilityDTO(repository.getAvailability(eventId));
+    }
+
+    @Override
+    public ReservationResultDTO reserveSeats(String eventId, List<SeatRequest> seatRequests) {
+        return timer("reserveSeats").record(() -> holdSeats(eventId, seatRequests));
+    }
+
+    private ReservationResultDTO holdSeats(String eventId, List<SeatRequest> seatRequests) {
+        if (!isEventExists(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+
+        ReservationResult result = repository.reserveSeats(eventId, seatRequests);
+        throwIfFailed(result, seatRequest -> new SeatUnavailableException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(),
+                seatRequest.getSection()));
+        return ReservationMapper.toReservationResultDTO(eventId, result);
+    }
+
+    /**
+     * Only the seats of the given hold are sold. With an idempotency key, a retry is answered with the result of the first confirmation,
+     * without touching the seats again, as long as it names the same hold and seats.
+     */
+    @Override
+    public void confirmSeats(String eventId, String holdId, List<SeatRequest> seatRequests, String idempotencyKey) {
         if (!isEventExists(eventId)) {
             throw new EventNotFoundException(eventId);
         }
 
-        for (SeatRequest seatRequest : seatRequests) {
-            if (!isSeatRequestExists(eventId, seatRequest)) {
+        ReservationResult result = idempotencyKey == null
+                ? repository.confirmSeats(eventId, holdId, seatRequests)
+                : idempotencyCache.getOrCompute(eventId + "/" + idempotencyKey, new Confirmation(holdId, List.copyOf(seatRequests)),
+                        () -> repository.confirmSeats(eventId, holdId, seatRequests));
+        throwIfFailed(result, seatRequest -> new SeatNotHeldException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(),
+                seatRequest.getSection()));
+    }
+
+    /**
+     * The first seat that failed, in the order of the request, decides the error.
+     */
+    private void throwIfFailed(ReservationResult result, Function<SeatRequest, RuntimeException> unavailable) {
+        for (SeatReservation seat : result.getSeats()) {
+            SeatRequest seatRequest = seat.getSeatRequest();
+            if (seat.getOutcome() == ReservationOutcome.NOT_FOUND) {
+                log.warn("Seat '{}' in row '{}' in level '{}' in section '{}' does not exist", seatRequest.getSeatNumber(), seatRequest.getRow(),
+                        seatRequest.getLevel(), seatRequest.getSection());
                 throw new SeatNotFoundException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
             }
 
-            if (!isSeatRequestAvailable(eventId, seatRequest)) {
-                throw new SeatUnavailableException(seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection());
+            if (seat.getOutcome() == ReservationOutcome.UNAVAILABLE) {
+                throw unavailable.apply(seatRequest);
+            }
+        }
+    }
+
+    /**
+     * Reservations for unknown events are answered here; all the others go to the repository in one call, which groups them by event.
+     */
+    @Override
+    public List<ReservationResultDTO> reserveSeats(List<ReservationRequest> reservationRequests) {
+        ReservationResultDTO[] results = new ReservationResultDTO[reservationRequests.size()];
+        List<ReservationRequest> knownRequests = new ArrayList<>(reservationRequests.size());
+        List<Integer> knownIndexes = new ArrayList<>(reservationRequests.size());
+
+        for (int i = 0; i < reservationRequests.size(); i++) {
+            ReservationRequest reservationRequest = reservationRequests.get(i);
+            if (isEventExists(reservationRequest.getEventId())) {
+                knownRequests.add(reservationRequest);
+                knownIndexes.add(i);
+            } else {
+                results[i] = ReservationMapper.toEventNotFoundDTO(reservationRequest);
             }
         }
 
-        repository.reserveSeats(eventId, seatRequests);
+        if (!knownRequests.isEmpty()) {
+            List<ReservationResult> reservationResults = repository.reserveSeats(knownRequests);
+            for (int i = 0; i < knownRequests.size(); i++) {
+                results[knownIndexes.get(i)] = ReservationMapper.toReservationResultDTO(knownRequests.get(i).getEventId(), reservationResults.get(i));
+            }
+        }
+
+        return Arrays.asList(results);
     }
 
-    private boolean isEventExists(String eventId) {
-        if (!repository.eventExists(eventId)) {
-            log.warn("Event with id {} not found", eventId);
-            return false;
+    @Override
+    public boolean isReservationQueued() {
+        return reservationQueue.isEnabled();
+    }
+
+    /**
+     * Only the event is checked here; the seats are checked when the worker of the event applies the reservation.
+     */
+    @Override
+    public ReservationResultDTO enqueueReservation(String eventId, List<SeatRequest> seatRequests) {
+        if (!isEventExists(eventId)) {
+            throw new EventNotFoundException(eventId);
         }
 
-        return true;
+        return ReservationMapper.toReservationResultDTO(reservationQueue.submit(eventId, seatRequests));
     }
 
-    private boolean isSeatRequestExists(String eventId, SeatRequest seatRequest) {
-        if (!repository.seatExists(eventId, seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection())) {
-            log.warn("Seat '{}' in row '{}' in level '{}' in section '{}' does not exist", seatRequest.getSeatNumber(), seatRequest.getRow(),
-                    seatRequest.getLevel(), seatRequest.getSection());
-            return false;
+    @Override
+    public ReservationResultDTO getReservation(String reservationId) {
+        return reservationQueue.getReservation(reservationId)
+                .map(ReservationMapper::toReservationResultDTO)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+    }
+
+    @Override
+    public InventoryReloadDTO reloadInventory() {
+        InventoryReload inventoryReload;
+        try {
+            inventoryReload = repository.reloadInventory();
+        } catch (UncheckedIOException e) {
+            throw new InventoryReloadException(e);
         }
+        reservationQueue.stopRemovedEvents();
+        return InventoryMapper.toInventoryReloadDTO(inventoryReload);
+    }
 
-        return true;
+    /**
+     * Failed calls are timed too, since their exception propagates through the timer.
+     */
+    private Timer timer(String operation) {
+        return meterRegistry.timer("ticketfma.service", "operation", operation);
     }
 
-    private boolean isSeatRequestAvailable(String eventId, SeatRequest seatRequest) {
-        if (!repository.seatAvailable(eventId, seatRequest.getSeatNumber(), seatRequest.getRow(), seatRequest.getLevel(), seatRequest.getSection())) {
-            log.warn("Seat '{}' in row '{}' in level '{}' in section '{}' is already reserved", seatRequest.getSeatNumber(), seatRequest.getRow(),
-                    seatRequest.getLevel(), seatRequest.getSection());
+    private boolean isEventExists(String eventId) {
+        if (!repository.eventExists(eventId)) {
+            log.warn("Event with id {} not found", eventId);
             return false;
         }
 
         return true;
     }
+
+    private record MappedEvents(List<Event> events, List<EventDTO> eventDTOs) {
+    }
+
+    /**
+     * What an idempotency key of a confirmation stands for.
+     */
+    private record Confirmation(String holdId, List<SeatRequest> seatRequests) {
+    }
 }
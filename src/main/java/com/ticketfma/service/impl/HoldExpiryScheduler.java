@@ -0,0 +1,56 @@
+package com.ticketfma.service.impl;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.repository.IEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Releases expired holds once per tick, on a single thread.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class HoldExpiryScheduler {
+
+    private final IEventRepository repository;
+    private final ReservationProperties reservationProperties;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        if (reservationProperties.getHoldTtl().toMillis() <= 0) {
+            log.info("Hold TTL is disabled, seats stay on HOLD until they are sold");
+            return;
+        }
+
+        long tickMillis = reservationProperties.getHoldExpiryTick().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("hold-expiry").daemon().factory());
+        executor.scheduleAtFixedRate(this::releaseExpiredHolds, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void releaseExpiredHolds() {
+        // An exception would cancel the next runs, so it is only logged.
+        try {
+            repository.releaseExpiredHolds(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Failed to release expired holds", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ticketfma.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.IdempotencyKeyReusedException;
+import com.ticketfma.model.ReservationResult;
+
+/**
+ * Results of the confirmations, by idempotency key. A retry with the same key gets the first result without touching the seats, and a
+ * retry that arrives while the first request is still running waits for it instead of running again. A key is bound to the request it
+ * came with: reused for another request, it is refused. Only successful confirmations are kept, so a failed one can be retried.
+ * <p>
+ * Every key lives for the same TTL, so the insertion order is also the expiry order: the oldest keys are evicted first, either because
+ * their TTL is over or because the cache is full. Nothing here takes a lock.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final long ttlMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CacheEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public IdempotencyCache(ReservationProperties reservationProperties) {
+        this(reservationProperties, System::currentTimeMillis);
+    }
+
+    IdempotencyCache(ReservationProperties reservationProperties, LongSupplier clock) {
+        this.ttlMillis = reservationProperties.getIdempotencyTtl().toMillis();
+        this.maxKeys = reservationProperties.getIdempotencyMaxKeys();
+        this.clock = clock;
+    }
+
+    /**
+     * @param request what the key stands for, compared with {@link Object#equals(Object)} to the request the key was first used with.
+     * @return the cached result of the key, or the result of the action, which is then cached when every seat is confirmed. A failed
+     *         action, or a confirmation that failed for some seat, is not cached.
+     * @throws IdempotencyKeyReusedException when the key is cached for another request.
+     */
+    public ReservationResult getOrCompute(String key, Object request, Supplier<ReservationResult> action) {
+        long now = clock.getAsLong();
+        CacheEntry entry = new CacheEntry(key, request, now + ttlMillis, new CompletableFuture<>());
+
+        while (true) {
+            CacheEntry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                break;
+            }
+            if (existing.expiresAt() > now) {
+                if (!existing.request().equals(request)) {
+                    throw new IdempotencyKeyReusedException(key);
+                }
+                return join(existing);
+            }
+            if (entries.replace(key, existing, entry)) {
+                break;
+            }
+        }
+
+        insertionOrder.add(entry);
+        evict(now);
+
+        try {
+            ReservationResult result = action.get();
+            if (!result.isReserved()) {
+                entries.remove(key, entry);
+            }
+            entry.result().complete(result);
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+        return entry.result().join();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        for (CacheEntry oldest = insertionOrder.peek(); oldest != null; oldest = insertionOrder.peek()) {
+            if (oldest.expiresAt() > now && entries.size() <= maxKeys) {
+                return;
+            }
+            // Another thread may have taken the oldest one first; then this one evicts the next, which is at most one key early.
+            CacheEntry evicted = insertionOrder.poll();
+            if (evicted != null) {
+                entries.remove(evicted.key(), evicted);
+            }
+        }
+    }
+
+    private static ReservationResult join(CacheEntry entry) {
+        try {
+            return entry.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CacheEntry(String key, Object request, long expiresAt, CompletableFuture<ReservationResult> result) {
+    }
+}
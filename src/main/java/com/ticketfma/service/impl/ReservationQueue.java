@@ -0,0 +1,204 @@
+package com.ticketfma.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.exception.ReservationQueueFullException;
+import com.ticketfma.model.Reservation;
+import com.ticketfma.model.ReservationResult;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.repository.IEventRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One bounded queue per event, drained by a single worker on a virtual thread. The worker takes whatever is pending, up to the batch size,
+ * and applies it to the repository in one call, so the reservations of an event are applied one batch at a time and in arrival order.
+ * <p>
+ * A reservation can be read until its result is a TTL old. Every result lives for the same TTL, so the order they are applied in is also
+ * their expiry order: the oldest results are evicted first, either because their TTL is over or because too many are kept. Pending
+ * reservations are never evicted; the queue capacity already bounds them.
+ */
+@Slf4j
+@Component
+public class ReservationQueue {
+
+    private final IEventRepository repository;
+    private final ReservationProperties reservationProperties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, EventWorker> workers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<AppliedReservation> appliedOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger appliedCount = new AtomicInteger();
+
+    @Autowired
+    public ReservationQueue(IEventRepository repository, ReservationProperties reservationProperties, MeterRegistry meterRegistry) {
+        this(repository, reservationProperties, meterRegistry, System::currentTimeMillis);
+    }
+
+    ReservationQueue(IEventRepository repository, ReservationProperties reservationProperties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.repository = repository;
+        this.reservationProperties = reservationProperties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws EventNotFoundException when the event does not exist, or a reload removed it meanwhile.
+     * @throws ReservationQueueFullException when the queue of the event is full.
+     */
+    public Reservation submit(String eventId, List<SeatRequest> seatRequests) {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(eventId);
+        reservationRequest.setSeats(seatRequests);
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), reservationRequest);
+
+        EventWorker worker = workers.computeIfAbsent(eventId, id -> repository.eventExists(id) ? startWorker(id) : null);
+        if (worker == null) {
+            throw new EventNotFoundException(eventId);
+        }
+        // A reload may have removed the event while its worker was starting, and stopped the removed workers before this one was in.
+        if (!repository.eventExists(eventId)) {
+            if (workers.remove(eventId, worker)) {
+                stop(worker);
+            }
+            throw new EventNotFoundException(eventId);
+        }
+
+        evict(clock.getAsLong());
+        reservations.put(reservation.getReservationId(), reservation);
+        if (!worker.queue().offer(reservation)) {
+            reservations.remove(reservation.getReservationId());
+            log.warn("Reservation queue of event {} is full", eventId);
+            throw new ReservationQueueFullException(eventId);
+        }
+
+        // The worker was stopped meanwhile, and may have failed its queue before this reservation got in: then it is failed here.
+        if (workers.get(eventId) != worker && worker.queue().remove(reservation)) {
+            fail(List.of(reservation));
+        }
+        return reservation;
+    }
+
+    public boolean isEnabled() {
+        return reservationProperties.getMode() == ReservationProperties.Mode.QUEUE;
+    }
+
+    public Optional<Reservation> getReservation(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId));
+    }
+
+    /**
+     * Stops the workers of the events that no longer exist, after a reload. Their pending reservations fail.
+     */
+    public void stopRemovedEvents() {
+        workers.forEach((eventId, worker) -> {
+            if (!repository.eventExists(eventId) && workers.remove(eventId, worker)) {
+                log.info("Stopping the reservation worker of removed event {}", eventId);
+                stop(worker);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.values().forEach(worker -> worker.thread().interrupt());
+    }
+
+    private EventWorker startWorker(String eventId) {
+        BlockingQueue<Reservation> queue = new ArrayBlockingQueue<>(reservationProperties.getQueueCapacity());
+        Gauge gauge = Gauge.builder("ticketfma.reservation.queue", queue, BlockingQueue::size)
+                .description("Reservations waiting in the queue of the event")
+                .tag("event", eventId)
+                .register(meterRegistry);
+        Thread thread = Thread.ofVirtual().name("reservations-" + eventId).start(() -> drain(eventId, queue));
+        return new EventWorker(queue, thread, gauge);
+    }
+
+    private void stop(EventWorker worker) {
+        worker.thread().interrupt();
+        meterRegistry.remove(worker.gauge());
+    }
+
+    private void drain(String eventId, BlockingQueue<Reservation> queue) {
+        int batchSize = reservationProperties.getQueueBatchSize();
+        List<Reservation> batch = new ArrayList<>(batchSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            try {
+                List<ReservationResult> results = repository.reserveSeats(batch.stream().map(Reservation::getReservationRequest).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).setResult(results.get(i));
+                    applied(batch.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} reservations of event {}", batch.size(), eventId, e);
+                fail(batch);
+            }
+            batch.clear();
+            evict(clock.getAsLong());
+        }
+
+        // Stopped: whatever is still queued will never be applied.
+        queue.drainTo(batch);
+        fail(batch);
+    }
+
+    private void fail(List<Reservation> failed) {
+        for (Reservation reservation : failed) {
+            reservation.setFailed(true);
+            applied(reservation);
+        }
+    }
+
+    private void applied(Reservation reservation) {
+        appliedOrder.add(new AppliedReservation(reservation.getReservationId(),
+                clock.getAsLong() + reservationProperties.getQueueResultTtl().toMillis()));
+        appliedCount.incrementAndGet();
+    }
+
+    private void evict(long now) {
+        for (AppliedReservation oldest = appliedOrder.peek(); oldest != null; oldest = appliedOrder.peek()) {
+            if (oldest.expiresAt() > now && appliedCount.get() <= reservationProperties.getQueueMaxResults()) {
+                return;
+            }
+            // Another thread may have taken the oldest one first; then this one evicts the next, which is at most one result early.
+            AppliedReservation evicted = appliedOrder.poll();
+            if (evicted != null) {
+                appliedCount.decrementAndGet();
+                reservations.remove(evicted.reservationId());
+            }
+        }
+    }
+
+    private record EventWorker(BlockingQueue<Reservation> queue, Thread thread, Gauge gauge) {
+    }
+
+    private record AppliedReservation(String reservationId, long expiresAt) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.ticketfma.service.impl;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.repository.IEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the inventory snapshot once per interval and once more on shutdown, on a single thread.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SnapshotScheduler {
+
+    private final IEventRepository repository;
+    private final InventoryProperties inventoryProperties;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        if (!StringUtils.hasText(inventoryProperties.getSnapshotFile())) {
+            return;
+        }
+
+        long intervalMillis = inventoryProperties.getSnapshotInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("inventory-snapshot").daemon().factory());
+        executor.scheduleWithFixedDelay(this::writeSnapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for a snapshot in progress, then writes the last one. The repository is still up, since this component depends on it.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeSnapshot();
+    }
+
+    private void writeSnapshot() {
+        // An exception would cancel the next runs, so it is only logged.
+        try {
+            repository.writeSnapshot();
+        } catch (RuntimeException e) {
+            log.error("Failed to write the inventory snapshot", e);
+        }
+    }
+}
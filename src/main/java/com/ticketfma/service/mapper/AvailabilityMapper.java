@@ -0,0 +1,39 @@
+package com.ticketfma.service.mapper;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.SeatCount;
+import com.ticketfma.model.dto.EventAvailabilityDTO;
+import com.ticketfma.model.dto.SeatCountDTO;
+
+public class AvailabilityMapper {
+
+    public static EventAvailabilityDTO toEventAvailabilityDTO(EventAvailability eventAvailability) {
+        return EventAvailabilityDTO.builder()
+                .eventId(eventAvailability.getEventId())
+                .seats(toSeatCountDTO(eventAvailability.getSeats()))
+                .levels(mapValues(eventAvailability.getLevels(), AvailabilityMapper::toSeatCountDTO))
+                .sections(mapValues(eventAvailability.getSections(), sections -> mapValues(sections, AvailabilityMapper::toSeatCountDTO)))
+                .build();
+    }
+
+    public static SeatCountDTO toSeatCountDTO(SeatCount seatCount) {
+        return SeatCountDTO.builder()
+                .open(seatCount.getOpen())
+                .hold(seatCount.getHold())
+                .sold(seatCount.getSold())
+                .build();
+    }
+
+    /**
+     * @return the map sorted by key, so levels and sections always come in the same order.
+     */
+    private static <T, R> Map<String, R> mapValues(Map<String, T> map, Function<T, R> mapper) {
+        Map<String, R> mapped = new TreeMap<>();
+        map.forEach((key, value) -> mapped.put(key, mapper.apply(value)));
+        return mapped;
+    }
+}
@@ -1,10 +1,22 @@
 package com.ticketfma.service.mapper;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.ticketfma.exception.InvalidCursorException;
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.EventPage;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.SortOrder;
 
 public class EventMapper {
 
+    private static final String CURSOR_SEPARATOR = "|";
+
     public static EventDTO toEventDTO(Event event) {
         return EventDTO.builder()
                 .eventId(event.getEventId())
@@ -12,4 +24,38 @@ public class EventMapper {
                 .eventDate(event.getEventDate())
                 .build();
     }
+
+    public static EventPageDTO toEventPageDTO(EventPage eventPage) {
+        return EventPageDTO.builder()
+                .events(eventPage.getEvents().stream().map(EventMapper::toEventDTO).toList())
+                .nextCursor(eventPage.getNext() == null ? null : toCursor(eventPage.getNext()))
+                .build();
+    }
+
+    /**
+     * @return the cursor as an opaque URL-safe token. The name comes last, so it may contain the separator.
+     */
+    public static String toCursor(EventCursor eventCursor) {
+        String cursor = String.join(CURSOR_SEPARATOR, eventCursor.getSort().name(), eventCursor.getOrder().name(), eventCursor.getEventId(),
+                eventCursor.getEventDate().toString(), eventCursor.getName());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException when the token was not made by {@link #toCursor(EventCursor)}.
+     */
+    public static EventCursor toEventCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + CURSOR_SEPARATOR, 5);
+            return EventCursor.builder()
+                    .sort(EventSort.valueOf(parts[0]))
+                    .order(SortOrder.valueOf(parts[1]))
+                    .eventId(parts[2])
+                    .eventDate(LocalDate.parse(parts[3]))
+                    .name(parts[4])
+                    .build();
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.ticketfma.service.mapper;
+
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.dto.InventoryReloadDTO;
+
+public class InventoryMapper {
+
+    public static InventoryReloadDTO toInventoryReloadDTO(InventoryReload inventoryReload) {
+        return InventoryReloadDTO.builder()
+                .addedEvents(inventoryReload.getAddedEvents())
+                .removedEvents(inventoryReload.getRemovedEvents())
+                .replacedEvents(inventoryReload.getReplacedEvents())
+                .updatedEvents(inventoryReload.getUpdatedEvents())
+                .unchangedEvents(inventoryReload.getUnchangedEvents())
+                .updatedSeats(inventoryReload.getUpdatedSeats())
+                .build();
+    }
+}
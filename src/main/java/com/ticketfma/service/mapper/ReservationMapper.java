@@ -0,0 +1,77 @@
+package com.ticketfma.service.mapper;
+
+import java.util.List;
+
+import com.ticketfma.model.Reservation;
+import com.ticketfma.model.ReservationResult;
+import com.ticketfma.model.SeatReservation;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
+import com.ticketfma.model.dto.SeatReservationDTO;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationOutcome;
+import com.ticketfma.model.enums.ReservationStatus;
+
+public class ReservationMapper {
+
+    public static ReservationResultDTO toReservationResultDTO(String eventId, ReservationResult reservationResult) {
+        return ReservationResultDTO.builder()
+                .eventId(eventId)
+                .holdId(reservationResult.getHoldId())
+                .status(toReservationStatus(reservationResult))
+                .seats(reservationResult.getSeats().stream().map(ReservationMapper::toSeatReservationDTO).toList())
+                .build();
+    }
+
+    public static ReservationResultDTO toReservationResultDTO(Reservation reservation) {
+        String eventId = reservation.getReservationRequest().getEventId();
+        ReservationResult reservationResult = reservation.getResult();
+        ReservationResultDTO reservationResultDTO;
+        if (reservationResult != null) {
+            reservationResultDTO = toReservationResultDTO(eventId, reservationResult);
+        } else {
+            reservationResultDTO = ReservationResultDTO.builder()
+                    .eventId(eventId)
+                    .status(reservation.isFailed() ? ReservationStatus.FAILED : ReservationStatus.PENDING)
+                    .build();
+        }
+        reservationResultDTO.setReservationId(reservation.getReservationId());
+        return reservationResultDTO;
+    }
+
+    public static ReservationResultDTO toEventNotFoundDTO(ReservationRequest reservationRequest) {
+        return ReservationResultDTO.builder()
+                .eventId(reservationRequest.getEventId())
+                .status(ReservationStatus.EVENT_NOT_FOUND)
+                .seats(List.of())
+                .build();
+    }
+
+    /**
+     * The first seat that failed, in the order of the request, decides the status.
+     */
+    private static ReservationStatus toReservationStatus(ReservationResult reservationResult) {
+        for (SeatReservation seat : reservationResult.getSeats()) {
+            if (seat.getOutcome() == ReservationOutcome.NOT_FOUND) {
+                return ReservationStatus.SEAT_NOT_FOUND;
+            }
+
+            if (seat.getOutcome() == ReservationOutcome.UNAVAILABLE) {
+                return ReservationStatus.SEAT_UNAVAILABLE;
+            }
+        }
+
+        return ReservationStatus.RESERVED;
+    }
+
+    private static SeatReservationDTO toSeatReservationDTO(SeatReservation seatReservation) {
+        SeatRequest seatRequest = seatReservation.getSeatRequest();
+        return SeatReservationDTO.builder()
+                .seatNumber(seatRequest.getSeatNumber())
+                .row(seatRequest.getRow())
+                .level(seatRequest.getLevel())
+                .section(seatRequest.getSection())
+                .outcome(seatReservation.getOutcome())
+                .build();
+    }
+}
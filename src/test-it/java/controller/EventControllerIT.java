@@ -3,6 +3,7 @@ package controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -14,11 +15,19 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ticketfma.Application;
+import com.ticketfma.model.dto.ReservationRequest;
 import com.ticketfma.model.dto.SeatRequest;
 
 @SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -29,6 +38,10 @@ public class EventControllerIT {
     private static final String URI_GET_BEST_SEATS_SUFFIX = "/best-seats";
     private static final String URI_SEARCH_SEAT_SUFFIX = "/search-seat";
     private static final String URI_RESERVE_SEATS_SUFFIX = "/reserve-seats";
+    private static final String URI_CONFIRM_SEATS_SUFFIX = "/confirm-seats";
+    private static final String URI_RESERVE_SEATS_BATCH = "/api/v1/reservations:batch";
+    private static final String URI_RELOAD_INVENTORY = "/api/v1/inventory:reload";
+    private static final String URI_ACTUATOR_INVENTORY = "/actuator/inventory";
     private static final String VALID_EVENT_ID = "3001";
     private static final String INVALID_EVENT_ID = "9999";
     private static final String PARAM_SORT = "sort";
@@ -40,6 +53,12 @@ public class EventControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
     /* /api/v1/events - BEGIN */
     @Test
     public void givenNoSort_whenGetEvents_thenReturnAllEvents() throws Exception {
@@ -69,8 +88,70 @@ public class EventControllerIT {
                 .andExpect(jsonPath("$[0].eventId").value("3001")) // When sorted by date, the first event is "3001" in the data.csv.
                 .andReturn().getResponse().getContentAsString();
     }
+
+    @Test
+    public void givenLimit_whenGetEvents_thenFollowLinkToLastPage() throws Exception {
+        String next = mockMvc.perform(get(URI_GET_EVENTS)
+                        .param(PARAM_SORT, "date")
+                        .param("order", "desc")
+                        .param("limit", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].eventId").value("1000"))
+                .andExpect(jsonPath("$[2].eventId").value("2001"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+
+        assertThat(next).endsWith(">; rel=\"next\"");
+        String nextUri = next.substring(1, next.indexOf('>'));
+        mockMvc.perform(get(nextUri).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].eventId").value("3001"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void givenInvalidCursor_whenGetEvents_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get(URI_GET_EVENTS)
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
     /* /api/v1/events - END */
 
+    /* /api/v1/events/search - BEGIN */
+    @Test
+    public void givenDateRange_whenSearchEvents_thenReturnEventsOfTheRangeSortedByDate() throws Exception {
+        mockMvc.perform(get(URI_GET_EVENTS + "/search")
+                        .param("from", "2025-01-02")
+                        .param("to", "2025-01-03")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].eventId").value("2001"))
+                .andExpect(jsonPath("$[1].eventId").value("4001"));
+    }
+
+    @Test
+    public void givenNamePrefix_whenSearchEvents_thenReturnMatchingEvents() throws Exception {
+        mockMvc.perform(get(URI_GET_EVENTS + "/search")
+                        .param("name", "event 3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].eventId").value("3001"));
+    }
+
+    @Test
+    public void givenInvalidDate_whenSearchEvents_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get(URI_GET_EVENTS + "/search")
+                        .param("from", "01/02/2025")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+    /* /api/v1/events/search - END */
+
     /* /api/v1/events/{eventId}/search-seat - BEGIN */
     @Test
     public void givenValidEventIdAndValidSeatRequest_whenGetSeat_thenReturnSeat() throws Exception {
@@ -137,6 +218,27 @@ public class EventControllerIT {
     }
     /* /api/v1/events/{eventId}/best-seats - END */
 
+    /* /api/v1/events/{eventId}/availability - BEGIN */
+    @Test
+    public void givenValidEventId_whenGetAvailability_thenReturnCountsPerLevelAndSection() throws Exception {
+        // Event "1000" has three rows in the data.csv, on level A, section S1, and no test changes them.
+        mockMvc.perform(get(URI_GET_EVENTS + "/1000/availability").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventId").value("1000"))
+                .andExpect(jsonPath("$.seats.open").value(2))
+                .andExpect(jsonPath("$.seats.hold").value(0))
+                .andExpect(jsonPath("$.seats.sold").value(1))
+                .andExpect(jsonPath("$.levels.A.open").value(2))
+                .andExpect(jsonPath("$.sections.A.S1.sold").value(1));
+    }
+
+    @Test
+    public void givenInvalidEventId_whenGetAvailability_thenReturnNotFound() throws Exception {
+        mockMvc.perform(get(URI_GET_EVENTS + "/" + INVALID_EVENT_ID + "/availability").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+    /* /api/v1/events/{eventId}/availability - END */
+
     /* /v1/events/{eventId}/reserve-seats - BEGIN */
     @Test
     public void givenInvalidEventId_whenReserveSeats_thenReturnNotFound() throws Exception {
@@ -193,6 +295,111 @@ public class EventControllerIT {
     }
     /* /v1/events/{eventId}/reserve-seats - END */
 
+    /* /v1/events/{eventId}/confirm-seats - BEGIN */
+    @Test
+    public void givenHeldSeat_whenConfirmSeatsTwiceWithSameIdempotencyKey_thenSellSeatOnceAndAnswerBothWithOk() throws Exception {
+        String holdId = objectMapper.readTree(mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_RESERVE_SEATS_SUFFIX)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(getValidAndAvailableSeatRequestForEvent1000()))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("RESERVED"))
+                .andReturn().getResponse().getContentAsString()).get("holdId").asText();
+
+        // Another hold cannot sell the seat.
+        mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_CONFIRM_SEATS_SUFFIX)
+                        .param("holdId", "another-hold")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(getValidAndAvailableSeatRequestForEvent1000()))))
+                .andExpect(status().isConflict());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_CONFIRM_SEATS_SUFFIX)
+                            .param("holdId", holdId)
+                            .header("Idempotency-Key", "confirm-1000-10")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(getValidAndAvailableSeatRequestForEvent1000()))))
+                    .andExpect(status().isOk());
+        }
+
+        // The same key for another hold is refused instead of answered with the first result.
+        mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_CONFIRM_SEATS_SUFFIX)
+                        .param("holdId", "another-hold")
+                        .header("Idempotency-Key", "confirm-1000-10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(getValidAndAvailableSeatRequestForEvent1000()))))
+                .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_SEARCH_SEAT_SUFFIX)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(getValidAndAvailableSeatRequestForEvent1000())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SOLD"));
+
+        // Without the key, the confirmation runs again and the seat is no longer on hold.
+        mockMvc.perform(post(URI_GET_EVENTS + "/1000" + URI_CONFIRM_SEATS_SUFFIX)
+                        .param("holdId", holdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(getValidAndAvailableSeatRequestForEvent1000()))))
+                .andExpect(status().isConflict());
+    }
+    /* /v1/events/{eventId}/confirm-seats - END */
+
+    /* /v1/reservations:batch - BEGIN */
+    @Test
+    public void givenReservationsAcrossEvents_whenReserveSeatsBatch_thenReturnOutcomeOfEachReservation() throws Exception {
+        mockMvc.perform(post(URI_RESERVE_SEATS_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                getReservationRequest("2001", getValidAndAvailableSeatRequestForEvent2001()),
+                                getReservationRequest(INVALID_EVENT_ID, getValidAndAvailableSeatRequestForEvent2001()),
+                                getReservationRequest(VALID_EVENT_ID, getInvalidSeatRequest()),
+                                getReservationRequest("2001", getValidAndAvailableSeatRequestForEvent2001())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value("RESERVED"))
+                .andExpect(jsonPath("$[0].seats[0].outcome").value("RESERVED"))
+                .andExpect(jsonPath("$[1].status").value("EVENT_NOT_FOUND"))
+                .andExpect(jsonPath("$[2].status").value("SEAT_NOT_FOUND"))
+                .andExpect(jsonPath("$[3].status").value("SEAT_UNAVAILABLE")); // The first reservation of the batch took the seat.
+    }
+
+    @Test
+    public void givenReservationWithoutEventId_whenReserveSeatsBatch_thenReturnError400() throws Exception {
+        mockMvc.perform(post(URI_RESERVE_SEATS_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(getReservationRequest(" ", getInvalidSeatRequest())))))
+                .andExpect(status().isBadRequest());
+    }
+    /* /v1/reservations:batch - END */
+
+    /* /actuator/inventory - BEGIN */
+    @Test
+    public void givenSameInventory_whenReloadInventory_thenKeepEveryEvent() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<String> response = restTemplate.postForEntity("http://localhost:" + managementPort + URI_ACTUATOR_INVENTORY,
+                new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode inventoryReload = objectMapper.readTree(response.getBody());
+        assertThat(inventoryReload.get("unchangedEvents").asInt()).isEqualTo(4);
+        assertThat(inventoryReload.get("addedEvents").asInt()).isZero();
+        assertThat(inventoryReload.get("removedEvents").asInt()).isZero();
+        assertThat(inventoryReload.get("replacedEvents").asInt()).isZero();
+        mockMvc.perform(get(URI_GET_EVENTS).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+    }
+
+    @Test
+    public void givenApiPort_whenReloadInventory_thenNotFound() throws Exception {
+        mockMvc.perform(post(URI_RELOAD_INVENTORY))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(URI_ACTUATOR_INVENTORY))
+                .andExpect(status().isNotFound());
+    }
+    /* /actuator/inventory - END */
+
     /**
      * This method returns a valid seat from data.csv related to eventId = 3001.
      * Although the seat is valid, its status is HOLD.
@@ -222,6 +429,42 @@ public class EventControllerIT {
         return seatRequest;
     }
 
+    /**
+     * This method returns a valid and available seat from data.csv related to eventId = 2001.
+     *
+     * @return a valid seat from data.csv with status OPEN.
+     */
+    private SeatRequest getValidAndAvailableSeatRequestForEvent2001() {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setSeatNumber("20");
+        seatRequest.setRow("B1");
+        seatRequest.setLevel("B");
+        seatRequest.setSection("S2");
+        return seatRequest;
+    }
+
+    /**
+     * This method returns a valid and available seat from data.csv related to eventId = 1000.
+     * The seat appears three times in data.csv; the first row, with status OPEN, is the one kept.
+     *
+     * @return a valid seat from data.csv with status OPEN.
+     */
+    private SeatRequest getValidAndAvailableSeatRequestForEvent1000() {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setSeatNumber("10");
+        seatRequest.setRow("A1");
+        seatRequest.setLevel("A");
+        seatRequest.setSection("S1");
+        return seatRequest;
+    }
+
+    private ReservationRequest getReservationRequest(String eventId, SeatRequest seatRequest) {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(eventId);
+        reservationRequest.setSeats(List.of(seatRequest));
+        return reservationRequest;
+    }
+
     private SeatRequest getInvalidSeatRequest() {
         SeatRequest seatRequest = new SeatRequest();
         seatRequest.setSeatNumber("99");
@@ -1,6 +1,7 @@
 package com.ticketfma.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,13 +15,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.model.dto.EventAvailabilityDTO;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
+import com.ticketfma.model.dto.SeatCountDTO;
 import com.ticketfma.model.dto.SeatDTO;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationStatus;
 import com.ticketfma.model.enums.SeatStatus;
 import com.ticketfma.service.impl.EventService;
 
@@ -44,7 +52,7 @@ public class EventControllerTest {
         List<EventDTO> events = getEvents();
         when(eventService.getAllEvents(null)).thenReturn(events);
 
-        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.empty());
+        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.empty(), Optional.empty(), null, Optional.empty());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(events, response.getBody());
@@ -56,7 +64,7 @@ public class EventControllerTest {
         List<EventDTO> events = getEvents();
         when(eventService.getAllEvents(SORT_BY_NAME)).thenReturn(events);
 
-        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.of(SORT_BY_NAME));
+        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.of(SORT_BY_NAME), Optional.empty(), null, Optional.empty());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(events, response.getBody());
@@ -68,14 +76,52 @@ public class EventControllerTest {
         List<EventDTO> events = getEvents();
         when(eventService.getAllEvents(SORT_BY_DATE)).thenReturn(events);
 
-        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.of(SORT_BY_DATE));
+        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.of(SORT_BY_DATE), Optional.empty(), null, Optional.empty());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(events, response.getBody());
         verify(eventService).getAllEvents(SORT_BY_DATE);
     }
+
+    @Test
+    public void givenLimit_whenGetEvents_thenReturnFirstPageWithLinkToNextPage() {
+        List<EventDTO> events = getEvents();
+        when(eventService.getEventPage(SORT_BY_DATE, "desc", null, 2))
+                .thenReturn(EventPageDTO.builder().events(events).nextCursor("abc").build());
+
+        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.of(SORT_BY_DATE), Optional.of("desc"), 2, Optional.empty());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(events, response.getBody());
+        assertEquals("</api/v1/events?limit=2&cursor=abc>; rel=\"next\"", response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void givenCursorOfLastPage_whenGetEvents_thenReturnPageWithoutLink() {
+        List<EventDTO> events = getEvents();
+        when(eventService.getEventPage(null, null, "abc", 2)).thenReturn(EventPageDTO.builder().events(events).build());
+
+        ResponseEntity<List<EventDTO>> response = eventController.getEvents(Optional.empty(), Optional.empty(), 2, Optional.of("abc"));
+
+        assertEquals(events, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
     /* getEvents - END */
 
+    /* searchEvents - BEGIN */
+    @Test
+    public void givenDateRangeAndName_whenSearchEvents_thenReturnMatchingEvents() {
+        List<EventDTO> events = getEvents();
+        LocalDate from = LocalDate.parse("2025-01-01");
+        when(eventService.searchEvents(from, null, "event")).thenReturn(events);
+
+        ResponseEntity<List<EventDTO>> response = eventController.searchEvents(Optional.of(from), Optional.empty(), Optional.of("event"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(events, response.getBody());
+    }
+    /* searchEvents - END */
+
     /* getSeat - BEGIN */
     @Test
     public void givenValidEventIdAndValidSeatRequest_whenGetSeat_thenReturnSeat() {
@@ -139,6 +185,100 @@ public class EventControllerTest {
     }
     /* getBestSeats - END */
 
+    /* getAvailability - BEGIN */
+    @Test
+    public void givenValidEventId_whenGetAvailability_thenReturnAvailability() {
+        EventAvailabilityDTO availability = EventAvailabilityDTO.builder()
+                .eventId(VALID_EVENT_ID)
+                .seats(SeatCountDTO.builder().open(3).hold(1).sold(2).build())
+                .build();
+        when(eventService.getAvailability(VALID_EVENT_ID)).thenReturn(availability);
+
+        ResponseEntity<EventAvailabilityDTO> response = eventController.getAvailability(VALID_EVENT_ID);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(availability, response.getBody());
+    }
+
+    @Test
+    public void givenInvalidEventId_whenGetAvailability_thenThrowEventNotFoundException() {
+        when(eventService.getAvailability(INVALID_EVENT_ID)).thenThrow(new EventNotFoundException(INVALID_EVENT_ID));
+
+        assertThrows(EventNotFoundException.class, () -> eventController.getAvailability(INVALID_EVENT_ID));
+    }
+    /* getAvailability - END */
+
+    /* reserveSeats - BEGIN */
+    @Test
+    public void givenSynchronousReservations_whenReserveSeats_thenReturnCreated() {
+        List<SeatRequest> seatRequests = List.of(getSeatRequest());
+        ReservationResultDTO reservation = ReservationResultDTO.builder().eventId(VALID_EVENT_ID).holdId("hold-1").status(ReservationStatus.RESERVED).build();
+        when(eventService.isReservationQueued()).thenReturn(false);
+        when(eventService.reserveSeats(VALID_EVENT_ID, seatRequests)).thenReturn(reservation);
+
+        ResponseEntity<ReservationResultDTO> response = eventController.reserveSeats(VALID_EVENT_ID, seatRequests);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(reservation, response.getBody());
+    }
+
+    @Test
+    public void givenQueuedReservations_whenReserveSeats_thenReturnAcceptedWithReservationId() {
+        List<SeatRequest> seatRequests = List.of(getSeatRequest());
+        ReservationResultDTO reservation = ReservationResultDTO.builder().reservationId("r-1").eventId(VALID_EVENT_ID).status(ReservationStatus.PENDING).build();
+        when(eventService.isReservationQueued()).thenReturn(true);
+        when(eventService.enqueueReservation(VALID_EVENT_ID, seatRequests)).thenReturn(reservation);
+
+        ResponseEntity<ReservationResultDTO> response = eventController.reserveSeats(VALID_EVENT_ID, seatRequests);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(reservation, response.getBody());
+        assertEquals("/api/v1/reservations/r-1", response.getHeaders().getLocation().toString());
+    }
+    /* reserveSeats - END */
+
+    /* confirmSeats - BEGIN */
+    @Test
+    public void givenHeldSeats_whenConfirmSeats_thenReturnOk() {
+        List<SeatRequest> seatRequests = List.of(getSeatRequest());
+
+        ResponseEntity<Void> response = eventController.confirmSeats(VALID_EVENT_ID, "hold-1", seatRequests, "key");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(eventService).confirmSeats(VALID_EVENT_ID, "hold-1", seatRequests, "key");
+    }
+    /* confirmSeats - END */
+
+    /* getReservation - BEGIN */
+    @Test
+    public void givenReservationId_whenGetReservation_thenReturnReservation() {
+        ReservationResultDTO reservation = ReservationResultDTO.builder().reservationId("r-1").eventId(VALID_EVENT_ID).status(ReservationStatus.RESERVED).build();
+        when(eventService.getReservation("r-1")).thenReturn(reservation);
+
+        ResponseEntity<ReservationResultDTO> response = eventController.getReservation("r-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(reservation, response.getBody());
+    }
+    /* getReservation - END */
+
+    /* reserveSeatsBatch - BEGIN */
+    @Test
+    public void givenReservationRequests_whenReserveSeatsBatch_thenReturnResultOfEachReservation() {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(VALID_EVENT_ID);
+        reservationRequest.setSeats(List.of(getSeatRequest()));
+        List<ReservationResultDTO> results = List.of(ReservationResultDTO.builder().eventId(VALID_EVENT_ID).status(ReservationStatus.RESERVED).build());
+        when(eventService.reserveSeats(List.of(reservationRequest))).thenReturn(results);
+
+        ResponseEntity<List<ReservationResultDTO>> response = eventController.reserveSeats(List.of(reservationRequest));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+        verify(eventService).reserveSeats(List.of(reservationRequest));
+    }
+    /* reserveSeatsBatch - END */
+
     /* stubs - BEGIN */
     private List<EventDTO> getEvents() {
         return List.of(
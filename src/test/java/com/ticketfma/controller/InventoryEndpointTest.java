@@ -0,0 +1,35 @@
+package com.ticketfma.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ticketfma.model.dto.InventoryReloadDTO;
+import com.ticketfma.service.impl.EventService;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryEndpointTest {
+
+    @InjectMocks
+    private InventoryEndpoint inventoryEndpoint;
+
+    @Mock
+    private EventService eventService;
+
+    /* reloadInventory - BEGIN */
+    @Test
+    public void givenReloadedInventory_whenReloadInventory_thenReturnWhatChanged() {
+        InventoryReloadDTO inventoryReload = InventoryReloadDTO.builder().replacedEvents(1).unchangedEvents(3).build();
+        when(eventService.reloadInventory()).thenReturn(inventoryReload);
+
+        InventoryReloadDTO response = inventoryEndpoint.reloadInventory();
+
+        assertEquals(inventoryReload, response);
+    }
+    /* reloadInventory - END */
+}
@@ -0,0 +1,48 @@
+package com.ticketfma.repository.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Storage specific checks; the behaviour shared with the other storages is tested in {@link SeatInventoryTest}.
+ */
+@Slf4j
+public class ColumnarSeatInventoryTest {
+
+    @Test
+    public void givenManySeats_whenStoredColumnar_thenUseLessThanHalfTheHeapOfSeatObjects() {
+        int seatCount = 500_000;
+
+        ColumnarSeatInventory inventory = new ColumnarSeatInventory(SeatInventoryTest.createVenue(seatCount));
+
+        long columnarBytesPerSeat = inventory.columnBytes() / seatCount;
+        long objectBytesPerSeat = objectBytesPerSeat(seatCount);
+        log.info("Heap for {} seats: objects {} bytes per seat, columnar {} bytes per seat.", seatCount, objectBytesPerSeat, columnarBytesPerSeat);
+        Assertions.assertTrue(columnarBytesPerSeat * 2 < objectBytesPerSeat,
+                String.format("Columnar storage should use less than half of the heap (objects: %d bytes, columnar: %d bytes per seat)",
+                        objectBytesPerSeat, columnarBytesPerSeat));
+    }
+
+    /**
+     * Heap ObjectSeatInventory keeps per seat, from the layout of its objects with compressed references: 12 byte headers, 4 byte
+     * references, every object rounded up to 8 bytes. The coordinate strings are shared between seats and left out.
+     */
+    private static long objectBytesPerSeat(int seatCount) {
+        long seat = align(12 + 5 * 4 + Integer.BYTES + 1); // Four coordinates, the status, sellRank and hasUpsells.
+        long listSlot = 4;
+        long seatKey = align(12 + 4 * 4);
+        long hashMapNode = align(12 + Integer.BYTES + 3 * 4); // Hash, key, value and next.
+        long position = align(12 + Integer.BYTES); // Positions are past the Integer cache.
+        long hashMapTable = 4L * Integer.highestOneBit((int) Math.ceil(seatCount / 0.75) * 2 - 1) / seatCount;
+        long skipListNode = align(12 + 3 * 4); // Key, value and next.
+        long rankKey = align(12 + Long.BYTES);
+        long skipListIndexes = align(12 + 3 * 4) / 3; // One index every 4 nodes, one more every 16, and so on.
+        return seat + listSlot + seatKey + hashMapNode + position + hashMapTable + skipListNode + rankKey + skipListIndexes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) / 8 * 8;
+    }
+}
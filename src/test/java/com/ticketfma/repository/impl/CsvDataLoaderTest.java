@@ -0,0 +1,228 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.model.Event;
+import com.ticketfma.model.Seat;
+
+public class CsvDataLoaderTest {
+
+    private CsvDataLoader csvDataLoader;
+
+    @BeforeEach
+    public void setUp() {
+        // Loads the data.csv from the test resources.
+        csvDataLoader = new CsvDataLoader(new InventoryProperties());
+        csvDataLoader.loadCsvData();
+    }
+
+    @Test
+    public void givenRepeatedEventRows_whenLoadCsvData_thenEachEventIsLoadedOnceInCsvOrder() {
+        List<Event> events = csvDataLoader.getEvents();
+
+        Assertions.assertEquals(List.of("2001", "3001", "4001", "1000"), events.stream().map(Event::getEventId).toList());
+        Assertions.assertEquals("Event 3001", events.get(1).getName());
+        Assertions.assertEquals(LocalDate.parse("2025-01-01"), events.get(1).getEventDate());
+    }
+
+    @Test
+    public void givenCsvRows_whenLoadCsvData_thenEverySeatIsLoaded() {
+        Assertions.assertEquals(2, csvDataLoader.getEventInventories().get("2001").size());
+        Assertions.assertEquals(4, csvDataLoader.getEventInventories().get("3001").size());
+        Assertions.assertEquals(1, csvDataLoader.getEventInventories().get("4001").size());
+        Assertions.assertEquals(3, csvDataLoader.getEventInventories().get("1000").size());
+    }
+
+    @Test
+    public void givenRepeatedCoordinates_whenLoadCsvData_thenSeatsShareTheSameStrings() {
+        SeatInventory inventory = csvDataLoader.getEventInventories().get("3001");
+
+        Assertions.assertSame(inventory.getSeat(0).getRow(), inventory.getSeat(1).getRow());
+        Assertions.assertSame(inventory.getSeat(0).getLevel(), inventory.getSeat(1).getLevel());
+        Assertions.assertSame(inventory.getSeat(0).getSection(), inventory.getSeat(1).getSection());
+    }
+
+    @Test
+    public void givenParallelMode_whenLoadCsvData_thenLoadTheSameInventoryAsSequentialMode() {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setParallel(true);
+        inventoryProperties.setChunks(3);
+        CsvDataLoader parallelCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        parallelCsvDataLoader.loadCsvData();
+
+        Assertions.assertEquals(csvDataLoader.getEvents(), parallelCsvDataLoader.getEvents());
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(parallelCsvDataLoader));
+    }
+
+    @Test
+    public void givenInventoryFile_whenLoadCsvData_thenLoadTheSameInventoryAsClasspathCsv(@TempDir Path directory) throws IOException {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(copyDataCsv(directory, "\n").toString());
+        CsvDataLoader fileCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        fileCsvDataLoader.loadCsvData();
+
+        Assertions.assertEquals(csvDataLoader.getEvents(), fileCsvDataLoader.getEvents());
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(fileCsvDataLoader));
+    }
+
+    @Test
+    public void givenInventoryFileWithWindowsLineBreaks_whenLoadCsvDataInParallel_thenLoadTheSameInventoryAsClasspathCsv(@TempDir Path directory)
+            throws IOException {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(copyDataCsv(directory, "\r\n").toString());
+        inventoryProperties.setParallel(true);
+        inventoryProperties.setChunks(4);
+        CsvDataLoader fileCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        fileCsvDataLoader.loadCsvData();
+
+        Assertions.assertEquals(csvDataLoader.getEvents(), fileCsvDataLoader.getEvents());
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(fileCsvDataLoader));
+    }
+
+    @Test
+    public void givenInventoryFileWithQuotedFields_whenLoadCsvDataInParallel_thenLoadTheSameInventoryAsClasspathCsv(@TempDir Path directory)
+            throws IOException {
+        Path file = copyDataCsv(directory, "\n");
+        Files.write(file, Files.readAllLines(file).stream()
+                .map(line -> Arrays.stream(line.split(",")).map(field -> '"' + field + '"').collect(Collectors.joining(",")))
+                .toList());
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(file.toString());
+        inventoryProperties.setParallel(true);
+        inventoryProperties.setChunks(3);
+        CsvDataLoader fileCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        fileCsvDataLoader.loadCsvData();
+
+        Assertions.assertEquals(csvDataLoader.getEvents(), fileCsvDataLoader.getEvents());
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(fileCsvDataLoader));
+    }
+
+    @Test
+    public void givenQuotedFieldWithCommaAndQuotes_whenLoadCsvData_thenKeepThemInTheField(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("inventory.csv");
+        Files.write(file, List.of(
+                "eventId,seatNumber,row,level,section,status,eventDate,sellRank,hasUpsells",
+                "5001,1,A,\"Upper, East\",\"The \"\"Pit\"\"\",OPEN,2025-01-01 00:00:00,1,true"));
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(file.toString());
+        CsvDataLoader fileCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        fileCsvDataLoader.loadCsvData();
+
+        Seat seat = fileCsvDataLoader.getEventInventories().get("5001").getSeat(0);
+        Assertions.assertEquals("Upper, East", seat.getLevel());
+        Assertions.assertEquals("The \"Pit\"", seat.getSection());
+        Assertions.assertTrue(seat.isHasUpsells());
+    }
+
+    @Test
+    public void givenQuotedFieldWithLineBreak_whenReloadCsvData_thenThrowUncheckedIOException(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("inventory.csv");
+        Files.write(file, List.of(
+                "eventId,seatNumber,row,level,section,status,eventDate,sellRank,hasUpsells",
+                "5001,1,A,\"Upper",
+                "East\",North,OPEN,2025-01-01 00:00:00,1,true"));
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(file.toString());
+        inventoryProperties.setParallel(true);
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> new CsvDataLoader(inventoryProperties).reloadCsvData());
+    }
+
+    @Test
+    public void givenColumnarStorage_whenLoadCsvData_thenLoadTheSameSeatsAsObjectStorage() {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setStorage(InventoryProperties.Storage.COLUMNAR);
+        CsvDataLoader columnarCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        columnarCsvDataLoader.loadCsvData();
+
+        Assertions.assertInstanceOf(ColumnarSeatInventory.class, columnarCsvDataLoader.getEventInventories().get("3001"));
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(columnarCsvDataLoader));
+    }
+
+    @Test
+    public void givenOffHeapStorage_whenLoadCsvData_thenLoadTheSameSeatsAsObjectStorage() {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setStorage(InventoryProperties.Storage.OFF_HEAP);
+        CsvDataLoader offHeapCsvDataLoader = new CsvDataLoader(inventoryProperties);
+
+        offHeapCsvDataLoader.loadCsvData();
+
+        Assertions.assertInstanceOf(OffHeapSeatInventory.class, offHeapCsvDataLoader.getEventInventories().get("3001"));
+        Assertions.assertEquals(getEventSeats(csvDataLoader), getEventSeats(offHeapCsvDataLoader));
+    }
+
+    @Test
+    public void givenChangedFile_whenReloadCsvData_thenReplaceTheInventory(@TempDir Path tempDir) throws IOException {
+        Path file = copyDataCsv(tempDir, "\n");
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(file.toString());
+        CsvDataLoader fileCsvDataLoader = new CsvDataLoader(inventoryProperties);
+        fileCsvDataLoader.loadCsvData();
+
+        List<String> lines = Files.readAllLines(file);
+        Files.write(file, lines.stream().filter(line -> !line.startsWith("4001,")).toList());
+        fileCsvDataLoader.reloadCsvData();
+
+        Assertions.assertEquals(List.of("2001", "3001", "1000"), fileCsvDataLoader.getEvents().stream().map(Event::getEventId).toList());
+        Assertions.assertEquals(4, fileCsvDataLoader.getEventInventories().get("3001").size());
+    }
+
+    @Test
+    public void givenLoadedCsv_whenClear_thenKeepNoEventNorSeat() {
+        CsvDataLoader csvDataLoader = new CsvDataLoader(new InventoryProperties());
+        csvDataLoader.loadCsvData();
+
+        csvDataLoader.clear();
+
+        Assertions.assertEquals(List.of(), csvDataLoader.getEvents());
+        Assertions.assertEquals(Map.of(), csvDataLoader.getEventInventories());
+    }
+
+    @Test
+    public void givenMissingFile_whenReloadCsvData_thenThrowUncheckedIOException(@TempDir Path tempDir) {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setFile(tempDir.resolve("missing.csv").toString());
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> new CsvDataLoader(inventoryProperties).reloadCsvData());
+    }
+
+    private Map<String, List<Seat>> getEventSeats(CsvDataLoader loader) {
+        Map<String, List<Seat>> eventSeats = new HashMap<>();
+        loader.getEventInventories().forEach((eventId, inventory) -> eventSeats.put(eventId,
+                IntStream.range(0, inventory.size()).mapToObj(inventory::getSeat).toList()));
+        return eventSeats;
+    }
+
+    private Path copyDataCsv(Path directory, String lineBreak) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/data.csv")) {
+            String csv = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            Path file = directory.resolve("inventory.csv");
+            Files.writeString(file, String.join(lineBreak, csv.lines().toList()));
+            return file;
+        }
+    }
+}
@@ -1,32 +1,76 @@
 package com.ticketfma.repository.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.ticketfma.exception.SeatUnavailableException;
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.config.JournalProperties;
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.exception.JournalUnavailableException;
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.EventPage;
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.ReservationResult;
 import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatCount;
+import com.ticketfma.model.SeatReservation;
+import com.ticketfma.model.dto.ReservationRequest;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.ReservationOutcome;
 import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.model.enums.SortOrder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import lombok.experimental.Delegate;
 
 @ExtendWith(MockitoExtension.class)
 public class EventRepositoryTest {
@@ -37,58 +81,963 @@ public class EventRepositoryTest {
     @Mock
     private CsvDataLoader csvDataLoader;
 
+    @Spy
+    private ReservationProperties reservationProperties = new ReservationProperties();
+
+    @Spy
+    private SeatJournal seatJournal = new SeatJournal(new JournalProperties());
+
+    @Spy
+    private InventorySnapshot inventorySnapshot = new InventorySnapshot(new InventoryProperties());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     public void setUp() {
         doNothing().when(csvDataLoader).loadCsvData();
         when(csvDataLoader.getEvents()).thenReturn(getEvents());
-        when(csvDataLoader.getEventSeats()).thenReturn(getEventSeats());
+        when(csvDataLoader.getEventInventories()).thenReturn(getEventInventories(getEventSeats()));
 
         eventRepository.loadCsvData();
     }
 
     @Test
-    public void testConcurrentSeatReservations() throws InterruptedException {
+    public void testConcurrentSeatReservations() throws Exception {
         String eventId = "event1";
         SeatRequest seatRequest = getSeatRequest();
 
         // Prepare tasks to reserve the same seat in multiple threads.
-        Callable<Void> reserveTask = () -> {
-            try {
-                eventRepository.reserveSeats(eventId, List.of(seatRequest));
-            } catch (SeatUnavailableException e) {
-                // Expected when seat is already reserved.
-            }
-            return null;
-        };
+        Callable<ReservationResult> reserveTask = () -> eventRepository.reserveSeats(eventId, List.of(seatRequest));
 
         // Run the tasks concurrently.
         ExecutorService executorService = Executors.newFixedThreadPool(10);
-        List<Callable<Void>> tasks = Collections.nCopies(10, reserveTask);
+        List<Callable<ReservationResult>> tasks = Collections.nCopies(10, reserveTask);
 
-        List<Future<Void>> results = executorService.invokeAll(tasks);
+        List<Future<ReservationResult>> results = executorService.invokeAll(tasks);
 
-        // Wait for all tasks to complete.
-        for (Future<Void> result : results) {
-            try {
-                result.get(); // This will rethrow any exception thrown in the threads.
-            } catch (ExecutionException e) {
-                Assertions.assertInstanceOf(SeatUnavailableException.class, e.getCause(), "Expected SeatUnavailableException when seat is already reserved");
+        // Wait for all tasks to complete. The losers are told the seat is unavailable.
+        int reserved = 0;
+        for (Future<ReservationResult> result : results) {
+            ReservationResult reservationResult = result.get();
+            if (reservationResult.isReserved()) {
+                reserved++;
+            } else {
+                Assertions.assertEquals(ReservationOutcome.UNAVAILABLE, reservationResult.getSeats().getFirst().getOutcome());
             }
         }
+        Assertions.assertEquals(1, reserved, "Exactly one thread should reserve the seat");
 
         // Validate that seat was reserved by only one thread.
         Optional<Seat> reservedSeat = eventRepository.getSeat("event1", "9", "AA", "1", "Ground");
         Assertions.assertTrue(reservedSeat.isPresent(), "Seat should exist");
         Assertions.assertEquals(SeatStatus.HOLD, reservedSeat.get().getStatus(), "Seat should be on hold");
 
-        // Ensure the locks were released and no locks remain.
-        Assertions.assertFalse(eventRepository.getEventLocks().containsKey(eventId), "Lock should be removed after reservation attempts complete");
-        Assertions.assertFalse(eventRepository.getLockCounts().containsKey(eventId), "Lock count should be removed after reservation attempts complete");
+        // Ensure the lock was released. It stays registered for as long as the event exists.
+        Assertions.assertFalse(eventRepository.getEventLocks().get(eventId).isLocked(), "Lock should be released after reservation attempts complete");
+
+        executorService.shutdown();
+    }
+
+    @Test
+    public void givenSortByName_whenGetAllEvents_thenReturnSameSortedSnapshot() {
+        List<Event> events = eventRepository.getAllEvents("name");
+
+        Assertions.assertEquals(List.of("event1", "event2", "event3", "event4"), events.stream().map(Event::getEventId).toList());
+        Assertions.assertSame(events, eventRepository.getAllEvents("NAME"), "Sorted view should be reused between requests");
+    }
+
+    @Test
+    public void givenSortByDate_whenGetAllEvents_thenReturnSameSortedSnapshot() {
+        List<Event> events = eventRepository.getAllEvents("date");
+
+        Assertions.assertEquals(List.of("event2", "event4", "event1", "event3"), events.stream().map(Event::getEventId).toList());
+        Assertions.assertSame(events, eventRepository.getAllEvents("date"), "Sorted view should be reused between requests");
+    }
+
+    @Test
+    public void givenUnknownSort_whenGetAllEvents_thenReturnEventsInOriginalOrder() {
+        List<Event> events = eventRepository.getAllEvents("unknown");
+
+        Assertions.assertEquals(List.of("event1", "event2", "event3", "event4"), events.stream().map(Event::getEventId).toList());
+        Assertions.assertSame(events, eventRepository.getAllEvents(null), "Unsorted view should be reused between requests");
+    }
+
+    @ParameterizedTest
+    @EnumSource(EventSort.class)
+    public void givenSortAndOrder_whenGetEventPages_thenWalkTheWholeView(EventSort sort) {
+        for (SortOrder order : SortOrder.values()) {
+            List<Event> walked = new ArrayList<>();
+            EventPage page = eventRepository.getEventPage(sort, order, null, 3);
+            Assertions.assertEquals(3, page.getEvents().size());
+            walked.addAll(page.getEvents());
+
+            page = eventRepository.getEventPage(sort, order, page.getNext(), 3);
+            Assertions.assertNull(page.getNext(), "The second page should be the last one");
+            walked.addAll(page.getEvents());
+
+            List<Event> expected = new ArrayList<>(eventRepository.getAllEvents(sort.name()));
+            if (order == SortOrder.DESC) {
+                Collections.reverse(expected);
+            }
+            Assertions.assertEquals(expected, walked, sort + " " + order);
+        }
+    }
+
+    @Test
+    public void givenDateRangeAndNamePrefix_whenSearchEvents_thenReturnMatchingEventsSortedByDate() {
+        List<Event> events = eventRepository.searchEvents(LocalDate.parse("2025-01-02"), LocalDate.parse("2025-01-03"), "event");
+
+        Assertions.assertEquals(List.of("event4", "event1"), events.stream().map(Event::getEventId).toList());
+        Assertions.assertEquals(List.of(), eventRepository.searchEvents(null, null, "Concert"));
+    }
+
+    @Test
+    public void givenCursorOfRemovedEvent_whenGetEventPage_thenStartRightAfterItsPlace() {
+        EventCursor cursor = EventCursor.builder()
+                .sort(EventSort.DATE)
+                .order(SortOrder.ASC)
+                .eventId("event9")
+                .name("Event 9")
+                .eventDate(LocalDate.parse("2025-01-02"))
+                .build();
+
+        EventPage page = eventRepository.getEventPage(EventSort.DATE, SortOrder.ASC, cursor, 10);
+
+        Assertions.assertEquals(List.of("event1", "event3"), page.getEvents().stream().map(Event::getEventId).toList());
+        Assertions.assertNull(page.getNext());
+    }
+
+    @Test
+    public void givenOpenSeats_whenGetBestSeats_thenReturnOpenSeatsOrderedBySellRank() {
+        List<Seat> bestSeats = eventRepository.getBestSeats("event4", 3);
+
+        // Seats with the same sellRank keep the CSV order.
+        Assertions.assertEquals(List.of("2", "4", "5"), bestSeats.stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @Test
+    public void givenReservedSeat_whenGetBestSeats_thenSkipReservedSeat() {
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("2")));
+        List<Seat> bestSeats = eventRepository.getBestSeats("event4", 10);
+
+        Assertions.assertEquals(List.of("4", "5", "1"), bestSeats.stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @Test
+    public void givenMissingSeat_whenReserveSeats_thenReportEverySeatAndHoldNone() {
+        SeatRequest open = createSeatRequest("2");
+        SeatRequest missing = createSeatRequest("99");
+        SeatRequest sold = createSeatRequest("3");
+
+        ReservationResult result = eventRepository.reserveSeats("event4", List.of(open, missing, sold));
+
+        Assertions.assertFalse(result.isReserved());
+        Assertions.assertEquals(List.of(ReservationOutcome.NOT_RESERVED, ReservationOutcome.NOT_FOUND, ReservationOutcome.UNAVAILABLE),
+                result.getSeats().stream().map(SeatReservation::getOutcome).toList());
+        Assertions.assertSame(missing, result.getSeats().get(1).getSeatRequest());
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenReservationMode_whenReserveOpenAndSoldSeats_thenReportUnavailableSeatAndHoldNone(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+
+        ReservationResult result = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"), createSeatRequest("3")));
+
+        Assertions.assertEquals(List.of(ReservationOutcome.NOT_RESERVED, ReservationOutcome.UNAVAILABLE),
+                result.getSeats().stream().map(SeatReservation::getOutcome).toList());
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+
+        Assertions.assertTrue(eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"), createSeatRequest("4"))).isReserved());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenBatchAcrossEvents_whenReserveSeats_thenApplyEachEventGroupInOrder(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        List<ReservationRequest> reservationRequests = List.of(
+                createReservationRequest("event4", createSeatRequest("2")),
+                createReservationRequest("event1", getSeatRequest()),
+                createReservationRequest("event4", createSeatRequest("2"), createSeatRequest("4")),
+                createReservationRequest("event4", createSeatRequest("4"), createSeatRequest("99")),
+                createReservationRequest("event4", createSeatRequest("5")));
+
+        List<ReservationResult> results = eventRepository.reserveSeats(reservationRequests);
+
+        // The results keep the order of the batch, and within event4 the first reservation of seat 2 wins.
+        Assertions.assertEquals(List.of(true, true, false, false, true), results.stream().map(ReservationResult::isReserved).toList());
+        Assertions.assertEquals(List.of(ReservationOutcome.UNAVAILABLE, ReservationOutcome.NOT_RESERVED),
+                results.get(2).getSeats().stream().map(SeatReservation::getOutcome).toList());
+        Assertions.assertEquals(List.of(ReservationOutcome.NOT_RESERVED, ReservationOutcome.NOT_FOUND),
+                results.get(3).getSeats().stream().map(SeatReservation::getOutcome).toList());
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "5", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event1", "9", "AA", "1", "Ground").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenReservationMode_whenReserveSeats_thenCountOutcomesAndTimeTheLocks(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("2")));
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("4"), createSeatRequest("2")));
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("99")));
+
+        String modeTag = mode.name().toLowerCase().replace('_', '-');
+        for (String outcome : List.of("reserved", "unavailable", "not_found")) {
+            Assertions.assertEquals(1, meterRegistry.get("ticketfma.reservations")
+                    .tags("mode", modeTag, "operation", "reserve", "outcome", outcome)
+                    .counter()
+                    .count(), outcome);
+        }
+        // A missing seat is answered without locking; compare-and-set never locks.
+        long lockedChanges = mode == ReservationProperties.Mode.COMPARE_AND_SET ? 0 : 2;
+        Assertions.assertEquals(lockedChanges, meterRegistry.get("ticketfma.event.lock.wait").tag("mode", modeTag).timer().count());
+        Assertions.assertEquals(lockedChanges, meterRegistry.get("ticketfma.event.lock.hold").tag("mode", modeTag).timer().count());
+        Assertions.assertEquals(0, meterRegistry.get("ticketfma.event.lock.queue").gauge().value());
+        // The series do not grow with the events.
+        Assertions.assertTrue(meterRegistry.getMeters().stream().allMatch(meter -> meter.getId().getTag("event") == null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenExpiredHold_whenReleaseExpiredHolds_thenSeatIsOpenAndBackInBestSeats(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        long ttl = reservationProperties.getHoldTtl().toMillis();
+        long tick = reservationProperties.getHoldExpiryTick().toMillis();
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"), createSeatRequest("4")));
+        long reservedAt = System.currentTimeMillis();
+
+        Assertions.assertEquals(0, eventRepository.releaseExpiredHolds(reservedAt + ttl - 2 * tick), "Hold should not expire before its TTL");
+        Assertions.assertEquals(List.of("5", "1"), eventRepository.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+
+        Assertions.assertEquals(2, eventRepository.releaseExpiredHolds(reservedAt + ttl + 2 * tick));
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(List.of("2", "4", "5", "1"), eventRepository.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenStatusChanges_whenGetAvailability_thenCountEverySeatOnceInItsStatus(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        long ttl = reservationProperties.getHoldTtl().toMillis();
+        assertAvailability(eventRepository, "event4", 4, 0, 1);
+
+        // The same seat twice in a request is counted once, and a failed request is not counted.
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"), createSeatRequest("4"), createSeatRequest("2")))
+                .getHoldId();
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("5"), createSeatRequest("3")));
+        assertAvailability(eventRepository, "event4", 2, 2, 1);
+
+        eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2")));
+        assertAvailability(eventRepository, "event4", 2, 1, 2);
+
+        eventRepository.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl);
+        assertAvailability(eventRepository, "event4", 3, 0, 2);
+        Assertions.assertEquals(SeatCount.builder().open(3).hold(0).sold(2).build(),
+                eventRepository.getAvailability("event4").getSections().get("1").get("North"));
+    }
+
+    @Test
+    public void givenHoldFromInventoryAndSoldSeat_whenReleaseExpiredHolds_thenLeaveThemAsTheyAre() {
+        long ttl = reservationProperties.getHoldTtl().toMillis();
+
+        Assertions.assertEquals(0, eventRepository.releaseExpiredHolds(System.currentTimeMillis() + 10 * ttl));
+        Assertions.assertEquals(SeatStatus.SOLD, eventRepository.getSeat("event4", "3", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void givenZeroHoldTtl_whenReleaseExpiredHolds_thenKeepSeatsOnHold() {
+        reservationProperties.setHoldTtl(Duration.ZERO);
+        eventRepository.reserveSeats("event4", List.of(createSeatRequest("2")));
+
+        Assertions.assertEquals(0, eventRepository.releaseExpiredHolds(Long.MAX_VALUE / 2));
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenHeldSeats_whenConfirmSeats_thenSeatsAreSoldAndNoLongerExpire(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        List<SeatRequest> seatRequests = List.of(createSeatRequest("2"), createSeatRequest("4"));
+        String holdId = eventRepository.reserveSeats("event4", seatRequests).getHoldId();
+
+        Assertions.assertTrue(eventRepository.confirmSeats("event4", holdId, seatRequests).isReserved());
+
+        Assertions.assertEquals(SeatStatus.SOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(0, eventRepository.releaseExpiredHolds(System.currentTimeMillis() + 2 * reservationProperties.getHoldTtl().toMillis()));
+        Assertions.assertEquals(SeatStatus.SOLD, eventRepository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenHeldAndOpenSeats_whenConfirmSeats_thenReportOpenSeatAndSellNone(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+
+        ReservationResult result = eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2"), createSeatRequest("4")));
+
+        Assertions.assertEquals(List.of(ReservationOutcome.NOT_RESERVED, ReservationOutcome.UNAVAILABLE),
+                result.getSeats().stream().map(SeatReservation::getOutcome).toList());
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenSeatsOfAnotherHold_whenConfirmSeats_thenReportThemUnavailableAndKeepThemOnHold(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+        String otherHoldId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("4"))).getHoldId();
+
+        for (String wrongHoldId : List.of(otherHoldId, "unknown")) {
+            ReservationResult result = eventRepository.confirmSeats("event4", wrongHoldId, List.of(createSeatRequest("2")));
+            Assertions.assertEquals(ReservationOutcome.UNAVAILABLE, result.getSeats().getFirst().getOutcome(), wrongHoldId);
+        }
+        Assertions.assertFalse(eventRepository.confirmSeats("event1", holdId, List.of(createSeatRequest("2"))).isReserved(),
+                "A hold only sells seats of its own event");
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        assertAvailability(eventRepository, "event4", 2, 2, 1);
+
+        Assertions.assertTrue(eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2"))).isReserved());
+        assertAvailability(eventRepository, "event4", 2, 1, 2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenExpiredHoldHeldAgain_whenConfirmSeatsOfTheExpiredHold_thenSellNone(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        long ttl = reservationProperties.getHoldTtl().toMillis();
+        String expiredHoldId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+        Assertions.assertEquals(1, eventRepository.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+
+        Assertions.assertFalse(eventRepository.confirmSeats("event4", expiredHoldId, List.of(createSeatRequest("2"))).isReserved(),
+                "An expired hold should not sell its open seat");
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+        Assertions.assertNotEquals(expiredHoldId, holdId);
+
+        ReservationResult result = eventRepository.confirmSeats("event4", expiredHoldId, List.of(createSeatRequest("2")));
+
+        Assertions.assertEquals(ReservationOutcome.UNAVAILABLE, result.getSeats().getFirst().getOutcome());
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        assertAvailability(eventRepository, "event4", 3, 1, 1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenPartlyConfirmedHold_whenReleaseExpiredHolds_thenReleaseOnlyTheSeatsLeftOnHold(ReservationProperties.Mode mode) {
+        reservationProperties.setMode(mode);
+        long ttl = reservationProperties.getHoldTtl().toMillis();
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"), createSeatRequest("4"))).getHoldId();
+
+        Assertions.assertTrue(eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2"))).isReserved());
+        Assertions.assertEquals(1, eventRepository.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+
+        Assertions.assertEquals(SeatStatus.SOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertFalse(eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("4"))).isReserved());
+        assertAvailability(eventRepository, "event4", 3, 0, 2);
+    }
+
+    @Test
+    public void givenZeroHoldTtl_whenConfirmSeats_thenSellTheHeldSeats() {
+        reservationProperties.setHoldTtl(Duration.ZERO);
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+
+        Assertions.assertTrue(eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2"))).isReserved());
+        Assertions.assertEquals(SeatStatus.SOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenHoldExpiringWhileConfirmed_whenConfirmSeats_thenEverySeatIsEitherSoldOrReleased(ReservationProperties.Mode mode)
+            throws Exception {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMode(mode);
+        List<Seat> seats = createVenueSeats(300);
+        EventRepository repository = createVenueRepository(seats, properties);
+
+        // Each hold is confirmed and expired at the same time: its seats end up all sold or all released, never both nor counted twice.
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        int sold = 0;
+        int released = 0;
+        for (int first = 0; first < seats.size(); first += 3) {
+            List<SeatRequest> seatRequests = seats.subList(first, first + 3).stream().map(this::toSeatRequest).toList();
+            String holdId = repository.reserveSeats("venue", seatRequests).getHoldId();
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<ReservationResult> confirmation = executorService.submit(() -> {
+                start.await();
+                return repository.confirmSeats("venue", holdId, seatRequests);
+            });
+            Future<Integer> expiry = executorService.submit(() -> {
+                start.await();
+                return repository.releaseExpiredHolds(Long.MAX_VALUE / 2);
+            });
+
+            boolean confirmed = confirmation.get().isReserved();
+            int releasedSeats = expiry.get();
+            Assertions.assertEquals(confirmed ? 0 : 3, releasedSeats, "Hold " + holdId);
+            SeatStatus expected = confirmed ? SeatStatus.SOLD : SeatStatus.OPEN;
+            for (SeatRequest seatRequest : seatRequests) {
+                Assertions.assertEquals(expected, repository.getSeat("venue", seatRequest.getSeatNumber(), seatRequest.getRow(),
+                        seatRequest.getLevel(), seatRequest.getSection()).orElseThrow().getStatus(), "Hold " + holdId);
+            }
+            sold += confirmed ? 3 : 0;
+            released += releasedSeats;
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(seats.size(), sold + released);
+        assertAvailability(repository, "venue", released, 0, sold);
+    }
+
+    @Test
+    public void givenFailedJournal_whenReserveOrConfirmSeats_thenThrowJournalUnavailableAndChangeNoSeat() {
+        String holdId = eventRepository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+        doThrow(new JournalUnavailableException()).when(seatJournal).checkWritable();
+
+        Assertions.assertThrows(JournalUnavailableException.class, () -> eventRepository.reserveSeats("event4", List.of(createSeatRequest("4"))));
+        Assertions.assertThrows(JournalUnavailableException.class,
+                () -> eventRepository.reserveSeats(List.of(createReservationRequest("event4", createSeatRequest("4")))));
+        Assertions.assertThrows(JournalUnavailableException.class, () -> eventRepository.confirmSeats("event4", holdId, List.of(createSeatRequest("2"))));
+
+        Assertions.assertEquals(SeatStatus.OPEN, eventRepository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, eventRepository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        assertAvailability(eventRepository, "event4", 3, 1, 1);
+    }
+
+    @Test
+    public void givenJournalFailingDuringBatch_whenReserveSeatsOfSeveralEvents_thenApplyEveryEvent() {
+        doNothing().doThrow(new JournalUnavailableException()).when(seatJournal).checkWritable();
+
+        List<ReservationResult> results = eventRepository.reserveSeats(List.of(
+                createReservationRequest("event4", createSeatRequest("4")),
+                createReservationRequest("event1", getSeatRequest())));
+
+        Assertions.assertTrue(results.get(0).isReserved());
+        Assertions.assertTrue(results.get(1).isReserved());
+        verify(seatJournal, times(1)).checkWritable();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenJournal_whenRestart_thenReplayStatusChangesOnTopOfTheInventory(ReservationProperties.Mode mode, @TempDir Path tempDir) {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setFile(tempDir.resolve("journal.bin").toString());
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMode(mode);
+        long ttl = properties.getHoldTtl().toMillis();
 
+        SeatJournal journal = new SeatJournal(journalProperties);
+        EventRepository repository = createRepository(getEventInventories(getEventSeats()), properties, journal);
+        String holdId = repository.reserveSeats("event4", List.of(createSeatRequest("1"), createSeatRequest("2"), createSeatRequest("2")))
+                .getHoldId();
+        repository.confirmSeats("event4", holdId, List.of(createSeatRequest("1")));
+        repository.reserveSeats("event4", List.of(createSeatRequest("4")));
+        repository.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl);
+        repository.reserveSeats("event4", List.of(createSeatRequest("5")));
+        repository.reserveSeats("event4", List.of(createSeatRequest("3")));
+        journal.close();
+
+        // A new repository starts again from the pristine inventory.
+        SeatJournal restartedJournal = new SeatJournal(journalProperties);
+        EventRepository restarted = createRepository(getEventInventories(getEventSeats()), properties, restartedJournal);
+
+        Assertions.assertEquals(SeatStatus.SOLD, restarted.getSeat("event4", "1", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.OPEN, restarted.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.SOLD, restarted.getSeat("event4", "3", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.OPEN, restarted.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, restarted.getSeat("event4", "5", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(List.of("2", "4"), restarted.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+
+        // The replayed hold keeps its TTL.
+        Assertions.assertEquals(1, restarted.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+        restartedJournal.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(InventoryProperties.Storage.class)
+    public void givenSnapshotAndJournal_whenRestart_thenLoadTheSnapshotAndReplayTheChangesAfterIt(InventoryProperties.Storage storage,
+            @TempDir Path tempDir) {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setFile(tempDir.resolve("journal.bin").toString());
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setSnapshotFile(tempDir.resolve("inventory.snapshot").toString());
+        inventoryProperties.setStorage(storage);
+        ReservationProperties properties = new ReservationProperties();
+        long ttl = properties.getHoldTtl().toMillis();
+
+        SeatJournal journal = new SeatJournal(journalProperties);
+        EventRepository repository = createRepository(getEventInventories(getEventSeats()), properties, journal,
+                new InventorySnapshot(inventoryProperties));
+        String holdId = repository.reserveSeats("event4", List.of(createSeatRequest("1"), createSeatRequest("2"))).getHoldId();
+        repository.confirmSeats("event4", holdId, List.of(createSeatRequest("1")));
+        repository.writeSnapshot();
+        repository.reserveSeats("event4", List.of(createSeatRequest("4")));
+        repository.confirmSeats("event4", holdId, List.of(createSeatRequest("2")));
+        journal.close();
+
+        // The CSV loader has nothing to load: everything comes from the snapshot and the journal.
+        SeatJournal restartedJournal = new SeatJournal(journalProperties);
+        EventRepository restarted = new EventRepository(mock(CsvDataLoader.class), properties, restartedJournal,
+                new InventorySnapshot(inventoryProperties), new SimpleMeterRegistry());
+        restarted.loadCsvData();
+
+        Assertions.assertEquals(4, restarted.getAllEvents(null).size());
+        Assertions.assertEquals(SeatStatus.SOLD, restarted.getSeat("event4", "1", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.SOLD, restarted.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, restarted.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(List.of("5"), restarted.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+
+        // Only the hold taken after the snapshot is still on HOLD when the holds expire.
+        Assertions.assertEquals(1, restarted.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+        restartedJournal.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenChangesWhileWritingSnapshots_whenRestart_thenEverySeatGetsItsLastStatusAndHold(ReservationProperties.Mode mode,
+            @TempDir Path tempDir) throws Exception {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setFile(tempDir.resolve("journal.bin").toString());
+        journalProperties.setSyncInterval(Duration.ofMillis(1));
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setSnapshotFile(tempDir.resolve("inventory.snapshot").toString());
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMode(mode);
+        List<Seat> seats = createVenueSeats(1_000);
+        SeatJournal journal = new SeatJournal(journalProperties);
+        EventRepository repository = createRepository(getEventInventories(Map.of("venue", seats)), properties, journal,
+                new InventorySnapshot(inventoryProperties));
+
+        // Holds keep expiring while they are taken and sold, so seats go back and forth between OPEN and HOLD during the snapshots.
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int buyer = 0; buyer < 3; buyer++) {
+            Random random = new Random(buyer);
+            workers.add(executorService.submit(() -> {
+                while (running.get()) {
+                    List<SeatRequest> seatRequests = List.of(toSeatRequest(seats.get(random.nextInt(seats.size()))));
+                    String holdId = repository.reserveSeats("venue", seatRequests).getHoldId();
+                    if (holdId != null && random.nextInt(200) == 0) {
+                        repository.confirmSeats("venue", holdId, seatRequests);
+                    }
+                }
+            }));
+        }
+        workers.add(executorService.submit(() -> {
+            while (running.get()) {
+                repository.releaseExpiredHolds(Long.MAX_VALUE / 2);
+            }
+        }));
+
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(5);
+            repository.writeSnapshot();
+        }
+        Thread.sleep(5);
+        running.set(false);
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executorService.shutdown();
+        journal.close();
+
+        // The last snapshot was cut while the seats kept changing: the journal from its position brings every seat to its last status.
+        SeatJournal restartedJournal = new SeatJournal(journalProperties);
+        EventRepository restarted = new EventRepository(mock(CsvDataLoader.class), properties, restartedJournal,
+                new InventorySnapshot(inventoryProperties), new SimpleMeterRegistry());
+        restarted.loadCsvData();
+
+        int held = 0;
+        for (Seat seat : seats) {
+            SeatStatus status = repository.getSeat("venue", seat.getSeatNumber(), seat.getRow(), seat.getLevel(), seat.getSection())
+                    .orElseThrow().getStatus();
+            Assertions.assertEquals(status, restarted.getSeat("venue", seat.getSeatNumber(), seat.getRow(), seat.getLevel(), seat.getSection())
+                    .orElseThrow().getStatus(), "Seat " + seat.getSeatNumber());
+            held += status == SeatStatus.HOLD ? 1 : 0;
+        }
+        Assertions.assertEquals(repository.getAvailability("venue"), restarted.getAvailability("venue"));
+        Assertions.assertEquals(held, restarted.releaseExpiredHolds(Long.MAX_VALUE / 2), "Every seat on HOLD should have its hold");
+        restartedJournal.close();
+    }
+
+    @Test
+    public void givenSnapshotWithoutJournal_whenRestart_thenRestoreTheStatusesAndTheHolds(@TempDir Path tempDir) {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setSnapshotFile(tempDir.resolve("inventory.snapshot").toString());
+        ReservationProperties properties = new ReservationProperties();
+        long ttl = properties.getHoldTtl().toMillis();
+
+        EventRepository repository = createRepository(getEventInventories(getEventSeats()), properties, new SeatJournal(new JournalProperties()),
+                new InventorySnapshot(inventoryProperties));
+        repository.reserveSeats("event4", List.of(createSeatRequest("5")));
+        repository.writeSnapshot();
+
+        EventRepository restarted = new EventRepository(mock(CsvDataLoader.class), properties, new SeatJournal(new JournalProperties()),
+                new InventorySnapshot(inventoryProperties), new SimpleMeterRegistry());
+        restarted.loadCsvData();
+
+        Assertions.assertEquals(SeatStatus.HOLD, restarted.getSeat("event4", "5", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(0, restarted.releaseExpiredHolds(System.currentTimeMillis()));
+        Assertions.assertEquals(1, restarted.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void givenHoldBeforeRestart_whenConfirmSeatsAfterIt_thenSellTheSeatsOfThatHoldOnly(boolean snapshot, @TempDir Path tempDir) {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setFile(tempDir.resolve("journal.bin").toString());
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setSnapshotFile(tempDir.resolve("inventory.snapshot").toString());
+        ReservationProperties properties = new ReservationProperties();
+
+        SeatJournal journal = new SeatJournal(journalProperties);
+        EventRepository repository = createRepository(getEventInventories(getEventSeats()), properties, journal,
+                new InventorySnapshot(inventoryProperties));
+        String holdId = repository.reserveSeats("event4", List.of(createSeatRequest("2"))).getHoldId();
+        String otherHoldId = repository.reserveSeats("event4", List.of(createSeatRequest("4"))).getHoldId();
+        if (snapshot) {
+            repository.writeSnapshot();
+        }
+        journal.close();
+
+        // Restarted from the snapshot, or from the CSV and the whole journal.
+        SeatJournal restartedJournal = new SeatJournal(journalProperties);
+        EventRepository restarted;
+        if (snapshot) {
+            restarted = new EventRepository(mock(CsvDataLoader.class), properties, restartedJournal, new InventorySnapshot(inventoryProperties),
+                    new SimpleMeterRegistry());
+            restarted.loadCsvData();
+        } else {
+            restarted = createRepository(getEventInventories(getEventSeats()), properties, restartedJournal);
+        }
+
+        Assertions.assertFalse(restarted.confirmSeats("event4", otherHoldId, List.of(createSeatRequest("2"))).isReserved());
+        Assertions.assertTrue(restarted.confirmSeats("event4", holdId, List.of(createSeatRequest("2"))).isReserved());
+        Assertions.assertTrue(restarted.confirmSeats("event4", otherHoldId, List.of(createSeatRequest("4"))).isReserved());
+        assertAvailability(restarted, "event4", 2, 0, 3);
+        restartedJournal.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenChangedInventory_whenReloadInventory_thenApplyOnlyTheChangesAndKeepLiveHolds(ReservationProperties.Mode mode) {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMode(mode);
+        long ttl = properties.getHoldTtl().toMillis();
+
+        ConcurrentHashMap<String, List<Seat>> reloadedSeats = getEventSeats();
+        reloadedSeats.remove("event2");
+        reloadedSeats.put("event3", List.of(
+                Seat.builder().level("3").section("West").row("CC").seatNumber("7").status(SeatStatus.SOLD).build()));
+        reloadedSeats.put("event4", List.of(
+                Seat.builder().level("1").section("North").row("A").seatNumber("6").status(SeatStatus.OPEN).sellRank(0).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).sellRank(3).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("2").status(SeatStatus.OPEN).sellRank(1).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("3").status(SeatStatus.SOLD).sellRank(0).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("4").status(SeatStatus.SOLD).sellRank(2).build()));
+        reloadedSeats.put("event5", List.of(
+                Seat.builder().level("1").section("South").row("Z").seatNumber("1").status(SeatStatus.OPEN).build()));
+        List<Event> reloadedEvents = reloadedSeats.keySet().stream()
+                .map(eventId -> Event.builder().eventId(eventId).name(eventId).eventDate(LocalDate.parse("2025-01-01")).build())
+                .toList();
+
+        CsvDataLoader loader = mock(CsvDataLoader.class);
+        when(loader.getEvents()).thenReturn(getEvents(), reloadedEvents);
+        when(loader.getEventInventories()).thenReturn(getEventInventories(getEventSeats()), getEventInventories(reloadedSeats));
+        EventRepository repository = new EventRepository(loader, properties, new SeatJournal(new JournalProperties()),
+                new InventorySnapshot(new InventoryProperties()), new SimpleMeterRegistry());
+        repository.loadCsvData();
+        String holdId = repository.reserveSeats("event4", List.of(createSeatRequest("1"))).getHoldId();
+        repository.confirmSeats("event4", holdId, List.of(createSeatRequest("1")));
+        repository.reserveSeats("event4", List.of(createSeatRequest("2")));
+
+        InventoryReload reload = repository.reloadInventory();
+
+        Assertions.assertEquals(InventoryReload.builder()
+                .addedEvents(1).removedEvents(1).replacedEvents(1).updatedEvents(1).unchangedEvents(1).updatedSeats(1).build(), reload);
+        Assertions.assertFalse(repository.eventExists("event2"));
+        Assertions.assertFalse(repository.getEventLocks().containsKey("event2"), "The locks of a removed event should go with it");
+        Assertions.assertFalse(repository.reserveSeats("event2", List.of(createSeatRequest("1"))).isReserved());
+        Assertions.assertTrue(repository.eventExists("event5"));
+        Assertions.assertEquals(4, repository.getAllEvents(null).size());
+        Assertions.assertEquals(SeatStatus.SOLD, repository.getSeat("event3", "7", "CC", "3", "West").orElseThrow().getStatus());
+
+        // Live HOLD and SOLD seats keep their status, OPEN seats take the status of the new inventory.
+        Assertions.assertEquals(SeatStatus.SOLD, repository.getSeat("event4", "1", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.HOLD, repository.getSeat("event4", "2", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertEquals(SeatStatus.SOLD, repository.getSeat("event4", "4", "A", "1", "North").orElseThrow().getStatus());
+        Assertions.assertTrue(repository.getSeat("event4", "5", "A", "1", "North").isEmpty());
+        Assertions.assertEquals(List.of("6"), repository.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+        assertAvailability(repository, "event4", 1, 1, 3);
+        assertAvailability(repository, "event3", 0, 0, 1);
+        assertAvailability(repository, "event5", 1, 0, 0);
+
+        // The hold taken before the reload still expires, on the new seats.
+        Assertions.assertEquals(1, repository.releaseExpiredHolds(System.currentTimeMillis() + 2 * ttl));
+        assertAvailability(repository, "event4", 2, 0, 3);
+        Assertions.assertEquals(List.of("6", "2"), repository.getBestSeats("event4", 10).stream().map(Seat::getSeatNumber).toList());
+        Assertions.assertTrue(repository.reserveSeats("event4", List.of(createSeatRequest("6"))).isReserved());
+        // The loader drops the seats once they were taken, after the load and after the reload.
+        verify(loader, times(2)).clear();
+    }
+
+    @Test
+    public void givenSnapshotFailing_whenReloadInventory_thenApplyTheReload() throws IOException {
+        ConcurrentHashMap<String, List<Seat>> reloadedSeats = getEventSeats();
+        reloadedSeats.remove("event2");
+        List<Event> reloadedEvents = getEvents().stream().filter(event -> !event.getEventId().equals("event2")).toList();
+        CsvDataLoader loader = mock(CsvDataLoader.class);
+        when(loader.getEvents()).thenReturn(getEvents(), reloadedEvents);
+        when(loader.getEventInventories()).thenReturn(getEventInventories(getEventSeats()), getEventInventories(reloadedSeats));
+        InventorySnapshot snapshot = mock(InventorySnapshot.class);
+        when(snapshot.load()).thenReturn(Optional.empty());
+        when(snapshot.isEnabled()).thenReturn(true);
+        doThrow(new IOException("Disk full")).when(snapshot).write(any(), any(), any(), any(), anyLong());
+        EventRepository repository = new EventRepository(loader, new ReservationProperties(), new SeatJournal(new JournalProperties()),
+                snapshot, new SimpleMeterRegistry());
+        repository.loadCsvData();
+
+        InventoryReload reload = repository.reloadInventory();
+
+        Assertions.assertEquals(1, reload.getRemovedEvents());
+        Assertions.assertFalse(repository.eventExists("event2"));
+        verify(snapshot).write(any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void givenEventRemovedByReload_whenReadItsSeats_thenThrowEventNotFoundException() {
+        ConcurrentHashMap<String, List<Seat>> reloadedSeats = getEventSeats();
+        reloadedSeats.remove("event2");
+        List<Event> reloadedEvents = getEvents().stream().filter(event -> !event.getEventId().equals("event2")).toList();
+        CsvDataLoader loader = mock(CsvDataLoader.class);
+        when(loader.getEvents()).thenReturn(getEvents(), reloadedEvents);
+        when(loader.getEventInventories()).thenReturn(getEventInventories(getEventSeats()), getEventInventories(reloadedSeats));
+        EventRepository repository = new EventRepository(loader, new ReservationProperties(), new SeatJournal(new JournalProperties()),
+                new InventorySnapshot(new InventoryProperties()), new SimpleMeterRegistry());
+        repository.loadCsvData();
+
+        repository.reloadInventory();
+
+        Assertions.assertThrows(EventNotFoundException.class, () -> repository.seatExists("event2", "1", "A", "1", "North"));
+        Assertions.assertThrows(EventNotFoundException.class, () -> repository.seatAvailable("event2", "1", "A", "1", "North"));
+        Assertions.assertThrows(EventNotFoundException.class, () -> repository.getSeat("event2", "1", "A", "1", "North"));
+        Assertions.assertThrows(EventNotFoundException.class, () -> repository.getBestSeats("event2", 1));
+        Assertions.assertThrows(EventNotFoundException.class, () -> repository.getAvailability("event2"));
+    }
+
+    @Test
+    public void givenBigVenue_whenGetSeat_thenOnlyTheFoundSeatIsRead() {
+        CountingSeatList seats = new CountingSeatList(createVenueSeats(100_000));
+        EventRepository repository = createVenueRepository(seats, new ReservationProperties());
+
+        // Always look up the last seat, which is the worst case for a scan.
+        Seat last = seats.getLast();
+        seats.getReads().set(0);
+        Assertions.assertTrue(repository.seatExists("venue", last.getSeatNumber(), last.getRow(), last.getLevel(), last.getSection()));
+        Assertions.assertFalse(repository.seatExists("venue", "missing", last.getRow(), last.getLevel(), last.getSection()));
+        Assertions.assertEquals(0, seats.getReads().get(), "Finding a seat should use the index, not read the seats");
+
+        Assertions.assertEquals(Optional.of(last),
+                repository.getSeat("venue", last.getSeatNumber(), last.getRow(), last.getLevel(), last.getSection()));
+        Assertions.assertEquals(1, seats.getReads().get(), "Getting a seat should read the found seat only");
+    }
+
+    @Test
+    public void givenHighContention_whenReserveSeats_thenEveryReservationUsesTheSameEventLock() throws Exception {
+        ExclusiveAccessInventory inventory = new ExclusiveAccessInventory(new ObjectSeatInventory(getEventSeats().get("event1")));
+        EventRepository repository = createRepository(Map.of("event1", inventory), new ReservationProperties());
+        ReentrantLock eventLock = repository.getEventLocks().get("event1");
+
+        // Many short reservations make the lock go from free to contended and back over and over.
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        List<Callable<Void>> tasks = Collections.nCopies(16, () -> {
+            for (int i = 0; i < 5_000; i++) {
+                repository.reserveSeats("event1", List.of(getSeatRequest()));
+            }
+            return null;
+        });
+        for (Future<Void> result : executorService.invokeAll(tasks)) {
+            result.get();
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(16 * 5_000, inventory.getHolds().get());
+        Assertions.assertEquals(1, inventory.getMaxConcurrentHolds().get(), "Two reservations held seats of the same event at the same time");
+        Assertions.assertSame(eventLock, repository.getEventLocks().get("event1"), "The event should keep its lock");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationProperties.Mode.class)
+    public void givenReservationMode_whenConcurrentOverlappingReservations_thenEverySeatIsHeldByOneReservation(ReservationProperties.Mode mode)
+            throws Exception {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMode(mode);
+        List<Seat> seats = createVenueSeats(20);
+        EventRepository repository = createVenueRepository(seats, properties);
+
+        // Each task asks for 3 adjacent seats, so neighbouring tasks compete for the same seats, often across sections and levels.
+        List<Callable<List<String>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int first = i % 18;
+            tasks.add(() -> {
+                List<SeatRequest> seatRequests = seats.subList(first, first + 3).stream().map(this::toSeatRequest).toList();
+                if (repository.reserveSeats("venue", seatRequests).isReserved()) {
+                    return seatRequests.stream().map(SeatRequest::getSeatNumber).toList();
+                }
+                return List.of();
+            });
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        Set<String> heldByWinners = new HashSet<>();
+        for (Future<List<String>> result : executorService.invokeAll(tasks)) {
+            for (String seatNumber : result.get()) {
+                Assertions.assertTrue(heldByWinners.add(seatNumber), "Seat " + seatNumber + " was held by two reservations");
+            }
+        }
         executorService.shutdown();
+
+        // Failed reservations must not leave any seat on hold.
+        Set<String> held = new HashSet<>();
+        for (Seat seat : seats) {
+            if (repository.getSeat("venue", seat.getSeatNumber(), seat.getRow(), seat.getLevel(), seat.getSection()).orElseThrow().getStatus() == SeatStatus.HOLD) {
+                held.add(seat.getSeatNumber());
+            }
+        }
+        Assertions.assertEquals(heldByWinners, held);
+        Assertions.assertFalse(held.isEmpty());
+    }
+
+    private EventRepository createVenueRepository(List<Seat> seats, ReservationProperties reservationProperties) {
+        return createRepository(getEventInventories(Map.of("venue", seats)), reservationProperties);
+    }
+
+    private EventRepository createRepository(Map<String, SeatInventory> eventInventories, ReservationProperties reservationProperties) {
+        return createRepository(eventInventories, reservationProperties, new SeatJournal(new JournalProperties()));
+    }
+
+    private EventRepository createRepository(Map<String, SeatInventory> eventInventories, ReservationProperties reservationProperties,
+            SeatJournal seatJournal) {
+        return createRepository(eventInventories, reservationProperties, seatJournal, new InventorySnapshot(new InventoryProperties()));
+    }
+
+    private EventRepository createRepository(Map<String, SeatInventory> eventInventories, ReservationProperties reservationProperties,
+            SeatJournal seatJournal, InventorySnapshot inventorySnapshot) {
+        CsvDataLoader loader = mock(CsvDataLoader.class);
+        when(loader.getEvents()).thenReturn(eventInventories.keySet().stream()
+                .map(eventId -> Event.builder().eventId(eventId).name(eventId).eventDate(LocalDate.parse("2025-01-01")).build())
+                .toList());
+        when(loader.getEventInventories()).thenReturn(new ConcurrentHashMap<>(eventInventories));
+        EventRepository repository = new EventRepository(loader, reservationProperties, seatJournal, inventorySnapshot, meterRegistry);
+        repository.loadCsvData();
+        return repository;
+    }
+
+    private List<Seat> createVenueSeats(int seatCount) {
+        List<Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(Seat.builder().seatNumber(String.valueOf(i)).row("R" + (i % 50)).level("L" + (i / 10 % 2)).section("S" + (i / 5 % 4))
+                    .status(SeatStatus.OPEN).sellRank(i).build());
+        }
+        return seats;
+    }
+
+    private SeatRequest toSeatRequest(Seat seat) {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setSeatNumber(seat.getSeatNumber());
+        seatRequest.setRow(seat.getRow());
+        seatRequest.setLevel(seat.getLevel());
+        seatRequest.setSection(seat.getSection());
+        return seatRequest;
+    }
+
+    /**
+     * Reports every seat as OPEN, so every reservation goes on to hold its seats, and records how many reservations hold seats at the same time.
+     */
+    @Getter
+    private static class ExclusiveAccessInventory implements SeatInventory {
+
+        @Delegate(excludes = StatusAccess.class)
+        private final SeatInventory delegate;
+        private final AtomicInteger holds = new AtomicInteger();
+        private final AtomicInteger concurrentHolds = new AtomicInteger();
+        private final AtomicInteger maxConcurrentHolds = new AtomicInteger();
+
+        ExclusiveAccessInventory(SeatInventory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SeatStatus getStatus(int position) {
+            return SeatStatus.OPEN;
+        }
+
+        @Override
+        public void setStatus(int position, SeatStatus status) {
+            maxConcurrentHolds.accumulateAndGet(concurrentHolds.incrementAndGet(), Math::max);
+            holds.incrementAndGet();
+            Thread.yield();
+            concurrentHolds.decrementAndGet();
+        }
+
+        private interface StatusAccess {
+            SeatStatus getStatus(int position);
+
+            void setStatus(int position, SeatStatus status);
+        }
+    }
+
+    /**
+     * Counts the reads of the seats, so a test can tell a lookup through the index from a scan of the seats.
+     */
+    @Getter
+    private static class CountingSeatList extends AbstractList<Seat> {
+
+        private final List<Seat> seats;
+        private final AtomicInteger reads = new AtomicInteger();
+
+        CountingSeatList(List<Seat> seats) {
+            this.seats = seats;
+        }
+
+        @Override
+        public Seat get(int index) {
+            reads.incrementAndGet();
+            return seats.get(index);
+        }
+
+        @Override
+        public int size() {
+            return seats.size();
+        }
     }
 
     /* stubs - BEGIN */
+    /**
+     * @return a request for a seat of event4.
+     */
+    private SeatRequest createSeatRequest(String seatNumber) {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setLevel("1");
+        seatRequest.setSection("North");
+        seatRequest.setRow("A");
+        seatRequest.setSeatNumber(seatNumber);
+        return seatRequest;
+    }
+
+    private ReservationRequest createReservationRequest(String eventId, SeatRequest... seatRequests) {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(eventId);
+        reservationRequest.setSeats(List.of(seatRequests));
+        return reservationRequest;
+    }
+
     private SeatRequest getSeatRequest() {
         SeatRequest seatRequest = new SeatRequest();
         seatRequest.setLevel("1");
@@ -98,11 +1047,27 @@ public class EventRepositoryTest {
         return seatRequest;
     }
 
+    private void assertAvailability(EventRepository repository, String eventId, long open, long hold, long sold) {
+        SeatCount expected = SeatCount.builder().open(open).hold(hold).sold(sold).build();
+        EventAvailability availability = repository.getAvailability(eventId);
+        Assertions.assertEquals(expected, availability.getSeats(), eventId);
+        Assertions.assertEquals(expected, availability.getLevels().values().stream().reduce(this::add).orElseThrow(), eventId + " levels");
+    }
+
+    private SeatCount add(SeatCount first, SeatCount second) {
+        return SeatCount.builder()
+                .open(first.getOpen() + second.getOpen())
+                .hold(first.getHold() + second.getHold())
+                .sold(first.getSold() + second.getSold())
+                .build();
+    }
+
     private List<Event> getEvents() {
         return Arrays.asList(
-                Event.builder().eventId("event1").name("Event 1").build(),
-                Event.builder().eventId("event2").name("Event 2").build(),
-                Event.builder().eventId("event3").name("Event 3").build()
+                Event.builder().eventId("event1").name("Event 1").eventDate(LocalDate.parse("2025-01-03")).build(),
+                Event.builder().eventId("event2").name("Event 2").eventDate(LocalDate.parse("2025-01-01")).build(),
+                Event.builder().eventId("event3").name("Event 3").eventDate(LocalDate.parse("2025-01-04")).build(),
+                Event.builder().eventId("event4").name("Event 4").eventDate(LocalDate.parse("2025-01-02")).build()
         );
     }
 
@@ -117,7 +1082,20 @@ public class EventRepositoryTest {
         eventSeats.put("event3", Collections.singletonList(
                 Seat.builder().level("3").section("West").row("CC").seatNumber("7").status(SeatStatus.OPEN).build())
         );
+        eventSeats.put("event4", List.of(
+                Seat.builder().level("1").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).sellRank(3).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("2").status(SeatStatus.OPEN).sellRank(1).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("3").status(SeatStatus.SOLD).sellRank(0).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("4").status(SeatStatus.OPEN).sellRank(2).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("5").status(SeatStatus.OPEN).sellRank(2).build())
+        );
         return eventSeats;
     }
+
+    private ConcurrentHashMap<String, SeatInventory> getEventInventories(Map<String, List<Seat>> eventSeats) {
+        ConcurrentHashMap<String, SeatInventory> eventInventories = new ConcurrentHashMap<>();
+        eventSeats.forEach((eventId, seats) -> eventInventories.put(eventId, new ObjectSeatInventory(seats)));
+        return eventInventories;
+    }
     /* stubs - END */
 }
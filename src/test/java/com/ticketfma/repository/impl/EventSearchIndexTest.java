@@ -0,0 +1,106 @@
+package com.ticketfma.repository.impl;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.ticketfma.model.Event;
+
+public class EventSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.parse("2025-01-01");
+
+    @Test
+    public void givenDateRange_whenSearch_thenReturnEventsOfTheRangeBoundsIncluded() {
+        EventSearchIndex index = index(getEvents());
+
+        List<Event> events = index.search(DAY.plusDays(1), DAY.plusDays(1), null);
+
+        Assertions.assertEquals(List.of("2", "3"), ids(events));
+    }
+
+    @Test
+    public void givenOpenDateBounds_whenSearch_thenReturnAllEventsFromOrUntilTheBound() {
+        EventSearchIndex index = index(getEvents());
+
+        Assertions.assertEquals(List.of("4", "5"), ids(index.search(DAY.plusDays(2), null, "")));
+        Assertions.assertEquals(List.of("1"), ids(index.search(null, DAY, null)));
+        Assertions.assertEquals(List.of(), index.search(DAY.plusDays(2), DAY.plusDays(1), null), "An empty range should match nothing");
+    }
+
+    @Test
+    public void givenNamePrefix_whenSearch_thenReturnMatchingEventsIgnoringCaseSortedByDate() {
+        EventSearchIndex index = index(getEvents());
+
+        Assertions.assertEquals(List.of("1", "3", "4"), ids(index.search(null, null, "CON")));
+        Assertions.assertEquals(List.of("3", "4"), ids(index.search(null, null, "concert b")));
+        Assertions.assertEquals(List.of("3", "4"), ids(index.search(null, null, "Concert Blues")));
+        Assertions.assertEquals(List.of(), index.search(null, null, "Concert Bluesy"));
+        Assertions.assertEquals(List.of(), index.search(null, null, "Opera"));
+    }
+
+    @Test
+    public void givenDateRangeAndNamePrefix_whenSearch_thenReturnEventsMatchingBoth() {
+        EventSearchIndex index = index(getEvents());
+
+        Assertions.assertEquals(List.of("3", "4"), ids(index.search(DAY.plusDays(1), null, "concert")));
+        Assertions.assertEquals(List.of("2"), ids(index.search(DAY.plusDays(1), DAY.plusDays(1), "the")));
+    }
+
+    @Test
+    public void givenRandomEvents_whenSearch_thenMatchFullScan() {
+        Random random = new Random(42);
+        String[] words = { "rock", "Rocky", "rock night", "jazz", "Jazz Club", "j", "opera", "rock" };
+        List<Event> events = IntStream.range(0, 500)
+                .mapToObj(i -> Event.builder()
+                        .eventId(Integer.toString(i))
+                        .name(words[random.nextInt(words.length)] + (random.nextBoolean() ? "" : " " + random.nextInt(20)))
+                        .eventDate(DAY.plusDays(random.nextInt(60)))
+                        .build())
+                .toList();
+        EventSearchIndex index = index(events);
+
+        String[] prefixes = { "r", "rock", "ROCK ", "rock n", "rocky 1", "j", "jazz c", "jazz club 19", "o", "x", "" };
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = random.nextBoolean() ? null : DAY.plusDays(random.nextInt(70) - 5);
+            LocalDate to = random.nextBoolean() ? null : DAY.plusDays(random.nextInt(70) - 5);
+            String prefix = prefixes[random.nextInt(prefixes.length)];
+
+            List<Event> expected = events.stream()
+                    .filter(event -> from == null || !event.getEventDate().isBefore(from))
+                    .filter(event -> to == null || !event.getEventDate().isAfter(to))
+                    .filter(event -> event.getName().toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)))
+                    .sorted(byDate())
+                    .toList();
+            Assertions.assertEquals(ids(expected), ids(index.search(from, to, prefix)), from + " " + to + " " + prefix);
+        }
+    }
+
+    private EventSearchIndex index(List<Event> events) {
+        return new EventSearchIndex(events.stream().sorted(byDate()).toList());
+    }
+
+    private Comparator<Event> byDate() {
+        return Comparator.comparing(Event::getEventDate).thenComparing(Event::getEventId);
+    }
+
+    private List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getEventId).toList();
+    }
+
+    private List<Event> getEvents() {
+        return List.of(
+                Event.builder().eventId("1").name("Concert Abba").eventDate(DAY).build(),
+                Event.builder().eventId("2").name("The Play").eventDate(DAY.plusDays(1)).build(),
+                Event.builder().eventId("3").name("concert blues").eventDate(DAY.plusDays(1)).build(),
+                Event.builder().eventId("4").name("Concert Blues").eventDate(DAY.plusDays(2)).build(),
+                Event.builder().eventId("5").name("Theatre").eventDate(DAY.plusDays(2)).build()
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.ticketfma.repository.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InventoryLockTest {
+
+    @Test
+    public void givenReaderIn_whenWriteLock_thenWaitForTheReaderAndKeepNewReadersOut() throws Exception {
+        InventoryLock lock = new InventoryLock();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int cell = lock.readLock();
+
+        Thread writer = Thread.ofPlatform().start(() -> {
+            lock.writeLock();
+            written.countDown();
+            awaitQuietly(release);
+            lock.unlockWrite();
+        });
+        Assertions.assertFalse(written.await(50, TimeUnit.MILLISECONDS), "The writer should wait for the reader");
+
+        lock.unlockRead(cell);
+        Assertions.assertTrue(written.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> lock.unlockRead(lock.readLock()));
+        Thread.sleep(50);
+        Assertions.assertFalse(reader.isDone(), "A new reader should wait for the writer");
+
+        release.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+        writer.join();
+    }
+
+    @Test
+    public void givenReadersAndWriters_whenRunConcurrently_thenNoReaderRunsWithAWriter() throws Exception {
+        InventoryLock lock = new InventoryLock();
+        AtomicInteger readers = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        int rounds = 20_000;
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < rounds; i++) {
+                    int cell = lock.readLock();
+                    readers.incrementAndGet();
+                    readers.decrementAndGet();
+                    lock.unlockRead(cell);
+                }
+            });
+        }
+        start.countDown();
+        for (int i = 0; i < 200; i++) {
+            lock.writeLock();
+            if (readers.get() != 0) {
+                overlap.set(true);
+            }
+            lock.unlockWrite();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+            Assertions.assertFalse(thread.isAlive(), "Readers should not be kept out for good");
+        }
+
+        Assertions.assertFalse(overlap.get(), "No reader should run while a writer holds the lock");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
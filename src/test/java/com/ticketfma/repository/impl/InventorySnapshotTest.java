@@ -0,0 +1,145 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.ticketfma.config.InventoryProperties;
+import com.ticketfma.model.Event;
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.repository.impl.InventorySnapshot.Contents;
+import com.ticketfma.repository.impl.InventorySnapshot.Hold;
+
+public class InventorySnapshotTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(InventoryProperties.Storage.class)
+    public void givenInventory_whenWriteAndLoad_thenRestoreEventsSeatsAndHolds(InventoryProperties.Storage storage) throws IOException {
+        ColumnarSeatInventory inventory = new ColumnarSeatInventory(createSeats(3_000));
+        inventory.setStatus(10, SeatStatus.HOLD);
+        inventory.setStatus(11, SeatStatus.SOLD);
+        List<Event> events = List.of(
+                Event.builder().eventId("1").name("Event 001").eventDate(LocalDate.parse("2025-01-02")).build(),
+                Event.builder().eventId("2").name("Event 002").build());
+        Map<String, SeatInventory> inventories = Map.of("1", inventory, "2", new ObjectSeatInventory(createSeats(1)));
+
+        Map<String, byte[]> statuses = copyStatuses(inventories);
+        // Sold after the statuses were copied: the snapshot keeps the copied status.
+        inventory.setStatus(12, SeatStatus.SOLD);
+
+        InventorySnapshot snapshot = createSnapshot(storage);
+        snapshot.write(events, inventories, statuses, List.of(new Hold("h-1", "1", 123L, new int[] { 10 })), 42L);
+        inventory.setStatus(12, SeatStatus.OPEN);
+        Contents contents = snapshot.load().orElseThrow();
+
+        Assertions.assertEquals(events, contents.events());
+        Assertions.assertEquals(42L, contents.journalPosition());
+        Assertions.assertEquals(1, contents.holds().size());
+        Assertions.assertEquals("h-1", contents.holds().getFirst().holdId());
+        Assertions.assertEquals("1", contents.holds().getFirst().eventId());
+        Assertions.assertEquals(123L, contents.holds().getFirst().deadlineMillis());
+        Assertions.assertArrayEquals(new int[] { 10 }, contents.holds().getFirst().positions());
+
+        SeatInventory loaded = contents.eventInventories().get("1");
+        Assertions.assertEquals(storage == InventoryProperties.Storage.COLUMNAR, loaded instanceof ColumnarSeatInventory);
+        Assertions.assertEquals(inventory.size(), loaded.size());
+        for (int position = 0; position < inventory.size(); position++) {
+            Assertions.assertEquals(inventory.getSeat(position), loaded.getSeat(position));
+        }
+        Assertions.assertEquals(11, loaded.find("11", "R11", "L1", "S2"));
+        Assertions.assertEquals(inventory.getBestSeats(100), loaded.getBestSeats(100));
+        Assertions.assertEquals(1, contents.eventInventories().get("2").size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(InventoryProperties.Storage.class)
+    public void givenInventoryOfAnyStorage_whenWriteAndLoad_thenLoadTheSameSeatsInEveryStorage(InventoryProperties.Storage written)
+            throws IOException {
+        // 1000 seats leave the last words without upsells, which a columnar writer leaves out.
+        List<Seat> seats = createSeats(1_000);
+        seats.subList(990, 1_000).forEach(seat -> seat.setHasUpsells(false));
+        SeatInventory inventory = createInventory(written, seats);
+        inventory.setStatus(3, SeatStatus.HOLD);
+        inventory.setStatus(4, SeatStatus.SOLD);
+        Map<String, SeatInventory> inventories = Map.of("1", inventory);
+        List<Event> events = List.of(Event.builder().eventId("1").name("Event 001").build());
+        createSnapshot(written).write(events, inventories, copyStatuses(inventories), List.of(), 0);
+
+        for (InventoryProperties.Storage storage : InventoryProperties.Storage.values()) {
+            SeatInventory loaded = createSnapshot(storage).load().orElseThrow().eventInventories().get("1");
+            Assertions.assertEquals(inventory.size(), loaded.size());
+            for (int position = 0; position < inventory.size(); position++) {
+                Assertions.assertEquals(inventory.getSeat(position), loaded.getSeat(position), storage + " seat " + position);
+            }
+            Assertions.assertEquals(999, loaded.find("999", "R19", "L1", "S0"));
+            Assertions.assertEquals(inventory.getBestSeats(50), loaded.getBestSeats(50));
+        }
+    }
+
+    @Test
+    public void givenCorruptedSnapshot_whenLoad_thenReturnEmpty() throws IOException {
+        InventorySnapshot snapshot = createSnapshot(InventoryProperties.Storage.COLUMNAR);
+        Map<String, SeatInventory> inventories = Map.of("1", new ColumnarSeatInventory(createSeats(100)));
+        snapshot.write(List.of(Event.builder().eventId("1").name("Event 001").build()), inventories, copyStatuses(inventories), List.of(), 0);
+
+        Path file = tempDir.resolve("inventory.snapshot");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[100] ^= 1;
+        Files.write(file, bytes);
+
+        Assertions.assertTrue(snapshot.load().isEmpty());
+    }
+
+    @Test
+    public void givenNoSnapshotFile_whenLoad_thenReturnEmpty() {
+        Assertions.assertTrue(createSnapshot(InventoryProperties.Storage.OBJECTS).load().isEmpty());
+        Assertions.assertTrue(new InventorySnapshot(new InventoryProperties()).load().isEmpty());
+    }
+
+    /* stubs - BEGIN */
+    private InventorySnapshot createSnapshot(InventoryProperties.Storage storage) {
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.setSnapshotFile(tempDir.resolve("inventory.snapshot").toString());
+        inventoryProperties.setStorage(storage);
+        return new InventorySnapshot(inventoryProperties);
+    }
+
+    private SeatInventory createInventory(InventoryProperties.Storage storage, List<Seat> seats) {
+        return switch (storage) {
+            case OBJECTS -> new ObjectSeatInventory(seats);
+            case COLUMNAR -> new ColumnarSeatInventory(seats);
+            case OFF_HEAP -> new OffHeapSeatInventory(seats);
+        };
+    }
+
+    private Map<String, byte[]> copyStatuses(Map<String, SeatInventory> inventories) {
+        Map<String, byte[]> statuses = new HashMap<>();
+        inventories.forEach((eventId, inventory) -> statuses.put(eventId, InventorySnapshot.copyStatuses(inventory)));
+        return statuses;
+    }
+
+    private List<Seat> createSeats(int seatCount) {
+        List<Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(Seat.builder().seatNumber(String.valueOf(i)).row("R" + (i % 20)).level("L" + (i % 2)).section("S" + (i % 3))
+                    .status(SeatStatus.OPEN).sellRank(seatCount - i / 2).hasUpsells(i % 7 == 0).build());
+        }
+        return seats;
+    }
+    /* stubs - END */
+}
@@ -0,0 +1,28 @@
+package com.ticketfma.repository.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Storage specific checks; the behaviour shared with the other storages is tested in {@link SeatInventoryTest}.
+ */
+@Slf4j
+public class OffHeapSeatInventoryTest {
+
+    @Test
+    public void givenManySeats_whenStoredOffHeap_thenKeepEveryColumnInDirectBuffers() {
+        int seatCount = 500_000;
+
+        OffHeapSeatInventory inventory = new OffHeapSeatInventory(SeatInventoryTest.createVenue(seatCount));
+
+        // Eight int columns, the index with four slots per power of two of seats, and two bit columns.
+        long indexSlots = Integer.highestOneBit(seatCount) << 2;
+        long bitColumn = (seatCount + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+        long expectedBytes = (8L * seatCount + indexSlots) * Integer.BYTES + 2 * bitColumn;
+        log.info("Off-heap columns of {} seats: {} bytes ({} per seat).", seatCount, inventory.offHeapBytes(),
+                inventory.offHeapBytes() / seatCount);
+        Assertions.assertEquals(expectedBytes, inventory.offHeapBytes());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketfma.repository.impl;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatCount;
+import com.ticketfma.model.enums.SeatStatus;
+
+public class SeatCountsTest {
+
+    @Test
+    public void givenInventory_whenCount_thenCountSeatsPerStatusLevelAndSection() {
+        EventAvailability availability = SeatCounts.of(new ObjectSeatInventory(getSeats())).toAvailability("event1");
+
+        Assertions.assertEquals("event1", availability.getEventId());
+        Assertions.assertEquals(count(3, 1, 1), availability.getSeats());
+        Assertions.assertEquals(count(2, 1, 0), availability.getLevels().get("1"));
+        Assertions.assertEquals(count(1, 0, 1), availability.getLevels().get("2"));
+        Assertions.assertEquals(count(1, 1, 0), availability.getSections().get("1").get("North"));
+        Assertions.assertEquals(count(1, 0, 0), availability.getSections().get("1").get("South"));
+        Assertions.assertEquals(count(1, 0, 1), availability.getSections().get("2").get("North"), "Sections should be counted per level");
+    }
+
+    @Test
+    public void givenStatusChange_whenMove_thenCountSeatInItsNewStatusEverywhere() {
+        ObjectSeatInventory inventory = new ObjectSeatInventory(getSeats());
+        SeatCounts counts = SeatCounts.of(inventory);
+
+        inventory.setStatus(0, SeatStatus.HOLD);
+        counts.move(inventory, 0, SeatStatus.OPEN, SeatStatus.HOLD);
+        EventAvailability availability = counts.toAvailability("event1");
+
+        Assertions.assertEquals(count(2, 2, 1), availability.getSeats());
+        Assertions.assertEquals(count(1, 2, 0), availability.getLevels().get("1"));
+        Assertions.assertEquals(count(0, 2, 0), availability.getSections().get("1").get("North"));
+        Assertions.assertEquals(count(1, 0, 1), availability.getLevels().get("2"));
+        Assertions.assertEquals(SeatCounts.of(inventory).toAvailability("event1"), availability, "Moved counts should match a new count");
+    }
+
+    private SeatCount count(long open, long hold, long sold) {
+        return SeatCount.builder().open(open).hold(hold).sold(sold).build();
+    }
+
+    private List<Seat> getSeats() {
+        return List.of(
+                Seat.builder().level("1").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("2").status(SeatStatus.HOLD).build(),
+                Seat.builder().level("1").section("South").row("A").seatNumber("1").status(SeatStatus.OPEN).build(),
+                Seat.builder().level("2").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).build(),
+                Seat.builder().level("2").section("North").row("A").seatNumber("2").status(SeatStatus.SOLD).build()
+        );
+    }
+}
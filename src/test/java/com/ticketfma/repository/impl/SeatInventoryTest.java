@@ -0,0 +1,138 @@
+package com.ticketfma.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.ticketfma.config.InventoryProperties.Storage;
+import com.ticketfma.model.Seat;
+import com.ticketfma.model.enums.SeatStatus;
+
+/**
+ * Behaviour every {@link SeatInventory} storage must share.
+ */
+public class SeatInventoryTest {
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenExistingSeat_whenFind_thenReturnItsPosition(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        Assertions.assertEquals(3, inventory.find("4", "A", "1", "North"));
+        Assertions.assertEquals(SeatInventory.NOT_FOUND, inventory.find("4", "A", "1", "South"));
+        Assertions.assertEquals(SeatInventory.NOT_FOUND, inventory.find("9", "A", "1", "North"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenRepeatedSeat_whenFind_thenReturnTheFirstRow(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        Assertions.assertEquals(0, inventory.find("1", "A", "1", "North"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenPosition_whenGetSeat_thenReturnTheSeat(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        Assertions.assertEquals(getSeats().get(1), inventory.getSeat(1));
+        Assertions.assertEquals("1", inventory.getLevel(1));
+        Assertions.assertEquals("North", inventory.getSection(1));
+        Assertions.assertEquals(6, inventory.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenOpenSeats_whenGetBestSeats_thenReturnOpenSeatsOrderedBySellRank(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        List<Seat> bestSeats = inventory.getBestSeats(10);
+
+        Assertions.assertEquals(List.of(1, 2, 2, 3, 5), bestSeats.stream().map(Seat::getSellRank).toList());
+        Assertions.assertEquals(List.of("2", "4", "5", "1", "1"), bestSeats.stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenStatusChanges_whenGetBestSeats_thenFollowTheChanges(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        inventory.setStatus(1, SeatStatus.HOLD);
+        Assertions.assertEquals(List.of("4", "5"), inventory.getBestSeats(2).stream().map(Seat::getSeatNumber).toList());
+
+        inventory.setStatus(2, SeatStatus.OPEN);
+        inventory.setStatus(1, SeatStatus.OPEN);
+        Assertions.assertEquals(List.of("3", "2"), inventory.getBestSeats(2).stream().map(Seat::getSeatNumber).toList());
+        Assertions.assertEquals(SeatStatus.OPEN, inventory.getStatus(2));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Storage.class)
+    public void givenExpectedStatus_whenCompareAndSetStatus_thenChangeTheStatusOnce(Storage storage) {
+        SeatInventory inventory = create(storage, getSeats());
+
+        Assertions.assertTrue(inventory.compareAndSetStatus(1, SeatStatus.OPEN, SeatStatus.HOLD));
+        Assertions.assertFalse(inventory.compareAndSetStatus(1, SeatStatus.OPEN, SeatStatus.HOLD));
+
+        Assertions.assertEquals(SeatStatus.HOLD, inventory.getStatus(1));
+        Assertions.assertEquals(List.of("4", "5"), inventory.getBestSeats(2).stream().map(Seat::getSeatNumber).toList());
+    }
+
+    private SeatInventory create(Storage storage, List<Seat> seats) {
+        return switch (storage) {
+            case OBJECTS -> new ObjectSeatInventory(seats);
+            case COLUMNAR -> new ColumnarSeatInventory(seats);
+            case OFF_HEAP -> new OffHeapSeatInventory(seats);
+        };
+    }
+
+    /* stubs - BEGIN */
+    /**
+     * Seats of a venue with coordinates shared between seats, as CsvDataLoader pools them.
+     */
+    static List<Seat> createVenue(int seatCount) {
+        String[] numbers = new String[100];
+        String[] rows = new String[50];
+        String[] levels = { "A", "B", "C", "D" };
+        String[] sections = new String[25];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = String.valueOf(i);
+        }
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = "R" + i;
+        }
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = "S" + i;
+        }
+
+        List<Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(Seat.builder()
+                    .seatNumber(numbers[i % numbers.length])
+                    .row(rows[i / numbers.length % rows.length])
+                    .level(levels[i / (numbers.length * rows.length) % levels.length])
+                    .section(sections[i / (numbers.length * rows.length * levels.length) % sections.length])
+                    .status(SeatStatus.OPEN)
+                    .sellRank(i)
+                    .hasUpsells(i % 3 == 0)
+                    .build());
+        }
+        return seats;
+    }
+
+    private List<Seat> getSeats() {
+        return List.of(
+                Seat.builder().level("1").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).sellRank(3).hasUpsells(true).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("2").status(SeatStatus.OPEN).sellRank(1).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("3").status(SeatStatus.SOLD).sellRank(0).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("4").status(SeatStatus.OPEN).sellRank(2).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("5").status(SeatStatus.OPEN).sellRank(2).build(),
+                Seat.builder().level("1").section("North").row("A").seatNumber("1").status(SeatStatus.OPEN).sellRank(5).build()
+        );
+    }
+    /* stubs - END */
+}
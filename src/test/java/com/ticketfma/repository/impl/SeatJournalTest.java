@@ -0,0 +1,269 @@
+package com.ticketfma.repository.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ticketfma.config.JournalProperties;
+import com.ticketfma.exception.JournalUnavailableException;
+import com.ticketfma.model.SeatKey;
+import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.repository.impl.SeatJournal.JournalRecord;
+
+import lombok.Setter;
+
+public class SeatJournalTest {
+
+    private static final SeatKey SEAT_1 = new SeatKey("1", "A", "1", "North");
+    private static final SeatKey SEAT_2 = new SeatKey("2", "A", "1", "North");
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void givenAppendedRecords_whenReplayAfterClose_thenReturnThemInOrder() {
+        Path file = tempDir.resolve("journal.bin");
+        SeatJournal journal = createJournal(file);
+        journal.start();
+        for (int i = 0; i < 1_000; i++) {
+            journal.append("event" + i, SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_1, SEAT_2));
+        }
+        journal.append("event0", SeatStatus.HOLD, SeatStatus.SOLD, List.of(SEAT_2), "hold-0");
+        journal.close();
+
+        List<JournalRecord> records = replay(createJournal(file));
+
+        Assertions.assertEquals(1_001, records.size());
+        Assertions.assertEquals("event999", records.get(999).eventId());
+        Assertions.assertEquals(List.of(SEAT_1, SEAT_2), records.getFirst().seats());
+        Assertions.assertNull(records.getFirst().holdId());
+        JournalRecord last = records.getLast();
+        Assertions.assertEquals(SeatStatus.HOLD, last.from());
+        Assertions.assertEquals(SeatStatus.SOLD, last.to());
+        Assertions.assertEquals(List.of(SEAT_2), last.seats());
+        Assertions.assertEquals("hold-0", last.holdId());
+        Assertions.assertTrue(last.timestampMillis() > 0);
+    }
+
+    @Test
+    public void givenTornLastRecord_whenReplay_thenDropItAndAppendAfterTheLastCompleteRecord() throws IOException {
+        Path file = tempDir.resolve("journal.bin");
+        SeatJournal journal = createJournal(file);
+        journal.start();
+        journal.append("event1", SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_1));
+        journal.append("event1", SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_2));
+        journal.close();
+
+        // A crash in the middle of the second record leaves only part of it on disk.
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+
+        SeatJournal restarted = createJournal(file);
+        Assertions.assertEquals(1, replay(restarted).size());
+        restarted.start();
+        restarted.append("event1", SeatStatus.HOLD, SeatStatus.SOLD, List.of(SEAT_1));
+        restarted.close();
+
+        List<JournalRecord> records = replay(createJournal(file));
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(SeatStatus.SOLD, records.getLast().to());
+    }
+
+    @Test
+    public void givenNoFile_whenAppend_thenJournalIsDisabled() {
+        SeatJournal journal = new SeatJournal(new JournalProperties());
+        journal.start();
+        journal.append("event1", SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_1));
+        journal.close();
+
+        Assertions.assertFalse(journal.isEnabled());
+    }
+
+    @Test
+    public void givenWriteFailingHalfway_whenAppend_thenCutTheJournalBackAndRefuseNewChanges() throws Exception {
+        Path file = tempDir.resolve("journal.bin");
+        AtomicReference<TearingChannel> channel = new AtomicReference<>();
+        SeatJournal journal = new SeatJournal(createProperties(file), path -> {
+            channel.set(new TearingChannel(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)));
+            return channel.get();
+        });
+        journal.start();
+        journal.append("event1", SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_1));
+        awaitWrittenLength(journal);
+        long goodLength = journal.getWrittenLength();
+
+        channel.get().setTearing(true);
+        journal.append("event1", SeatStatus.OPEN, SeatStatus.HOLD, List.of(SEAT_2));
+        for (int i = 0; i < 200 && !journal.isFailed(); i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(journal.isFailed());
+        Assertions.assertThrows(JournalUnavailableException.class, journal::checkWritable);
+        Assertions.assertEquals(goodLength, Files.size(file), "The torn record should be cut off");
+
+        // Nothing more is written, even once the disk is back.
+        channel.get().setTearing(false);
+        journal.append("event1", SeatStatus.HOLD, SeatStatus.SOLD, List.of(SEAT_1));
+        journal.close();
+        Assertions.assertEquals(goodLength, Files.size(file));
+        List<JournalRecord> records = replay(createJournal(file));
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(List.of(SEAT_1), records.getFirst().seats());
+    }
+
+    @Test
+    public void givenWorkingJournal_whenCheckWritable_thenAcceptChanges() {
+        SeatJournal journal = createJournal(tempDir.resolve("journal.bin"));
+        journal.start();
+
+        Assertions.assertDoesNotThrow(journal::checkWritable);
+        Assertions.assertFalse(journal.isFailed());
+        journal.close();
+    }
+
+    /* stubs - BEGIN */
+    private SeatJournal createJournal(Path file) {
+        return new SeatJournal(createProperties(file));
+    }
+
+    private JournalProperties createProperties(Path file) {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setFile(file.toString());
+        return journalProperties;
+    }
+
+    private void awaitWrittenLength(SeatJournal journal) throws InterruptedException {
+        for (int i = 0; i < 200 && journal.getWrittenLength() == 0; i++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(journal.getWrittenLength() > 0);
+    }
+
+    /**
+     * Writes to the file, except that when tearing, a write stops after a few bytes and fails, as on a full disk.
+     */
+    private static class TearingChannel extends FileChannel {
+        private final FileChannel file;
+        @Setter
+        private volatile boolean tearing;
+
+        TearingChannel(FileChannel file) {
+            this.file = file;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            if (!tearing) {
+                return file.write(sources, offset, length);
+            }
+            ByteBuffer source = sources[offset];
+            file.write(source.slice(source.position(), Math.min(5, source.remaining())));
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return (int) write(new ByteBuffer[] { source }, 0, 1);
+        }
+
+        @Override
+        public int read(ByteBuffer destination) throws IOException {
+            return file.read(destination);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+            return file.read(destinations, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return file.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            file.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return file.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            file.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            file.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return file.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return file.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer destination, long position) throws IOException {
+            return file.read(destination, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return file.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return file.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return file.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return file.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            file.close();
+        }
+    }
+
+    private List<JournalRecord> replay(SeatJournal journal) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(records::add);
+        return records;
+    }
+    /* stubs - END */
+}
@@ -0,0 +1,82 @@
+package com.ticketfma.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final long START = 1_000_000;
+
+    @Test
+    public void givenDeadlineWithinFirstLevel_whenAdvance_thenExpireOnTheTickOfTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("hold", START + 55);
+
+        wheel.advance(START + 50, expired::add);
+        Assertions.assertEquals(List.of(), expired, "Entry should not expire before its deadline");
+
+        wheel.advance(START + 60, expired::add);
+        Assertions.assertEquals(List.of("hold"), expired);
+    }
+
+    @Test
+    public void givenPastDeadline_whenAdvance_thenExpireRightAway() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("hold", START - 1);
+
+        wheel.advance(START, expired::add);
+
+        Assertions.assertEquals(List.of("hold"), expired);
+    }
+
+    @Test
+    public void givenRandomDeadlinesAcrossLevels_whenAdvance_thenEveryEntryExpiresOnTheFirstTickAtOrAfterItsDeadline() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            // Up to about 300k ticks ahead, so entries go through three levels.
+            long deadline = START + random.nextLong(3_000_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long now = START;
+        while (expired.size() < deadlines.size()) {
+            long previousTick = now / TICK;
+            now += random.nextLong(1, 5_000);
+            long tick = now / TICK;
+            wheel.advance(now, deadline -> {
+                long deadlineTick = Math.ceilDiv(deadline, TICK);
+                Assertions.assertTrue(deadlineTick <= tick, "Entry expired before its deadline");
+                Assertions.assertTrue(deadlineTick > previousTick, "Entry should have expired on an earlier advance");
+                expired.add(deadline);
+            });
+        }
+
+        Assertions.assertEquals(deadlines.stream().sorted().toList(), expired.stream().sorted().toList());
+    }
+
+    @Test
+    public void givenEntriesScheduledWhileAdvancing_whenAdvanceTickByTick_thenExpireOnTheTickOfTheirDeadline() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, START);
+        Random random = new Random(7);
+        long now = START;
+        for (int round = 0; round < 10_000; round++) {
+            long deadline = now + random.nextLong(1, 100_000);
+            wheel.schedule(deadline, deadline);
+
+            now += TICK;
+            long tick = now / TICK;
+            wheel.advance(now, expired -> Assertions.assertEquals(Math.ceilDiv(expired, TICK), tick, "Entry expired on the wrong tick"));
+        }
+    }
+}
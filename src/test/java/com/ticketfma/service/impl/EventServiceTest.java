@@ -1,34 +1,74 @@
 package com.ticketfma.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.exception.InvalidCursorException;
+import com.ticketfma.exception.InventoryReloadException;
+import com.ticketfma.exception.ReservationNotFoundException;
+import com.ticketfma.exception.SeatNotFoundException;
+import com.ticketfma.exception.SeatNotHeldException;
+import com.ticketfma.exception.SeatUnavailableException;
 import com.ticketfma.model.Event;
+import com.ticketfma.model.EventAvailability;
+import com.ticketfma.model.EventCursor;
+import com.ticketfma.model.EventPage;
+import com.ticketfma.model.InventoryReload;
+import com.ticketfma.model.Reservation;
+import com.ticketfma.model.ReservationResult;
 import com.ticketfma.model.Seat;
+import com.ticketfma.model.SeatCount;
+import com.ticketfma.model.dto.EventAvailabilityDTO;
 import com.ticketfma.model.dto.EventDTO;
+import com.ticketfma.model.dto.EventPageDTO;
+import com.ticketfma.model.dto.InventoryReloadDTO;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.ReservationResultDTO;
+import com.ticketfma.model.dto.SeatCountDTO;
 import com.ticketfma.model.dto.SeatDTO;
 import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.EventSort;
+import com.ticketfma.model.enums.ReservationOutcome;
+import com.ticketfma.model.enums.ReservationStatus;
 import com.ticketfma.model.enums.SeatStatus;
+import com.ticketfma.model.enums.SortOrder;
 import com.ticketfma.repository.impl.EventRepository;
+import com.ticketfma.service.mapper.EventMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class EventServiceTest {
 
     private static final String VALID_EVENT_ID = "101";
     private static final String INVALID_EVENT_ID = "999";
+    private static final String HOLD_ID = "hold-1";
     private static final String SORT_BY_NAME = "name";
     private static final String SORT_BY_DATE = "date";
 
@@ -38,6 +78,15 @@ public class EventServiceTest {
     @Mock
     private EventRepository repository;
 
+    @Mock
+    private ReservationQueue reservationQueue;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     /* getAllEvents - BEGIN */
     @Test
     public void givenNoSort_whenGetAllEvents_thenReturnAllEvents() {
@@ -80,8 +129,85 @@ public class EventServiceTest {
         }
         verify(repository).getAllEvents(SORT_BY_DATE);
     }
+
+    @Test
+    public void givenSameRepositorySnapshot_whenGetAllEvents_thenReuseMappedEvents() {
+        List<Event> events = getEvents();
+        when(repository.getAllEvents(SORT_BY_NAME)).thenReturn(events);
+
+        List<EventDTO> firstCall = eventService.getAllEvents(SORT_BY_NAME);
+        List<EventDTO> secondCall = eventService.getAllEvents(SORT_BY_NAME);
+
+        assertSame(firstCall, secondCall);
+        verify(repository, times(2)).getAllEvents(SORT_BY_NAME);
+    }
+
+    @Test
+    public void givenNewRepositorySnapshot_whenGetAllEvents_thenMapEventsAgain() {
+        List<Event> events = getEvents();
+        List<Event> changedEvents = events.subList(0, 2);
+        when(repository.getAllEvents(SORT_BY_DATE)).thenReturn(events, changedEvents);
+
+        List<EventDTO> firstCall = eventService.getAllEvents(SORT_BY_DATE);
+        List<EventDTO> secondCall = eventService.getAllEvents(SORT_BY_DATE);
+
+        assertNotSame(firstCall, secondCall);
+        assertEquals(changedEvents.size(), secondCall.size());
+    }
     /* getAllEvents - END */
 
+    /* getEventPage - BEGIN */
+    @Test
+    public void givenNoCursor_whenGetEventPage_thenReturnFirstPageWithNextCursor() {
+        List<Event> events = getEvents();
+        Event last = events.get(1);
+        EventCursor next = EventCursor.builder().sort(EventSort.DATE).order(SortOrder.DESC).eventId(last.getEventId()).name(last.getName())
+                .eventDate(last.getEventDate()).build();
+        when(repository.getEventPage(EventSort.DATE, SortOrder.DESC, null, 2))
+                .thenReturn(EventPage.builder().events(events.subList(0, 2)).next(next).build());
+
+        EventPageDTO result = eventService.getEventPage(SORT_BY_DATE, "desc", null, 2);
+
+        assertEquals(2, result.getEvents().size());
+        assertEquals(next, EventMapper.toEventCursor(result.getNextCursor()));
+    }
+
+    @Test
+    public void givenCursor_whenGetEventPage_thenKeepSortAndOrderOfCursor() {
+        Event event = getEvents().get(0);
+        EventCursor cursor = EventCursor.builder().sort(EventSort.NAME).order(SortOrder.DESC).eventId(event.getEventId()).name(event.getName())
+                .eventDate(event.getEventDate()).build();
+        when(repository.getEventPage(EventSort.NAME, SortOrder.DESC, cursor, 2)).thenReturn(EventPage.builder().events(List.of()).build());
+
+        EventPageDTO result = eventService.getEventPage(SORT_BY_DATE, "asc", EventMapper.toCursor(cursor), 2);
+
+        assertEquals(0, result.getEvents().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void givenInvalidCursor_whenGetEventPage_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> eventService.getEventPage(null, null, "not-a-cursor", 2));
+        verify(repository, never()).getEventPage(any(), any(), any(), eq(2));
+    }
+    /* getEventPage - END */
+
+    /* searchEvents - BEGIN */
+    @Test
+    public void givenDateRangeAndNamePrefix_whenSearchEvents_thenReturnMappedEvents() {
+        List<Event> events = getEvents();
+        LocalDate from = LocalDate.parse("2022-01-01");
+        LocalDate to = LocalDate.parse("2022-01-31");
+        when(repository.searchEvents(from, to, "event")).thenReturn(events);
+
+        List<EventDTO> result = eventService.searchEvents(from, to, "event");
+
+        assertEquals(events.size(), result.size());
+        assertEquals(events.get(0).getEventId(), result.get(0).getEventId());
+        verify(repository).searchEvents(from, to, "event");
+    }
+    /* searchEvents - END */
+
     /* getSeat - BEGIN */
     @Test
     public void givenInvalidEventId_whenGetSeat_thenThrowNoSuchElementException() {
@@ -148,31 +274,284 @@ public class EventServiceTest {
         }
         verify(repository).getBestSeats(VALID_EVENT_ID, 5);
     }
+
+    @Test
+    public void givenValidEventId_whenGetBestSeats_thenTimeTheCall() {
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.getBestSeats(VALID_EVENT_ID, 5)).thenReturn(getSeats());
+
+        eventService.getBestSeats(VALID_EVENT_ID, 5);
+        eventService.getBestSeats(VALID_EVENT_ID, 5);
+
+        assertEquals(2, meterRegistry.get("ticketfma.service").tag("operation", "getBestSeats").timer().count());
+    }
     /* getBestSeats - END */
 
+    /* getAvailability - BEGIN */
+    @Test
+    public void givenEventRemovedAfterTheCheck_whenGetAvailability_thenThrowEventNotFoundException() {
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.getAvailability(VALID_EVENT_ID)).thenThrow(new EventNotFoundException(VALID_EVENT_ID));
+
+        EventNotFoundException exception = assertThrows(EventNotFoundException.class, () -> eventService.getAvailability(VALID_EVENT_ID));
+
+        assertEquals("Event '" + VALID_EVENT_ID + "' not found.", exception.getMessage());
+    }
+
+    @Test
+    public void givenInvalidEventId_whenGetAvailability_thenThrowEventNotFoundException() {
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.getAvailability(INVALID_EVENT_ID));
+        verify(repository, never()).getAvailability(INVALID_EVENT_ID);
+    }
+
+    @Test
+    public void givenValidEventId_whenGetAvailability_thenReturnCountsPerLevelAndSection() {
+        SeatCount level = SeatCount.builder().open(3).hold(1).sold(2).build();
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.getAvailability(VALID_EVENT_ID)).thenReturn(EventAvailability.builder()
+                .eventId(VALID_EVENT_ID)
+                .seats(level)
+                .levels(Map.of("b", level))
+                .sections(Map.of("b", Map.of("E", level)))
+                .build());
+
+        EventAvailabilityDTO availability = eventService.getAvailability(VALID_EVENT_ID);
+
+        SeatCountDTO expected = SeatCountDTO.builder().open(3).hold(1).sold(2).build();
+        assertEquals(VALID_EVENT_ID, availability.getEventId());
+        assertEquals(expected, availability.getSeats());
+        assertEquals(Map.of("b", expected), availability.getLevels());
+        assertEquals(Map.of("b", Map.of("E", expected)), availability.getSections());
+    }
+    /* getAvailability - END */
+
     /* reserveSeats - BEGIN */
     @Test
     public void givenValidEventIdAndValidSeatRequest_whenReserveSeats_thenReserveSeatRequest() {
         List<SeatRequest> seatRequests = List.of(new SeatRequest());
         when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
-        when(repository.seatExists(VALID_EVENT_ID, seatRequests.getFirst().getSeatNumber(), seatRequests.getFirst().getRow(),
-                seatRequests.getFirst().getLevel(),
-                seatRequests.getFirst().getSection())).thenReturn(true);
-        when(repository.seatAvailable(VALID_EVENT_ID, seatRequests.getFirst().getSeatNumber(), seatRequests.getFirst().getRow(),
-                seatRequests.getFirst().getLevel(),
-                seatRequests.getFirst().getSection())).thenReturn(true);
+        ReservationResult reservationResult = getReservationResult(seatRequests, ReservationOutcome.RESERVED);
+        reservationResult.setHoldId(HOLD_ID);
+        when(repository.reserveSeats(VALID_EVENT_ID, seatRequests)).thenReturn(reservationResult);
 
-        eventService.reserveSeats(VALID_EVENT_ID, seatRequests);
+        ReservationResultDTO reservation = eventService.reserveSeats(VALID_EVENT_ID, seatRequests);
 
+        assertEquals(HOLD_ID, reservation.getHoldId());
+        assertEquals(VALID_EVENT_ID, reservation.getEventId());
         verify(repository).eventExists(VALID_EVENT_ID);
-        verify(repository).seatExists(VALID_EVENT_ID, seatRequests.getFirst().getSeatNumber(), seatRequests.getFirst().getRow(),
-                seatRequests.getFirst().getLevel(), seatRequests.getFirst().getSection());
-        verify(repository).seatAvailable(VALID_EVENT_ID, seatRequests.getFirst().getSeatNumber(), seatRequests.getFirst().getRow(),
-                seatRequests.getFirst().getLevel(), seatRequests.getFirst().getSection());
         verify(repository).reserveSeats(VALID_EVENT_ID, seatRequests);
+        verify(repository, never()).seatExists(any(), any(), any(), any(), any());
+        verify(repository, never()).seatAvailable(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void givenInvalidEventId_whenReserveSeats_thenThrowEventNotFoundException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.reserveSeats(INVALID_EVENT_ID, seatRequests));
+
+        verify(repository, never()).reserveSeats(any(), any());
+    }
+
+    @Test
+    public void givenInvalidEventId_whenReserveSeats_thenTimeTheFailedCall() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.reserveSeats(INVALID_EVENT_ID, seatRequests));
+
+        assertEquals(1, meterRegistry.get("ticketfma.service").tag("operation", "reserveSeats").timer().count());
+    }
+
+    @Test
+    public void givenMissingSeat_whenReserveSeats_thenThrowSeatNotFoundException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest(), new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.reserveSeats(VALID_EVENT_ID, seatRequests)).thenReturn(
+                getReservationResult(seatRequests, ReservationOutcome.NOT_RESERVED, ReservationOutcome.NOT_FOUND));
+
+        assertThrows(SeatNotFoundException.class, () -> eventService.reserveSeats(VALID_EVENT_ID, seatRequests));
+    }
+
+    @Test
+    public void givenUnavailableSeat_whenReserveSeats_thenThrowSeatUnavailableException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest(), new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.reserveSeats(VALID_EVENT_ID, seatRequests)).thenReturn(
+                getReservationResult(seatRequests, ReservationOutcome.UNAVAILABLE, ReservationOutcome.NOT_RESERVED));
+
+        assertThrows(SeatUnavailableException.class, () -> eventService.reserveSeats(VALID_EVENT_ID, seatRequests));
+    }
+
+    @Test
+    public void givenBatchWithUnknownEvent_whenReserveSeats_thenAnswerUnknownEventAndReserveTheOthers() {
+        ReservationRequest unknown = getReservationRequest(INVALID_EVENT_ID);
+        ReservationRequest reserved = getReservationRequest(VALID_EVENT_ID);
+        ReservationRequest unavailable = getReservationRequest(VALID_EVENT_ID);
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.reserveSeats(List.of(reserved, unavailable))).thenReturn(List.of(
+                getReservationResult(reserved.getSeats(), ReservationOutcome.RESERVED),
+                getReservationResult(unavailable.getSeats(), ReservationOutcome.UNAVAILABLE)));
+
+        List<ReservationResultDTO> results = eventService.reserveSeats(List.of(unknown, reserved, unavailable));
+
+        assertEquals(List.of(ReservationStatus.EVENT_NOT_FOUND, ReservationStatus.RESERVED, ReservationStatus.SEAT_UNAVAILABLE),
+                results.stream().map(ReservationResultDTO::getStatus).toList());
+        assertEquals(List.of(INVALID_EVENT_ID, VALID_EVENT_ID, VALID_EVENT_ID), results.stream().map(ReservationResultDTO::getEventId).toList());
+        assertEquals(ReservationOutcome.UNAVAILABLE, results.get(2).getSeats().getFirst().getOutcome());
+        verify(repository).reserveSeats(List.of(reserved, unavailable));
+    }
+
+    @Test
+    public void givenBatchWithOnlyUnknownEvents_whenReserveSeats_thenDoNotCallRepository() {
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        List<ReservationResultDTO> results = eventService.reserveSeats(List.of(getReservationRequest(INVALID_EVENT_ID)));
+
+        assertEquals(ReservationStatus.EVENT_NOT_FOUND, results.getFirst().getStatus());
+        verify(repository, never()).reserveSeats(any());
     }
     /* reserveSeats - END */
 
+    /* confirmSeats - BEGIN */
+    @Test
+    public void givenHeldSeatsWithoutIdempotencyKey_whenConfirmSeats_thenConfirmWithoutCache() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests)).thenReturn(getReservationResult(seatRequests, ReservationOutcome.RESERVED));
+
+        eventService.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests, null);
+
+        verify(repository).confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests);
+        verify(idempotencyCache, never()).getOrCompute(any(), any(), any());
+    }
+
+    @Test
+    public void givenIdempotencyKey_whenConfirmSeats_thenConfirmThroughCacheScopedByEvent() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests)).thenReturn(getReservationResult(seatRequests, ReservationOutcome.RESERVED));
+        when(idempotencyCache.getOrCompute(eq(VALID_EVENT_ID + "/key"), any(), any())).thenAnswer(invocation -> {
+            Supplier<ReservationResult> action = invocation.getArgument(2);
+            return action.get();
+        });
+
+        eventService.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests, "key");
+
+        verify(repository).confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests);
+    }
+
+    @Test
+    public void givenSeatNotHeld_whenConfirmSeats_thenThrowSeatNotHeldException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(repository.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests)).thenReturn(getReservationResult(seatRequests, ReservationOutcome.UNAVAILABLE));
+
+        assertThrows(SeatNotHeldException.class, () -> eventService.confirmSeats(VALID_EVENT_ID, HOLD_ID, seatRequests, null));
+    }
+
+    @Test
+    public void givenInvalidEventId_whenConfirmSeats_thenThrowEventNotFoundException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.confirmSeats(INVALID_EVENT_ID, HOLD_ID, seatRequests, "key"));
+
+        verify(repository, never()).confirmSeats(any(), any(), any());
+    }
+    /* confirmSeats - END */
+
+    /* enqueueReservation - BEGIN */
+    @Test
+    public void givenValidEventId_whenEnqueueReservation_thenReturnPendingReservation() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(VALID_EVENT_ID)).thenReturn(true);
+        when(reservationQueue.submit(VALID_EVENT_ID, seatRequests)).thenReturn(getReservation(VALID_EVENT_ID, seatRequests));
+
+        ReservationResultDTO reservation = eventService.enqueueReservation(VALID_EVENT_ID, seatRequests);
+
+        assertEquals("r-1", reservation.getReservationId());
+        assertEquals(ReservationStatus.PENDING, reservation.getStatus());
+        verify(reservationQueue).submit(VALID_EVENT_ID, seatRequests);
+    }
+
+    @Test
+    public void givenInvalidEventId_whenEnqueueReservation_thenThrowEventNotFoundException() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        when(repository.eventExists(INVALID_EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.enqueueReservation(INVALID_EVENT_ID, seatRequests));
+
+        verify(reservationQueue, never()).submit(any(), any());
+    }
+    /* enqueueReservation - END */
+
+    /* getReservation - BEGIN */
+    @Test
+    public void givenAppliedReservation_whenGetReservation_thenReturnItsOutcome() {
+        List<SeatRequest> seatRequests = List.of(new SeatRequest());
+        Reservation reservation = getReservation(VALID_EVENT_ID, seatRequests);
+        reservation.setResult(getReservationResult(seatRequests, ReservationOutcome.UNAVAILABLE));
+        when(reservationQueue.getReservation("r-1")).thenReturn(Optional.of(reservation));
+
+        ReservationResultDTO reservationResult = eventService.getReservation("r-1");
+
+        assertEquals(ReservationStatus.SEAT_UNAVAILABLE, reservationResult.getStatus());
+        assertEquals("r-1", reservationResult.getReservationId());
+    }
+
+    @Test
+    public void givenUnknownReservationId_whenGetReservation_thenThrowReservationNotFoundException() {
+        when(reservationQueue.getReservation("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(ReservationNotFoundException.class, () -> eventService.getReservation("unknown"));
+    }
+    /* getReservation - END */
+
+    /* reloadInventory - BEGIN */
+    @Test
+    public void givenReloadedInventory_whenReloadInventory_thenReturnWhatChanged() {
+        when(repository.reloadInventory()).thenReturn(InventoryReload.builder().addedEvents(1).updatedEvents(2).updatedSeats(5).build());
+
+        InventoryReloadDTO inventoryReload = eventService.reloadInventory();
+
+        assertEquals(1, inventoryReload.getAddedEvents());
+        assertEquals(2, inventoryReload.getUpdatedEvents());
+        assertEquals(5, inventoryReload.getUpdatedSeats());
+        verify(reservationQueue).stopRemovedEvents();
+    }
+
+    @Test
+    public void givenUnreadableInventory_whenReloadInventory_thenThrowInventoryReloadException() {
+        when(repository.reloadInventory()).thenThrow(new UncheckedIOException(new IOException("Broken file")));
+
+        assertThrows(InventoryReloadException.class, () -> eventService.reloadInventory());
+        verify(reservationQueue, never()).stopRemovedEvents();
+    }
+    /* reloadInventory - END */
+
+    private ReservationRequest getReservationRequest(String eventId) {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(eventId);
+        reservationRequest.setSeats(List.of(new SeatRequest()));
+        return reservationRequest;
+    }
+
+    private Reservation getReservation(String eventId, List<SeatRequest> seatRequests) {
+        ReservationRequest reservationRequest = new ReservationRequest();
+        reservationRequest.setEventId(eventId);
+        reservationRequest.setSeats(seatRequests);
+        return new Reservation("r-1", reservationRequest);
+    }
+
+    private ReservationResult getReservationResult(List<SeatRequest> seatRequests, ReservationOutcome... outcomes) {
+        return ReservationResult.of(seatRequests, outcomes);
+    }
+
     private void isSameEvent(Event event, EventDTO eventDTO) {
         assertEquals(event.getEventId(), eventDTO.getEventId());
         assertEquals(event.getName(), eventDTO.getName());
@@ -0,0 +1,147 @@
+package com.ticketfma.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.IdempotencyKeyReusedException;
+import com.ticketfma.model.ReservationResult;
+import com.ticketfma.model.SeatReservation;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationOutcome;
+
+public class IdempotencyCacheTest {
+
+    private static final String REQUEST = "hold-1";
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    public void givenCachedKey_whenGetOrCompute_thenReturnFirstResultWithoutRunningAgain() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+        ReservationResult first = cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        ReservationResult retry = cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        assertSame(first, retry);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void givenExpiredKey_whenGetOrCompute_thenRunAgain() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+        cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void givenFullCache_whenGetOrCompute_thenEvictOldestKeys() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 3);
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            cache.getOrCompute("key" + i, REQUEST, () -> newResult(runs));
+        }
+
+        assertEquals(3, cache.size());
+        cache.getOrCompute("key4", REQUEST, () -> newResult(runs));
+        assertEquals(5, runs.get(), "Newest key should still be cached");
+        cache.getOrCompute("key0", REQUEST, () -> newResult(runs));
+        assertEquals(6, runs.get(), "Oldest key should have been evicted");
+    }
+
+    @Test
+    public void givenFailedAction_whenGetOrCompute_thenDoNotCacheTheFailure() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute("key", REQUEST, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void givenFailedConfirmation_whenGetOrCompute_thenDoNotCacheIt() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+        ReservationResult unavailable = new ReservationResult(List.of(new SeatReservation(new SeatRequest(), ReservationOutcome.UNAVAILABLE)));
+
+        assertSame(unavailable, cache.getOrCompute("key", REQUEST, () -> unavailable));
+        cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void givenKeyOfAnotherRequest_whenGetOrCompute_thenThrowIdempotencyKeyReusedException() {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+        cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.getOrCompute("key", "hold-2", () -> newResult(runs)));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void givenConcurrentRetries_whenGetOrCompute_thenRunOnceAndShareTheResult() throws Exception {
+        IdempotencyCache cache = createCache(Duration.ofMinutes(1), 10);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Callable<ReservationResult>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> {
+                start.await();
+                return cache.getOrCompute("key", REQUEST, () -> newResult(runs));
+            });
+        }
+        List<Future<ReservationResult>> futures = tasks.stream().map(executorService::submit).toList();
+        start.countDown();
+
+        ReservationResult first = futures.getFirst().get();
+        for (Future<ReservationResult> future : futures) {
+            assertSame(first, future.get());
+        }
+        executorService.shutdown();
+        assertEquals(1, runs.get());
+        assertTrue(cache.size() <= 1);
+    }
+
+    /* stubs - BEGIN */
+    private IdempotencyCache createCache(Duration ttl, int maxKeys) {
+        ReservationProperties reservationProperties = new ReservationProperties();
+        reservationProperties.setIdempotencyTtl(ttl);
+        reservationProperties.setIdempotencyMaxKeys(maxKeys);
+        return new IdempotencyCache(reservationProperties, now::get);
+    }
+
+    private ReservationResult newResult(AtomicInteger runs) {
+        runs.incrementAndGet();
+        return new ReservationResult(List.of());
+    }
+    /* stubs - END */
+}
@@ -0,0 +1,227 @@
+package com.ticketfma.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.ticketfma.config.ReservationProperties;
+import com.ticketfma.exception.EventNotFoundException;
+import com.ticketfma.exception.ReservationQueueFullException;
+import com.ticketfma.model.Reservation;
+import com.ticketfma.model.ReservationResult;
+import com.ticketfma.model.dto.ReservationRequest;
+import com.ticketfma.model.dto.SeatRequest;
+import com.ticketfma.model.enums.ReservationOutcome;
+import com.ticketfma.repository.IEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReservationQueueTest {
+
+    private static final String EVENT_ID = "101";
+
+    private final IEventRepository repository = mock(IEventRepository.class);
+    private final ReservationProperties reservationProperties = new ReservationProperties();
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private ReservationQueue reservationQueue;
+
+    @AfterEach
+    public void tearDown() {
+        reservationQueue.stop();
+    }
+
+    @Test
+    public void givenPendingReservations_whenWorkerIsFree_thenApplyThemInOneBatch() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        reservationQueue = createQueue(10, 100, firstBatchStarted, releaseFirstBatch);
+
+        Reservation first = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+        // While the worker is busy, the next reservations pile up and are then applied together.
+        List<Reservation> pending = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pending.add(reservationQueue.submit(EVENT_ID, List.of(new SeatRequest())));
+        }
+        assertNull(pending.getFirst().getResult(), "Reservation should still be pending");
+        releaseFirstBatch.countDown();
+
+        awaitResult(first);
+        for (Reservation reservation : pending) {
+            assertTrue(awaitResult(reservation).isReserved());
+        }
+        assertEquals(List.of(1, 5), batchSizes);
+        assertEquals(first, reservationQueue.getReservation(first.getReservationId()).orElseThrow());
+    }
+
+    @Test
+    public void givenFullQueue_whenSubmit_thenRejectReservation() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        reservationQueue = createQueue(1, 100, firstBatchStarted, releaseFirstBatch);
+
+        reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+
+        assertThrows(ReservationQueueFullException.class, () -> reservationQueue.submit(EVENT_ID, List.of(new SeatRequest())));
+        releaseFirstBatch.countDown();
+    }
+
+    @Test
+    public void givenUnknownReservationId_whenGetReservation_thenReturnEmpty() {
+        reservationQueue = createQueue(10, 100, new CountDownLatch(1), new CountDownLatch(0));
+
+        assertTrue(reservationQueue.getReservation("unknown").isEmpty());
+    }
+
+    @Test
+    public void givenAppliedReservation_whenResultTtlIsOver_thenEvictIt() throws Exception {
+        reservationProperties.setQueueResultTtl(Duration.ofMinutes(1));
+        reservationQueue = createQueue(10, 100, new CountDownLatch(1), new CountDownLatch(0));
+
+        Reservation reservation = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(awaitResult(reservation).isReserved());
+
+        clock.addAndGet(Duration.ofMinutes(1).toMillis() - 1);
+        reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(reservationQueue.getReservation(reservation.getReservationId()).isPresent(), "Result should be kept for its whole TTL");
+
+        clock.incrementAndGet();
+        Reservation next = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(reservationQueue.getReservation(reservation.getReservationId()).isEmpty(), "Result should be evicted after its TTL");
+        assertEquals(next, reservationQueue.getReservation(next.getReservationId()).orElseThrow());
+    }
+
+    @Test
+    public void givenMoreResultsThanMax_whenReservationsAreApplied_thenEvictTheOldestFirst() throws Exception {
+        reservationProperties.setQueueMaxResults(2);
+        reservationQueue = createQueue(10, 100, new CountDownLatch(1), new CountDownLatch(0));
+
+        List<Reservation> applied = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Reservation reservation = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+            awaitResult(reservation);
+            applied.add(reservation);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reservationQueue.getReservation(applied.getFirst().getReservationId()).isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(reservationQueue.getReservation(applied.get(0).getReservationId()).isEmpty(), "Oldest result should be evicted");
+        assertTrue(reservationQueue.getReservation(applied.get(1).getReservationId()).isPresent());
+        assertTrue(reservationQueue.getReservation(applied.get(2).getReservationId()).isPresent());
+    }
+
+    @Test
+    public void givenRemovedEvent_whenStopRemovedEvents_thenFailItsPendingReservationsAndRemoveItsQueue() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        reservationQueue = createQueue(10, 100, firstBatchStarted, releaseFirstBatch);
+
+        Reservation first = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        Reservation pending = reservationQueue.submit(EVENT_ID, List.of(new SeatRequest()));
+        assertNotNull(meterRegistry.find("ticketfma.reservation.queue").tag("event", EVENT_ID).gauge());
+
+        when(repository.eventExists(EVENT_ID)).thenReturn(false);
+        reservationQueue.stopRemovedEvents();
+        releaseFirstBatch.countDown();
+
+        // The batch already running completes, and the reservations still queued are never applied.
+        assertTrue(awaitResult(first).isReserved());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!pending.isFailed() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(pending.isFailed());
+        assertNull(pending.getResult());
+        assertNull(meterRegistry.find("ticketfma.reservation.queue").tag("event", EVENT_ID).gauge());
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    public void givenRemovedEvent_whenSubmit_thenThrowEventNotFoundWithoutStartingAWorker() {
+        reservationQueue = createQueue(10, 100, new CountDownLatch(1), new CountDownLatch(0));
+        when(repository.eventExists(EVENT_ID)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> reservationQueue.submit(EVENT_ID, List.of(new SeatRequest())));
+        assertNull(meterRegistry.find("ticketfma.reservation.queue").tag("event", EVENT_ID).gauge());
+    }
+
+    @Test
+    public void givenEventRemovedWhileItsWorkerStarts_whenSubmit_thenStopTheWorkerAndThrowEventNotFound() {
+        reservationQueue = createQueue(10, 100, new CountDownLatch(1), new CountDownLatch(0));
+        when(repository.eventExists(EVENT_ID)).thenReturn(true, false);
+
+        assertThrows(EventNotFoundException.class, () -> reservationQueue.submit(EVENT_ID, List.of(new SeatRequest())));
+        assertNull(meterRegistry.find("ticketfma.reservation.queue").tag("event", EVENT_ID).gauge());
+        assertTrue(batchSizes.isEmpty());
+    }
+
+    /* stubs - BEGIN */
+    private ReservationQueue createQueue(int capacity, int batchSize, CountDownLatch firstBatchStarted, CountDownLatch releaseFirstBatch) {
+        reservationProperties.setMode(ReservationProperties.Mode.QUEUE);
+        reservationProperties.setQueueCapacity(capacity);
+        reservationProperties.setQueueBatchSize(batchSize);
+        when(repository.eventExists(EVENT_ID)).thenReturn(true);
+
+        when(repository.reserveSeats(anyList())).thenAnswer(invocation -> {
+            List<ReservationRequest> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            firstBatchStarted.countDown();
+            awaitUninterruptibly(releaseFirstBatch);
+            return batch.stream().map(request -> ReservationResult.of(request.getSeats(), new ReservationOutcome[] { ReservationOutcome.RESERVED }))
+                    .toList();
+        });
+
+        return new ReservationQueue(repository, reservationProperties, meterRegistry, clock::get);
+    }
+
+    /**
+     * Stopping a worker interrupts it; the batch it is applying still completes, like a real repository call would.
+     */
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReservationResult awaitResult(Reservation reservation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reservation.getResult() == null && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return reservation.getResult();
+    }
+    /* stubs - END */
+}